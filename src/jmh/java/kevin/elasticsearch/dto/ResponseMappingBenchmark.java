@@ -0,0 +1,51 @@
+package kevin.elasticsearch.dto;
+
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → 응답 DTO 변환 비용 (직원 수별)
+ * - companyResponse: CompanyResponse.from (직원 목록 포함)
+ * - employeeResponses: 직원마다 EmployeeResponse.from (직원마다 CompanySimpleResponse 생성)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int employeeCount;
+
+    private Company company;
+
+    @Setup
+    public void setUp() {
+        company = new Company("Kevin Corp", "Seoul, Gangnam-gu");
+        for (int i = 0; i < employeeCount; i++) {
+            company.addEmployee(new Employee("employee-" + i, "employee-" + i + "@kevin.com", "Engineer"));
+        }
+    }
+
+    @Benchmark
+    public CompanyResponse companyResponse() {
+        return CompanyResponse.from(company);
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> employeeResponses() {
+        return company.getEmployees().stream()
+                .map(EmployeeResponse::from)
+                .toList();
+    }
+}
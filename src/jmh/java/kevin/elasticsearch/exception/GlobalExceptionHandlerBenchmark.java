@@ -0,0 +1,66 @@
+package kevin.elasticsearch.exception;
+
+import kevin.elasticsearch.filter.CapturingRequestWrapper;
+import kevin.elasticsearch.filter.RequestBodyCapture;
+import kevin.elasticsearch.filter.RequestBodyCaptureProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler의 에러 로그 메시지 생성 비용
+ * logException은 private이므로 핸들러 메서드를 통해 측정 (ErrorResponse 생성, 에러 그룹 집계 포함)
+ * 캡처된 본문은 한 번 디코딩되면 캐시되므로 요청/래퍼를 operation마다 새로 만듦
+ * 로그는 src/jmh/resources/logback.xml의 FormattingNullAppender가 포맷만 하고 버림
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    @Param({"64", "4096"})
+    public int bodySize;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(
+            new ErrorAggregator(new ErrorAggregationProperties(false, 500, 20)));
+    private final RequestBodyCapture capture = new RequestBodyCapture(new RequestBodyCaptureProperties(
+            true, 10000, List.of("/api/**"), List.of(), List.of("application/json"), 1.0, 64));
+    private final IllegalArgumentException exception = new IllegalArgumentException("Company not found with id: 42");
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"name\":\"");
+        while (json.length() < bodySize - 2) {
+            json.append('x');
+        }
+        body = json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException() throws IOException {
+        MockHttpServletRequest mock = new MockHttpServletRequest("POST", "/api/test/exception/illegal-argument");
+        mock.setQueryString("userId=42");
+        mock.setContentType("application/json");
+        mock.setContent(body);
+        CapturingRequestWrapper request = capture.wrap(mock);
+        try {
+            request.getInputStream().readAllBytes();
+            return handler.handleIllegalArgumentException(exception, request);
+        } finally {
+            request.release();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package kevin.elasticsearch.filter;
+
+import jakarta.servlet.FilterChain;
+import kevin.elasticsearch.timing.EndpointLatencyRegistry;
+import kevin.elasticsearch.timing.LatencyRollupProperties;
+import kevin.elasticsearch.timing.RequestTimingLogger;
+import kevin.elasticsearch.timing.RequestTimingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestLoggingFilter의 요청 본문 캡처 비용 (payload 크기별)
+ * 필터 체인에서는 컨트롤러처럼 본문을 끝까지 읽음
+ * - captured: 캡처 대상 경로 (풀 버퍼에 maxLength까지 복사)
+ * - excluded: 제외 경로 (업로드처럼 래핑 없이 통과)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestLoggingFilterBenchmark {
+
+    @Param({"256", "4096", "65536"})
+    public int payloadSize;
+
+    // 단계 시간 문서는 끄고 본문 캡처(+ 응답 시간 히스토그램 기록)를 측정
+    private final RequestLoggingFilter filter = new RequestLoggingFilter(
+            new RequestBodyCapture(new RequestBodyCaptureProperties(true, 10000, List.of("/api/**"),
+                    List.of("/api/uploads/**"), List.of("application/json"), 1.0, 64)),
+            new RequestTimingLogger(new RequestTimingProperties(false, Duration.ofMillis(500), 0)),
+            new EndpointLatencyRegistry(new LatencyRollupProperties(false, 500)));
+    private byte[] payload;
+    private int readLength;
+
+    private final FilterChain chain = (request, response) -> readLength = request.getInputStream().readAllBytes().length;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"name\":\"Kevin Corp\",\"address\":\"");
+        while (json.length() < payloadSize - 2) {
+            json.append('x');
+        }
+        payload = json.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int captured() throws Exception {
+        return filter("/api/companies");
+    }
+
+    @Benchmark
+    public int excluded() throws Exception {
+        return filter("/api/uploads/companies");
+    }
+
+    private int filter(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType("application/json");
+        request.setContent(payload);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return readLength;
+    }
+}
@@ -0,0 +1,75 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ElasticsearchAppender 로깅 스레드 + 전송 스레드 경로
+ * - enqueueAndEncode: 링 버퍼에 스냅샷 복사 → 꺼내서 bulk 항목으로 인코딩 (네트워크 제외 전체 경로)
+ * - encode / encodeWithException: LogDocumentEncoder만 (예외는 fingerprint 캐시 적중 상태)
+ * 이벤트당 할당은 -prof gc의 gc.alloc.rate.norm으로 확인
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ElasticsearchAppenderBenchmark {
+
+    private final IndexRouter indexRouter = new IndexRouter(IndexRouter.Mode.DAILY, "application-logs", null, ZoneId.of("UTC"));
+    private final LogEventRingBuffer ringBuffer = new LogEventRingBuffer(1024);
+    private final LogDocumentEncoder encoder = new LogDocumentEncoder(4096, new StackTraceCache(256, Long.MAX_VALUE));
+    private final LogEventSnapshot snapshot = new LogEventSnapshot();
+    private final LogEventSnapshot errorSnapshot = new LogEventSnapshot();
+    private final Consumer<LogEventSnapshot> encodeHandler = this::encodeSnapshot;
+    private LoggingEvent event;
+    private int encodedLength;
+
+    @Setup
+    public void setUp() {
+        Logger logger = new LoggerContext().getLogger("kevin.elasticsearch.service.CompanyService");
+        event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "getCompany - id: {}, name: {}", null, new Object[]{42L, "Kevin Corp"});
+        event.setThreadName("http-nio-8080-exec-1");
+        snapshot.copyFrom(event);
+
+        LoggingEvent errorEvent = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "IllegalArgumentException - Message: {}", new IllegalArgumentException("Company not found with id: 42"),
+                new Object[]{"Company not found with id: 42"});
+        errorEvent.setThreadName("http-nio-8080-exec-1");
+        errorSnapshot.copyFrom(errorEvent);
+        encoder.encode(errorSnapshot, indexRouter.actionLine(errorSnapshot.timestamp, errorSnapshot.level));
+    }
+
+    @Benchmark
+    public int enqueueAndEncode() {
+        ringBuffer.tryPublish(event);
+        ringBuffer.poll(encodeHandler);
+        return encodedLength;
+    }
+
+    @Benchmark
+    public int encode() {
+        return encoder.encode(snapshot, indexRouter.actionLine(snapshot.timestamp, snapshot.level));
+    }
+
+    @Benchmark
+    public int encodeWithException() {
+        return encoder.encode(errorSnapshot, indexRouter.actionLine(errorSnapshot.timestamp, errorSnapshot.level));
+    }
+
+    private void encodeSnapshot(LogEventSnapshot polled) {
+        encodedLength = encoder.encode(polled, indexRouter.actionLine(polled.timestamp, polled.level));
+    }
+}
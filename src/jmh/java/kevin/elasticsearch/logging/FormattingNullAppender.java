@@ -0,0 +1,18 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+/**
+ * 벤치마크용 appender: 메시지 포맷까지만 수행하고 출력하지 않음
+ * (콘솔 출력 비용이 측정값을 덮지 않도록 src/jmh/resources/logback.xml에서 사용)
+ */
+public class FormattingNullAppender extends AppenderBase<ILoggingEvent> {
+
+    public static volatile int sink;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        sink += event.getFormattedMessage().length();
+    }
+}
@@ -0,0 +1,28 @@
+package kevin.elasticsearch.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 캐시 무효화를 트랜잭션 커밋 이후로 미룸
+ * 커밋 전에 지우면 다른 요청이 아직 커밋되지 않은(이전) 값을 다시 읽어 캐시할 수 있음
+ * 트랜잭션 밖에서 호출하면 바로 실행
+ */
+public final class CacheInvalidation {
+
+    private CacheInvalidation() {
+    }
+
+    public static void afterCommit(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+}
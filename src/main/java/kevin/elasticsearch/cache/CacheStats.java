@@ -0,0 +1,25 @@
+package kevin.elasticsearch.cache;
+
+/**
+ * 캐시 하나의 누적 통계
+ *
+ * @param hits      캐시에서 바로 반환한 수
+ * @param misses    캐시에 없어 로딩이 필요했던 수 (coalesced 포함)
+ * @param coalesced 다른 요청의 로딩 결과를 기다린 수 (DB 조회 없이 처리된 miss)
+ * @param evictions 크기 제한 또는 만료로 제거된 수 (invalidate 제외)
+ * @param hitRate   hits / (hits + misses)
+ */
+public record CacheStats(
+        String name,
+        int size,
+        long hits,
+        long misses,
+        long coalesced,
+        long evictions,
+        double hitRate) {
+
+    static CacheStats of(String name, int size, long hits, long misses, long coalesced, long evictions) {
+        long requests = hits + misses;
+        return new CacheStats(name, size, hits, misses, coalesced, evictions, requests == 0 ? 0 : (double) hits / requests);
+    }
+}
@@ -0,0 +1,202 @@
+package kevin.elasticsearch.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 크기/시간 제한이 있는 프로세스 내 read-through 캐시
+ * - 키 해시로 나눈 STRIPES개의 LRU(access order LinkedHashMap)에 나눠 담아 조회 시 잠금 경합을 줄임 (크기 제한도 stripe별로 적용)
+ * - 항목은 ttl이 지나면 만료되고, 같은 키의 동시 miss는 하나의 로딩을 기다리도록 합침
+ * - 로딩 중에 invalidate가 일어나면 로딩 결과를 저장하지 않음 (무효화 이전 값을 다시 캐시하지 않도록 stripe별 세대 번호로 확인)
+ * loader가 null을 반환하거나 예외를 던지면 저장하지 않으며, 기다리던 호출도 같은 예외를 받음
+ */
+public final class ReadThroughCache<K, V> {
+
+    private static final int STRIPES = 16;
+
+    private final String name;
+    private final long ttlNanos;
+    private final Stripe<K, V>[] stripes;
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ReadThroughCache(String name, int maxEntries, Duration ttl) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.stripes = new Stripe[STRIPES];
+        int perStripe = maxEntries <= 0 ? 0 : Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe<>(perStripe, evictions);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 캐시된 값을 반환하고, 없거나 만료되었으면 loader로 읽어 저장
+     */
+    public V get(K key, Function<K, V> loader) {
+        Stripe<K, V> stripe = stripeOf(key);
+        long now = System.nanoTime();
+        V cached = stripe.get(key, now);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+        try {
+            long generation = stripe.generation();
+            V value = loader.apply(key);
+            if (value != null) {
+                stripe.putIfGeneration(key, value, System.nanoTime() + ttlNanos, generation);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    public void invalidate(K key) {
+        stripeOf(key).invalidate(key);
+        // 진행 중인 로딩은 무효화 이전 값일 수 있으므로 이후 요청은 새로 로딩
+        loading.remove(key);
+    }
+
+    /**
+     * 값이 조건에 맞는 항목을 모두 제거 (예: 특정 회사에 속한 직원 응답), 전체 항목을 훑으므로 드문 쓰기 경로에서만 사용
+     */
+    public void invalidateIf(Predicate<V> predicate) {
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.invalidateIf(predicate);
+        }
+        loading.clear();
+    }
+
+    public void invalidateAll() {
+        invalidateIf(value -> true);
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return CacheStats.of(name, size, hits.sum(), misses.sum(), coalesced.sum(), evictions.sum());
+    }
+
+    private Stripe<K, V> stripeOf(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES - 1)];
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    /**
+     * LRU 한 조각 (자기 자신으로 동기화)
+     */
+    private static final class Stripe<K, V> {
+
+        private final int maxEntries;
+        private final LongAdder evictions;
+        private final LinkedHashMap<K, Entry<V>> entries;
+        private long generation;
+
+        Stripe(int maxEntries, LongAdder evictions) {
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > Stripe.this.maxEntries) {
+                        Stripe.this.evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized V get(K key, long nowNanos) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (nowNanos - entry.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void putIfGeneration(K key, V value, long expiresAtNanos, long expectedGeneration) {
+            if (maxEntries > 0 && generation == expectedGeneration) {
+                entries.put(key, new Entry<>(value, expiresAtNanos));
+            }
+        }
+
+        synchronized void invalidate(K key) {
+            generation++;
+            entries.remove(key);
+        }
+
+        synchronized void invalidateIf(Predicate<V> predicate) {
+            generation++;
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next().value())) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package kevin.elasticsearch.cache;
+
+import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.EmployeeResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 회사/직원 id별 응답 캐시 (CompanyService, EmployeeService에서 사용)
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ReadThroughCache<Long, CompanyResponse> companyResponseCache(ResponseCacheProperties properties) {
+        return new ReadThroughCache<>("company", properties.maxEntries(), properties.ttl());
+    }
+
+    @Bean
+    public ReadThroughCache<Long, EmployeeResponse> employeeResponseCache(ResponseCacheProperties properties) {
+        return new ReadThroughCache<>("employee", properties.maxEntries(), properties.ttl());
+    }
+}
@@ -0,0 +1,18 @@
+package kevin.elasticsearch.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 회사/직원 단건 조회 응답 캐시 설정 (api.response-cache.*)
+ *
+ * @param maxEntries 캐시별 최대 항목 수 (0이면 저장하지 않고 동시 조회 합치기만 동작)
+ * @param ttl        항목 유지 시간
+ */
+@ConfigurationProperties("api.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("5m") Duration ttl) {
+}
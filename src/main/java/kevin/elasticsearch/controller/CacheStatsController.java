@@ -0,0 +1,31 @@
+package kevin.elasticsearch.controller;
+
+import kevin.elasticsearch.cache.CacheStats;
+import kevin.elasticsearch.cache.ReadThroughCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 응답 캐시 적중률 조회 API
+ */
+@RestController
+@RequestMapping("/internal/caches")
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final List<ReadThroughCache<?, ?>> caches;
+
+    /**
+     * 캐시별 크기, hit/miss, 합쳐진 로딩 수, 제거 수
+     * GET /internal/caches
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(caches.stream().map(ReadThroughCache::stats).toList());
+    }
+}
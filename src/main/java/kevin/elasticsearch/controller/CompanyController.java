@@ -1,14 +1,19 @@
 package kevin.elasticsearch.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import kevin.elasticsearch.dto.BulkResult;
 import kevin.elasticsearch.dto.CompanyRequest;
 import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.CursorPage;
+import kevin.elasticsearch.service.BulkImportService;
 import kevin.elasticsearch.service.CompanyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/companies")
@@ -16,6 +21,7 @@ import java.util.List;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final BulkImportService bulkImportService;
 
     @PostMapping
     public ResponseEntity<CompanyResponse> createCompany(@RequestBody CompanyRequest request) {
@@ -23,6 +29,16 @@ public class CompanyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * JSON 배열 또는 CSV(text/csv, 첫 줄 헤더)로 여러 건을 한 번에 생성하고 행별 결과를 반환
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkResult> bulkCreateCompanies(HttpServletRequest request) throws IOException {
+        boolean csv = request.getContentType().startsWith("text/csv");
+        BulkResult result = bulkImportService.importCompanies(request.getInputStream(), csv);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CompanyResponse> getCompany(@PathVariable Long id) {
         CompanyResponse response = companyService.getCompany(id);
@@ -30,8 +46,10 @@ public class CompanyController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CompanyResponse>> getAllCompanies() {
-        List<CompanyResponse> responses = companyService.getAllCompanies();
+    public ResponseEntity<CursorPage<CompanyResponse>> getCompanies(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<CompanyResponse> responses = companyService.getCompanies(cursor, size);
         return ResponseEntity.ok(responses);
     }
 
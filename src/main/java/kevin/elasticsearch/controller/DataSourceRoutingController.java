@@ -0,0 +1,34 @@
+package kevin.elasticsearch.controller;
+
+import kevin.elasticsearch.datasource.DataSourceRoutingStatus;
+import kevin.elasticsearch.datasource.ReplicaRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * primary/replica 읽기 라우팅 상태 조회 API
+ */
+@RestController
+@RequestMapping("/internal/datasource")
+@RequiredArgsConstructor
+public class DataSourceRoutingController {
+
+    // datasource.routing.enabled=false면 빈이 없음
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+
+    /**
+     * replica별 상태와 읽기 수, primary로 보낸 읽기 수
+     * GET /internal/datasource
+     */
+    @GetMapping
+    public ResponseEntity<DataSourceRoutingStatus> getStatus() {
+        ReplicaRouter router = replicaRouter.getIfAvailable();
+        return ResponseEntity.ok(router != null
+                ? new DataSourceRoutingStatus(true, router.primaryReads(), router.status())
+                : DataSourceRoutingStatus.disabled());
+    }
+}
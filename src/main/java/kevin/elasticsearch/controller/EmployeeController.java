@@ -1,15 +1,22 @@
 package kevin.elasticsearch.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import kevin.elasticsearch.dto.BulkResult;
+import kevin.elasticsearch.dto.CursorPage;
 import kevin.elasticsearch.dto.EmployeeRequest;
 import kevin.elasticsearch.dto.EmployeeResponse;
+import kevin.elasticsearch.search.EmployeeSearchResult;
+import kevin.elasticsearch.search.EmployeeSearchService;
+import kevin.elasticsearch.service.BulkImportService;
 import kevin.elasticsearch.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -18,6 +25,8 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final BulkImportService bulkImportService;
+    private final EmployeeSearchService employeeSearchService;
 
     @PostMapping
     public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody EmployeeRequest request) {
@@ -25,6 +34,31 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * JSON 배열 또는 CSV(text/csv, 첫 줄 헤더)로 여러 건을 한 번에 생성하고 행별 결과를 반환
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<BulkResult> bulkCreateEmployees(HttpServletRequest request) throws IOException {
+        boolean csv = request.getContentType().startsWith("text/csv");
+        BulkResult result = bulkImportService.importEmployees(request.getInputStream(), csv);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * 검색 인덱스에서 전문 검색(q), 이름/이메일 앞부분(prefix), 회사(companyId)로 검색
+     * 변경 후 검색 결과에 반영되기까지 1~2초 지연이 있음
+     */
+    @GetMapping("/search")
+    public ResponseEntity<EmployeeSearchResult> searchEmployees(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size) {
+        EmployeeSearchResult result = employeeSearchService.search(q, prefix, companyId, from, size);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeResponse> getEmployee(@PathVariable Long id) {
         EmployeeResponse response = employeeService.getEmployee(id);
@@ -32,14 +66,11 @@ public class EmployeeController {
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees(
-            @RequestParam(required = false) Long companyId) {
-        List<EmployeeResponse> responses;
-        if (companyId != null) {
-            responses = employeeService.getEmployeesByCompany(companyId);
-        } else {
-            responses = employeeService.getAllEmployees();
-        }
+    public ResponseEntity<CursorPage<EmployeeResponse>> getEmployees(
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<EmployeeResponse> responses = employeeService.getEmployees(companyId, cursor, size);
         return ResponseEntity.ok(responses);
     }
 
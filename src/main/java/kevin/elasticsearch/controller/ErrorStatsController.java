@@ -0,0 +1,41 @@
+package kevin.elasticsearch.controller;
+
+import kevin.elasticsearch.exception.ErrorAggregator;
+import kevin.elasticsearch.exception.ErrorSummary;
+import kevin.elasticsearch.exception.ErrorWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 에러 그룹(예외 타입 + 발생 위치 + URI 템플릿)별 발생 수 조회 API
+ * 장애 중에 Kibana 집계 없이 가장 많이 발생하는 에러를 메모리에서 바로 확인
+ */
+@RestController
+@RequestMapping("/internal/errors")
+@RequiredArgsConstructor
+public class ErrorStatsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ErrorAggregator errorAggregator;
+
+    /**
+     * 구간(1m, 5m, 1h) 안의 발생 수 기준 상위 에러 그룹
+     * GET /internal/errors/top?window=5m&limit=10
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<ErrorSummary>> getTopErrors(
+            @RequestParam(defaultValue = "5m") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(errorAggregator.top(ErrorWindow.fromLabel(window), limit));
+    }
+}
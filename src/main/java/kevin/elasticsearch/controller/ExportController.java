@@ -0,0 +1,64 @@
+package kevin.elasticsearch.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import kevin.elasticsearch.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.function.ToLongFunction;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 직원/회사 NDJSON export API (배치 작업용)
+ * 목록을 만들지 않고 DB에서 읽는 대로 응답으로 흘려보내며, Accept-Encoding: gzip이면 gzip으로 압축
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    /**
+     * GET /api/export/employees
+     */
+    @GetMapping("/employees")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(HttpServletRequest request) {
+        return stream(request, exportService::exportEmployees);
+    }
+
+    /**
+     * GET /api/export/companies
+     */
+    @GetMapping("/companies")
+    public ResponseEntity<StreamingResponseBody> exportCompanies(HttpServletRequest request) {
+        return stream(request, exportService::exportCompanies);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, ToLongFunction<OutputStream> export) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(export::applyAsLong);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    // syncFlush: export가 flush하면 압축된 바이트도 바로 전송됨
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true);
+                    export.applyAsLong(compressed);
+                    compressed.finish();
+                });
+    }
+}
@@ -0,0 +1,36 @@
+package kevin.elasticsearch.controller;
+
+import kevin.elasticsearch.timing.EndpointLatencyRegistry;
+import kevin.elasticsearch.timing.LatencyRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 엔드포인트별 응답 시간 분포 조회 API (Elasticsearch로 보내는 롤업 문서와 같은 값)
+ */
+@RestController
+@RequestMapping("/internal/latency")
+@RequiredArgsConstructor
+public class LatencyController {
+
+    private final EndpointLatencyRegistry endpointLatencyRegistry;
+
+    /**
+     * 마지막 롤업 구간과 시작 이후 누적 요약
+     * GET /internal/latency
+     */
+    @GetMapping
+    public ResponseEntity<LatencyReport> getLatency() {
+        return ResponseEntity.ok(new LatencyReport(
+                endpointLatencyRegistry.lastInterval(),
+                endpointLatencyRegistry.sinceStart()));
+    }
+
+    public record LatencyReport(List<LatencyRollup> lastInterval, List<LatencyRollup> sinceStart) {
+    }
+}
@@ -0,0 +1,46 @@
+package kevin.elasticsearch.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import kevin.elasticsearch.logging.AppenderMetricsSnapshot;
+import kevin.elasticsearch.logging.ElasticsearchAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그 전송 파이프라인(ElasticsearchAppender) 모니터링 API
+ * 같은 지표를 JMX(kevin.elasticsearch.logging:type=ElasticsearchAppender)로도 볼 수 있음
+ */
+@RestController
+@RequestMapping("/internal/logging")
+public class LoggingMetricsController {
+
+    /**
+     * 실행 중인 ElasticsearchAppender별 지표
+     * GET /internal/logging/metrics
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, AppenderMetricsSnapshot>> getMetrics() {
+        Map<String, AppenderMetricsSnapshot> metrics = new LinkedHashMap<>();
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                Appender<ILoggingEvent> appender = appenders.next();
+                if (appender instanceof ElasticsearchAppender elasticsearchAppender && appender.isStarted()) {
+                    metrics.putIfAbsent(appender.getName(), elasticsearchAppender.metricsSnapshot());
+                }
+            }
+        }
+        return ResponseEntity.ok(metrics);
+    }
+}
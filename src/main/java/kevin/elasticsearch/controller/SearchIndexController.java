@@ -0,0 +1,41 @@
+package kevin.elasticsearch.controller;
+
+import kevin.elasticsearch.search.EmployeeIndexer;
+import kevin.elasticsearch.search.SearchIndexStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 직원 검색 인덱스 동기화 상태 조회 / 전체 재색인 API
+ */
+@RestController
+@RequestMapping("/internal/search")
+@RequiredArgsConstructor
+public class SearchIndexController {
+
+    private final EmployeeIndexer employeeIndexer;
+
+    /**
+     * 반영 대기 건수, 누적 색인/삭제 수, 마지막 실패 사유, 재색인 진행 여부
+     * GET /internal/search
+     */
+    @GetMapping
+    public ResponseEntity<SearchIndexStatus> getStatus() {
+        return ResponseEntity.ok(employeeIndexer.status());
+    }
+
+    /**
+     * 전체 재색인을 백그라운드로 시작 (202), 이미 진행 중이면 409
+     * POST /internal/search/reindex
+     */
+    @PostMapping("/reindex")
+    public ResponseEntity<SearchIndexStatus> reindex() {
+        HttpStatus status = employeeIndexer.startReindex() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(employeeIndexer.status());
+    }
+}
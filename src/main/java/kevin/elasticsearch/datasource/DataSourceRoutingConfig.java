@@ -0,0 +1,46 @@
+package kevin.elasticsearch.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * datasource.routing.enabled=true이면 기본 DataSource 대신 primary/replica 라우팅 DataSource를 등록
+ * 커넥션을 첫 SQL 시점까지 미루는 LazyConnectionDataSourceProxy가 트랜잭션의 readOnly 설정을 보고 대상 풀을 고름
+ * (@Transactional(readOnly = true) -> replica, 그 밖 -> primary)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties,
+                                       DataSourceRoutingProperties properties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        return new ReplicaRouter(primary, properties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRouter.primaryDataSource());
+        dataSource.setReadOnlyDataSource(replicaRouter.readOnlyDataSource());
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow());
+    }
+}
@@ -0,0 +1,31 @@
+package kevin.elasticsearch.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 읽기 전용 트랜잭션의 replica 라우팅 설정 (datasource.routing.*)
+ * primary는 기존 spring.datasource.* 설정을 그대로 사용
+ *
+ * @param enabled             false면 기존처럼 spring.datasource 하나만 사용
+ * @param replicas            replica 접속 정보 (읽기 요청을 돌아가며 분산)
+ * @param maximumPoolSize     replica별 커넥션 풀 크기
+ * @param connectionTimeout   replica 커넥션 획득 제한 시간 (넘으면 해당 replica를 제외하고 다음 replica 또는 primary 사용)
+ * @param healthCheckInterval 제외된 replica를 포함한 상태 확인 주기
+ * @param readYourWritesWindow 쓰기 커밋 후 같은 클라이언트의 읽기를 primary로 보내는 시간 (0이면 사용 안 함)
+ */
+@ConfigurationProperties("datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("0s") Duration readYourWritesWindow) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,17 @@
+package kevin.elasticsearch.datasource;
+
+import java.util.List;
+
+/**
+ * 읽기 라우팅 상태 (GET /internal/datasource)
+ *
+ * @param enabled      datasource.routing.enabled
+ * @param primaryReads replica 대신 primary에서 처리한 읽기 트랜잭션 수 (read-your-writes, replica 장애 포함, 누적)
+ * @param replicas     replica별 상태
+ */
+public record DataSourceRoutingStatus(boolean enabled, long primaryReads, List<ReplicaStatus> replicas) {
+
+    public static DataSourceRoutingStatus disabled() {
+        return new DataSourceRoutingStatus(false, 0, List.of());
+    }
+}
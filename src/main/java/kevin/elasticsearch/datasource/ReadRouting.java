@@ -0,0 +1,87 @@
+package kevin.elasticsearch.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 읽기를 replica 대신 primary로 보낼지 여부 (ReplicaRouter가 읽기 커넥션을 고를 때 확인)
+ * - read-your-writes: 쓰기 커밋 후 window 동안 같은 요청과, 쿠키를 돌려보내는 같은 클라이언트의 이후 요청
+ * - onPrimary: 커밋 직후 최신 상태를 읽어야 하는 작업 (응답 캐시 채우기, 검색 인덱스 반영)
+ * 라우팅을 켜지 않았으면 아무 영향 없음
+ */
+public final class ReadRouting {
+
+    static final String COOKIE_NAME = "read-primary-until";
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * work 실행 중의 읽기를 모두 primary로 보냄 (중첩 호출 가능)
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Long previous = PRIMARY_UNTIL.get();
+        PRIMARY_UNTIL.set(Long.MAX_VALUE);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static boolean primaryRequired() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && System.currentTimeMillis() < until;
+    }
+
+    /**
+     * 요청 시작 시 쿠키에 남은 read-your-writes 기한을 적용 (ReadYourWritesFilter)
+     */
+    static void readPrimaryUntil(long epochMillis) {
+        PRIMARY_UNTIL.set(epochMillis);
+    }
+
+    static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+
+    /**
+     * 쓰기 커밋 후 호출: 요청 안이면 남은 요청 처리와, 쿠키를 통해 같은 클라이언트의 window 안 요청을 primary로 보냄
+     * 요청 밖(배치 등)에서는 스레드에 기한을 남기지 않음 (정리해줄 필터가 없음)
+     */
+    static void wrote(Duration window) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        long until = System.currentTimeMillis() + window.toMillis();
+        Long current = PRIMARY_UNTIL.get();
+        if (current == null || current < until) {
+            PRIMARY_UNTIL.set(until);
+        }
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static void restore(Long previous) {
+        if (previous == null) {
+            PRIMARY_UNTIL.remove();
+        } else {
+            PRIMARY_UNTIL.set(previous);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package kevin.elasticsearch.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * primary 풀과 replica 풀들을 소유하고, 읽기 전용 커넥션을 어느 풀에서 꺼낼지 결정
+ * LazyConnectionDataSourceProxy가 트랜잭션의 첫 SQL 시점에 readOnly 여부를 보고
+ * primaryDataSource()(쓰기) 또는 readOnlyDataSource()(읽기)에서 실제 커넥션을 가져감
+ * - 읽기: 정상 replica를 돌아가며 사용, 커넥션을 못 얻으면 해당 replica를 제외하고 다음 replica, 모두 안 되면 primary
+ *   (풀이 가득 차서 대기 시간이 지난 경우는 장애가 아니므로 제외하지 않고 다음 replica로만 넘어감)
+ * - 제외된 replica는 상태 확인(checkHealth)이 성공하면 다시 사용
+ * - 쓰기 트랜잭션이 커밋되면 readYourWritesWindow 동안 같은 클라이언트의 읽기를 primary로 보냄 (ReadRouting)
+ * 풀을 빈으로 따로 등록하지 않으므로 요청 시간 측정 프록시(TimingDataSourceBeanPostProcessor)는 바깥 DataSource 한 번만 감쌈
+ */
+@Slf4j
+public class ReplicaRouter implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration readYourWritesWindow;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    public ReplicaRouter(HikariDataSource primary, DataSourceRoutingProperties properties) {
+        this.primary = primary;
+        this.readYourWritesWindow = properties.readYourWritesWindow();
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, properties.connectionTimeout().toSeconds());
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = properties.replicas().get(i);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(replica.url());
+            config.setUsername(replica.username());
+            config.setPassword(replica.password());
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(properties.maximumPoolSize());
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            // replica가 내려가 있어도 애플리케이션은 시작하고, 상태 확인이 성공할 때부터 사용
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(config.getPoolName(), replica.url(), new HikariDataSource(config)));
+        }
+    }
+
+    /**
+     * 쓰기(및 readOnly가 아닌) 트랜잭션용, 커밋되면 read-your-writes 기한을 남김
+     */
+    public DataSource primaryDataSource() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                trackWrite();
+                return connection;
+            }
+        };
+    }
+
+    /**
+     * 읽기 전용 트랜잭션용
+     */
+    public DataSource readOnlyDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection();
+            }
+        };
+    }
+
+    public List<ReplicaStatus> status() {
+        return replicas.stream()
+                .map(replica -> new ReplicaStatus(replica.name, replica.url, replica.healthy, replica.reads.get()))
+                .toList();
+    }
+
+    /**
+     * replica 대신 primary에서 처리한 읽기 수 (read-your-writes, onPrimary, replica 장애 시 포함)
+     */
+    public long primaryReads() {
+        return primaryReads.get();
+    }
+
+    /**
+     * 모든 replica(제외된 것 포함)에 커넥션 유효성 확인, 결과가 바뀔 때만 로그
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval:5s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                // 풀이 가득 차 있을 뿐이면 이전 상태 유지
+                healthy = isSaturated(replica, e) && replica.healthy;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is healthy again", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("Read replica {} failed health check, routing its reads elsewhere", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    Connection readConnection() throws SQLException {
+        if (!ReadRouting.primaryRequired()) {
+            int size = replicas.size();
+            int start = size > 0 ? Math.floorMod(next.getAndIncrement(), size) : 0;
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replica.reads.incrementAndGet();
+                    return connection;
+                } catch (SQLException e) {
+                    if (isSaturated(replica, e)) {
+                        log.debug("Read replica {} pool is saturated, trying next - {}", replica.name, e.getMessage());
+                        continue;
+                    }
+                    replica.healthy = false;
+                    log.warn("Read replica {} unavailable, routing its reads elsewhere until it recovers - {}",
+                            replica.name, e.getMessage());
+                }
+            }
+        }
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    /**
+     * 커넥션 대기 시간 초과가 DB 장애가 아니라 풀 포화 때문인지 확인
+     * Hikari는 둘 다 SQLTransientConnectionException으로 알리므로, 다른 요청이 커넥션을 쓰고 있으면(active > 0) 포화로 봄
+     */
+    private static boolean isSaturated(Replica replica, SQLException e) {
+        if (!(e instanceof SQLTransientConnectionException)) {
+            return false;
+        }
+        HikariPoolMXBean poolMXBean = replica.pool.getHikariPoolMXBean();
+        return poolMXBean != null && poolMXBean.getActiveConnections() > 0;
+    }
+
+    private void trackWrite() {
+        if (readYourWritesWindow.isZero() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadRouting.wrote(readYourWritesWindow);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final String url;
+        private final HikariDataSource pool;
+        private final AtomicLong reads = new AtomicLong();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, String url, HikariDataSource pool) {
+            this.name = name;
+            this.url = url;
+            this.pool = pool;
+        }
+    }
+}
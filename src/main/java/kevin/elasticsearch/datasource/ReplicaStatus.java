@@ -0,0 +1,12 @@
+package kevin.elasticsearch.datasource;
+
+/**
+ * replica 하나의 라우팅 상태 (GET /internal/datasource/replicas)
+ *
+ * @param name    풀 이름 (replica-0, replica-1, ...)
+ * @param url     JDBC URL
+ * @param healthy false면 상태 확인이 성공할 때까지 읽기를 보내지 않음
+ * @param reads   이 replica로 보낸 읽기 트랜잭션 수 (누적)
+ */
+public record ReplicaStatus(String name, String url, boolean healthy, long reads) {
+}
@@ -15,8 +15,11 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Company {
 
+    // IDENTITY는 insert마다 키를 받아와야 해서 JDBC batch가 꺼지므로, 시퀀스에서 100개씩 미리 할당(pooled)
+    // (MySQL은 시퀀스가 없어 Hibernate가 company_seq 테이블로 대신함)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_seq")
+    @SequenceGenerator(name = "company_seq", sequenceName = "company_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -8,13 +8,19 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employee")
+@Table(name = "employee", indexes = {
+        // 회사별 직원 목록 keyset 페이징 (where company_id = ? and id > ? order by id)
+        @Index(name = "idx_employee_company_id_id", columnList = "company_id, id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Employee {
 
+    // IDENTITY는 insert마다 키를 받아와야 해서 JDBC batch가 꺼지므로, 시퀀스에서 100개씩 미리 할당(pooled)
+    // (MySQL은 시퀀스가 없어 Hibernate가 employee_seq 테이블로 대신함)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, length = 50)
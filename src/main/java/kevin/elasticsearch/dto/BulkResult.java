@@ -0,0 +1,23 @@
+package kevin.elasticsearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * bulk 생성 결과: 전체/성공/실패 행 수와 행별 결과
+ */
+@Getter
+@AllArgsConstructor
+public class BulkResult {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkRowResult> results;
+
+    public static BulkResult of(List<BulkRowResult> results) {
+        int failed = (int) results.stream().filter(result -> result.getError() != null).count();
+        return new BulkResult(results.size(), results.size() - failed, failed, results);
+    }
+}
@@ -0,0 +1,24 @@
+package kevin.elasticsearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * bulk 요청 한 행의 처리 결과 (row는 1부터, CSV 헤더 제외)
+ * 성공하면 id, 실패하면 error가 채워짐
+ */
+@Getter
+@AllArgsConstructor
+public class BulkRowResult {
+    private int row;
+    private Long id;
+    private String error;
+
+    public static BulkRowResult created(int row, Long id) {
+        return new BulkRowResult(row, id, null);
+    }
+
+    public static BulkRowResult failed(int row, String error) {
+        return new BulkRowResult(row, null, error);
+    }
+}
@@ -0,0 +1,57 @@
+package kevin.elasticsearch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * keyset(id) 기반 목록 응답
+ * next는 마지막 항목의 id를 담은 불투명 커서이며, 다음 요청의 cursor 파라미터로 그대로 넘기면 됨 (마지막 페이지면 null)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private static final String CURSOR_PREFIX = "id:";
+
+    private List<T> content;
+    private String next;
+    private boolean hasNext;
+
+    /**
+     * size + 1개를 조회한 결과로 페이지를 만듦 (size개를 넘게 조회되면 다음 페이지가 있음)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, ToLongFunction<T> keyOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null, false);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, encodeCursor(keyOf.applyAsLong(content.get(size - 1))), true);
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 마지막으로 받은 id로 복원 (커서가 없으면 처음부터 조회하도록 0)
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // 아래에서 같은 예외로 응답
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
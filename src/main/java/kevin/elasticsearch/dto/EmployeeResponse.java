@@ -21,6 +21,21 @@ public class EmployeeResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    /**
+     * JPQL constructor projection용 (EmployeeRepository): 엔티티를 만들지 않고 조인 결과 컬럼으로 바로 생성
+     * 회사가 없는 직원(left join)은 회사 컬럼이 모두 null
+     */
+    public EmployeeResponse(Long id, String name, String email, String position,
+                            Long companyId, String companyName, String companyAddress,
+                            LocalDateTime companyCreatedAt, LocalDateTime companyUpdatedAt,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, email, position,
+                companyId != null
+                        ? new CompanySimpleResponse(companyId, companyName, companyAddress, companyCreatedAt, companyUpdatedAt)
+                        : null,
+                createdAt, updatedAt);
+    }
+
     public static EmployeeResponse from(Employee employee) {
         return new EmployeeResponse(
                 employee.getId(),
@@ -0,0 +1,42 @@
+package kevin.elasticsearch.exception;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 전송 간격마다 최근 1분 기준 상위 에러 그룹을 집계 문서로 보냄 (event.dataset: error.aggregate)
+ * 원본 에러 로그를 Kibana에서 집계하지 않아도 그룹별 발생 추이를 볼 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ErrorAggregateShipper {
+
+    private final ErrorAggregator aggregator;
+    private final ErrorAggregationProperties properties;
+
+    @Scheduled(fixedRateString = "${logging.error-aggregation.interval:60s}",
+            initialDelayString = "${logging.error-aggregation.interval:60s}")
+    public void ship() {
+        // 전송을 꺼도 오래된 그룹은 정리
+        aggregator.evictIdle();
+        if (!properties.shipEnabled()) {
+            return;
+        }
+        for (ErrorSummary summary : aggregator.top(ErrorWindow.ONE_MINUTE, properties.shipTopSize())) {
+            log.atInfo()
+                    .addKeyValue("event.dataset", "error.aggregate")
+                    .addKeyValue("error.type", summary.exceptionType())
+                    .addKeyValue("error.throw_site", summary.throwSite())
+                    .addKeyValue("url.route", summary.route())
+                    .addKeyValue("error.count_1m", summary.count1m())
+                    .addKeyValue("error.count_5m", summary.count5m())
+                    .addKeyValue("error.count_1h", summary.count1h())
+                    .addKeyValue("error.last_message", summary.lastMessage())
+                    .log(summary.exceptionType() + " at " + summary.throwSite() + " (" + summary.route() + ") - "
+                            + summary.count1m() + " in 1m");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package kevin.elasticsearch.exception;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 에러 그룹별 슬라이딩 윈도 집계 구성
+ */
+@Configuration
+@EnableConfigurationProperties(ErrorAggregationProperties.class)
+public class ErrorAggregationConfig {
+
+    @Bean
+    public ErrorAggregator errorAggregator(ErrorAggregationProperties properties) {
+        return new ErrorAggregator(properties);
+    }
+}
@@ -0,0 +1,19 @@
+package kevin.elasticsearch.exception;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 에러 그룹별 집계 설정 (logging.error-aggregation.*)
+ * 집계 문서 전송 간격은 @Scheduled에서 logging.error-aggregation.interval(기본 60s)로 읽음
+ *
+ * @param shipEnabled     집계 문서(event.dataset: error.aggregate) 전송 여부 (꺼도 /internal/errors/top은 동작)
+ * @param maxFingerprints 따로 집계할 에러 그룹 수 상한 (넘으면 OTHER로 묶음)
+ * @param shipTopSize     구간마다 전송할 상위 그룹 수
+ */
+@ConfigurationProperties("logging.error-aggregation")
+public record ErrorAggregationProperties(
+        @DefaultValue("false") boolean shipEnabled,
+        @DefaultValue("500") int maxFingerprints,
+        @DefaultValue("20") int shipTopSize) {
+}
@@ -0,0 +1,132 @@
+package kevin.elasticsearch.exception;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 예외 타입 + 발생 위치(throw site) + URI 템플릿 단위로 에러 발생 수를 집계
+ * - 그룹마다 5초 버킷 60개(최근 1분/5분)와 1분 버킷 60개(최근 1시간) 슬라이딩 윈도 카운터를 둠
+ * - 기록은 ConcurrentHashMap 조회 + 버킷 증가뿐이고, 조회는 그룹 수만큼 버킷을 더하므로 원본 로그를 집계하지 않고 메모리에서 바로 응답
+ * - 그룹 수는 maxFingerprints로 제한하고, 1시간 동안 발생하지 않은 그룹은 evictIdle()에서 제거
+ */
+public class ErrorAggregator {
+
+    static final String UNMATCHED = "UNMATCHED";
+    static final String OTHER = "OTHER";
+    private static final String APPLICATION_PACKAGE = "kevin.elasticsearch.";
+    private static final int MAX_MESSAGE_LENGTH = 200;
+    private static final long FINE_BUCKET_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long COARSE_BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int BUCKETS = 60;
+
+    private final Map<Fingerprint, ErrorStats> groups = new ConcurrentHashMap<>();
+    private final int maxFingerprints;
+
+    public ErrorAggregator(ErrorAggregationProperties properties) {
+        this.maxFingerprints = properties.maxFingerprints();
+    }
+
+    public void record(Throwable e, String route) {
+        record(e, route, System.currentTimeMillis());
+    }
+
+    void record(Throwable e, String route, long nowMillis) {
+        Fingerprint fingerprint = new Fingerprint(e.getClass().getName(), throwSite(e), route != null ? route : UNMATCHED);
+        ErrorStats stats = groups.get(fingerprint);
+        if (stats == null) {
+            // 그룹 수 상한을 넘으면 OTHER 하나로 묶음
+            Fingerprint key = groups.size() < maxFingerprints ? fingerprint : new Fingerprint(OTHER, OTHER, OTHER);
+            stats = groups.computeIfAbsent(key, k -> new ErrorStats());
+        }
+        stats.record(e.getMessage(), nowMillis);
+    }
+
+    /**
+     * window 구간 발생 수 기준 상위 limit개 그룹 (구간 안에 발생하지 않은 그룹은 제외)
+     */
+    public List<ErrorSummary> top(ErrorWindow window, int limit) {
+        return top(window, limit, System.currentTimeMillis());
+    }
+
+    List<ErrorSummary> top(ErrorWindow window, int limit, long nowMillis) {
+        List<ErrorSummary> summaries = new ArrayList<>();
+        groups.forEach((fingerprint, stats) -> {
+            ErrorSummary summary = stats.toSummary(fingerprint, window, nowMillis);
+            if (summary.count() > 0) {
+                summaries.add(summary);
+            }
+        });
+        summaries.sort(Comparator.comparingLong(ErrorSummary::count).reversed()
+                .thenComparing(Comparator.comparingLong(ErrorSummary::lastSeenEpochMillis).reversed()));
+        return summaries.size() > limit ? List.copyOf(summaries.subList(0, limit)) : summaries;
+    }
+
+    /**
+     * 최근 1시간 동안 발생하지 않은 그룹 제거 (집계 문서 전송 주기마다 호출)
+     */
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    void evictIdle(long nowMillis) {
+        groups.values().removeIf(stats -> nowMillis - stats.lastSeenMillis >= ErrorWindow.ONE_HOUR.millis());
+    }
+
+    /**
+     * 스택에서 처음 나오는 애플리케이션 프레임 (없으면 최상단 프레임)
+     */
+    static String throwSite(Throwable e) {
+        StackTraceElement[] frames = e.getStackTrace();
+        if (frames.length == 0) {
+            return "unknown";
+        }
+        StackTraceElement site = frames[0];
+        for (StackTraceElement frame : frames) {
+            if (frame.getClassName().startsWith(APPLICATION_PACKAGE)) {
+                site = frame;
+                break;
+            }
+        }
+        String className = site.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + site.getMethodName() + ":" + site.getLineNumber();
+    }
+
+    private record Fingerprint(String exceptionType, String throwSite, String route) {
+    }
+
+    private static final class ErrorStats {
+
+        private final SlidingWindowCounter fine = new SlidingWindowCounter(BUCKETS, FINE_BUCKET_MILLIS);
+        private final SlidingWindowCounter coarse = new SlidingWindowCounter(BUCKETS, COARSE_BUCKET_MILLIS);
+        private final LongAdder total = new LongAdder();
+        private volatile String lastMessage;
+        private volatile long lastSeenMillis;
+
+        void record(String message, long nowMillis) {
+            fine.increment(nowMillis);
+            coarse.increment(nowMillis);
+            total.increment();
+            lastSeenMillis = nowMillis;
+            lastMessage = message == null || message.length() <= MAX_MESSAGE_LENGTH
+                    ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+
+        ErrorSummary toSummary(Fingerprint fingerprint, ErrorWindow window, long nowMillis) {
+            long count1m = fine.sum(nowMillis, ErrorWindow.ONE_MINUTE.millis());
+            long count5m = fine.sum(nowMillis, ErrorWindow.FIVE_MINUTES.millis());
+            long count1h = coarse.sum(nowMillis, ErrorWindow.ONE_HOUR.millis());
+            long count = switch (window) {
+                case ONE_MINUTE -> count1m;
+                case FIVE_MINUTES -> count5m;
+                case ONE_HOUR -> count1h;
+            };
+            return new ErrorSummary(fingerprint.exceptionType(), fingerprint.throwSite(), fingerprint.route(), count,
+                    count1m, count5m, count1h, total.sum(), lastMessage, lastSeenMillis);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kevin.elasticsearch.exception;
+
+/**
+ * 에러 그룹(예외 타입 + 발생 위치 + URI 템플릿) 하나의 집계
+ *
+ * @param exceptionType   예외 클래스 전체 이름
+ * @param throwSite       예외가 만들어진 애플리케이션 코드 위치 (클래스.메서드:라인)
+ * @param route           URI 템플릿 (핸들러가 없으면 UNMATCHED)
+ * @param count           요청한 구간 안의 발생 수
+ * @param count1m         최근 1분 발생 수
+ * @param count5m         최근 5분 발생 수
+ * @param count1h         최근 1시간 발생 수
+ * @param total           애플리케이션 시작 이후 발생 수
+ * @param lastMessage     마지막 예외 메시지 (최대 200자)
+ * @param lastSeenEpochMillis 마지막 발생 시각
+ */
+public record ErrorSummary(
+        String exceptionType,
+        String throwSite,
+        String route,
+        long count,
+        long count1m,
+        long count5m,
+        long count1h,
+        long total,
+        String lastMessage,
+        long lastSeenEpochMillis) {
+}
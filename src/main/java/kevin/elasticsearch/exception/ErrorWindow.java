@@ -0,0 +1,38 @@
+package kevin.elasticsearch.exception;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 에러 집계 조회 구간 (GET /internal/errors/top?window=5m)
+ */
+public enum ErrorWindow {
+
+    ONE_MINUTE("1m", TimeUnit.MINUTES.toMillis(1)),
+    FIVE_MINUTES("5m", TimeUnit.MINUTES.toMillis(5)),
+    ONE_HOUR("1h", TimeUnit.HOURS.toMillis(1));
+
+    private final String label;
+    private final long millis;
+
+    ErrorWindow(String label, long millis) {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public static ErrorWindow fromLabel(String label) {
+        for (ErrorWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported window: " + label + " (1m, 5m, 1h)");
+    }
+}
@@ -1,24 +1,30 @@
 package kevin.elasticsearch.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import kevin.elasticsearch.filter.CapturingRequestWrapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
 
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 /**
  * 전역 예외 처리 핸들러
  * 모든 Controller에서 발생하는 예외를 처리하고 에러 로그를 남김
+ * 예외는 ErrorAggregator에도 기록되어 GET /internal/errors/top으로 상위 에러 그룹을 볼 수 있음
  */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final ErrorAggregator errorAggregator;
+
     /**
      * IllegalArgumentException 처리
      * 잘못된 인자가 전달된 경우 400 Bad Request 응답
@@ -64,10 +70,13 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * 예외 정보를 에러 로그로 출력
+     * 예외 정보를 에러 로그로 출력하고 에러 그룹 집계에 기록
      */
     private void logException(String exceptionType, Exception e, HttpServletRequest request) {
-        String requestBody = getRequestBody(request);
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        errorAggregator.record(e, route != null ? route.toString() : null);
+
+        Object requestBody = getRequestBody(request);
         String queryString = request.getQueryString() != null ? request.getQueryString() : "N/A";
 
         log.error("{} - Method: {}, URL: {}, QueryString: {}, Body: {}, Message: {}",
@@ -76,18 +85,20 @@ public class GlobalExceptionHandler {
                 request.getRequestURL(),
                 queryString,
                 requestBody,
-                e.getMessage());
+                e.getMessage(),
+                e);
     }
 
     /**
-     * Request Body를 ContentCachingRequestWrapper에서 읽어옴
+     * Request Body를 CapturingRequestWrapper에서 읽어옴
+     * 문자열로 복사하지 않고 캡처 view를 그대로 넘기며, 로그를 포맷할 때 한 번만 디코딩됨
      */
-    private String getRequestBody(HttpServletRequest request) {
-        if (request instanceof ContentCachingRequestWrapper) {
-            ContentCachingRequestWrapper wrapper = (ContentCachingRequestWrapper) request;
-            byte[] content = wrapper.getContentAsByteArray();
-            if (content.length > 0) {
-                return new String(content, StandardCharsets.UTF_8);
+    private Object getRequestBody(HttpServletRequest request) {
+        CapturingRequestWrapper wrapper = WebUtils.getNativeRequest(request, CapturingRequestWrapper.class);
+        if (wrapper != null) {
+            CapturingRequestWrapper.CapturedBody body = wrapper.capturedBody();
+            if (body != null) {
+                return body;
             }
         }
         return "N/A";
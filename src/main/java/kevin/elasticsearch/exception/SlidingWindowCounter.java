@@ -0,0 +1,63 @@
+package kevin.elasticsearch.exception;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 길이 버킷 링으로 구현한 슬라이딩 윈도 카운터
+ * - 버킷마다 자신이 담당하는 시간 구간 번호(epoch)를 기록하고, 링을 한 바퀴 돌아 다시 쓰일 때 0으로 초기화
+ * - 버킷 하나를 STRIPES개의 칸으로 나누고 스레드별로 다른 칸을 증가시켜 동시 증가 경합을 줄임
+ *   (같은 버킷의 칸끼리는 buckets * 8바이트 떨어져 있어 같은 캐시 라인을 두고 다투지 않음)
+ * 합계는 버킷 단위 근사값이며, 버킷이 초기화되는 순간 동시에 들어온 증가분은 유실될 수 있음
+ */
+final class SlidingWindowCounter {
+
+    private static final int STRIPES = 4;
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final AtomicLongArray epochs;
+    // stripe * buckets + bucket
+    private final AtomicLongArray counts;
+
+    SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicLongArray(buckets * STRIPES);
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, -1);
+        }
+    }
+
+    void increment(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int bucket = (int) (epoch % buckets);
+        long current = epochs.get(bucket);
+        if (current < epoch && epochs.compareAndSet(bucket, current, epoch)) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                counts.set(stripe * buckets + bucket, 0);
+            }
+        }
+        int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * buckets + bucket);
+    }
+
+    /**
+     * nowMillis가 속한 버킷부터 거슬러 올라가 windowMillis만큼의 버킷 합계 (최대 링 전체)
+     */
+    long sum(long nowMillis, long windowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long span = Math.min(buckets, Math.max(1, windowMillis / bucketMillis));
+        long total = 0;
+        for (long e = epoch; e > epoch - span && e >= 0; e--) {
+            int bucket = (int) (e % buckets);
+            if (epochs.get(bucket) != e) {
+                continue;
+            }
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                total += counts.get(stripe * buckets + bucket);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,194 @@
+package kevin.elasticsearch.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 컨트롤러가 읽는 요청 본문을 풀에서 빌린 버퍼에 maxLength까지 복사해두는 래퍼
+ * - 본문을 실제로 읽기 전까지는 버퍼를 빌리지 않음 (GET 등 본문 없는 요청은 비용 없음)
+ * - release()에서 버퍼를 풀에 반납하므로 응답이 끝난 뒤에는 캡처 내용을 읽을 수 없음
+ * - 에러 핸들러에는 CapturedBody를 넘기고, 로그를 포맷할 때 한 번만 문자열로 디코딩
+ * - 비동기 Appender처럼 다른 스레드가 포맷할 수 있으므로, 반납 전에 문자열로 고정하고 반납 뒤에는 버퍼를 읽지 않음
+ */
+public class CapturingRequestWrapper extends HttpServletRequestWrapper {
+
+    private final RequestBodyBufferPool pool;
+    private byte[] buffer;
+    private int length;
+    private boolean truncated;
+    private volatile boolean released;
+    private CapturedBody capturedBody;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    CapturingRequestWrapper(HttpServletRequest request, RequestBodyBufferPool pool) {
+        super(request);
+        this.pool = pool;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CapturingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        }
+        return reader;
+    }
+
+    /**
+     * 지금까지 읽힌 본문 (읽힌 것이 없으면 null)
+     */
+    public CapturedBody capturedBody() {
+        if (length == 0) {
+            return null;
+        }
+        if (capturedBody == null) {
+            capturedBody = new CapturedBody();
+        }
+        return capturedBody;
+    }
+
+    /**
+     * 버퍼를 풀에 반납 (응답 후 필터에서 호출)
+     * 이미 넘겨준 CapturedBody가 있으면 반납 전에 문자열로 고정해둠
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        if (capturedBody != null) {
+            capturedBody.freeze();
+        }
+        released = true;
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int count) {
+        if (released || count <= 0 || truncated) {
+            return;
+        }
+        if (buffer == null) {
+            buffer = pool.borrow();
+        }
+        int copied = Math.min(count, buffer.length - length);
+        System.arraycopy(bytes, offset, buffer, length, copied);
+        length += copied;
+        truncated = copied < count;
+    }
+
+    private void capture(int b) {
+        if (released || truncated) {
+            return;
+        }
+        if (buffer == null) {
+            buffer = pool.borrow();
+        }
+        if (length < buffer.length) {
+            buffer[length++] = (byte) b;
+        } else {
+            truncated = true;
+        }
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * 캡처된 본문의 지연 문자열 view (toString 첫 호출 때 한 번만 디코딩)
+     */
+    public final class CapturedBody {
+
+        private volatile String text;
+
+        public int length() {
+            return length;
+        }
+
+        public boolean truncated() {
+            return truncated;
+        }
+
+        @Override
+        public String toString() {
+            String current = text;
+            return current != null ? current : freeze();
+        }
+
+        /**
+         * 버퍼 내용을 문자열로 고정
+         * release()도 반납 전에 이 메서드를 거치므로 다른 스레드가 디코딩하는 도중에는 버퍼가 반납되지 않으며,
+         * 반납된 뒤에는 버퍼를 읽지 않음
+         */
+        private synchronized String freeze() {
+            if (text == null) {
+                text = released || buffer == null ? "N/A"
+                        : new String(buffer, 0, length, charset()) + (truncated ? "...(truncated)" : "");
+            }
+            return text;
+        }
+    }
+
+    private final class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        private CapturingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                capture(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException {
+            int read = delegate.read(bytes, offset, count);
+            capture(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kevin.elasticsearch.filter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 요청 본문 캡처용 고정 크기 byte[] 풀
+ * 풀이 비어 있으면 새로 할당하고, 반납할 때 풀이 가득 차 있으면 버림 (GC가 회수)
+ */
+class RequestBodyBufferPool {
+
+    private final int bufferSize;
+    private final ArrayBlockingQueue<byte[]> buffers;
+
+    RequestBodyBufferPool(int bufferSize, int poolSize) {
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+    }
+
+    byte[] borrow() {
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    void release(byte[] buffer) {
+        buffers.offer(buffer);
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    int available() {
+        return buffers.size();
+    }
+}
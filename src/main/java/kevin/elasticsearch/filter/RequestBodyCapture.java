@@ -0,0 +1,73 @@
+package kevin.elasticsearch.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 본문을 캡처할지 결정하고 캡처용 래퍼를 만듦
+ * 경로(includePaths/excludePaths), Content-Type, 샘플링 비율을 모두 만족하는 요청만 감싸므로
+ * 업로드처럼 제외된 요청은 원래 요청 그대로 처리됨 (추가 복사 없음)
+ */
+public class RequestBodyCapture {
+
+    private final RequestBodyCaptureProperties properties;
+    private final RequestBodyBufferPool pool;
+    private final List<MediaType> contentTypes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RequestBodyCapture(RequestBodyCaptureProperties properties) {
+        this.properties = properties;
+        this.pool = new RequestBodyBufferPool(properties.maxLength(), properties.poolSize());
+        this.contentTypes = properties.contentTypes().stream().map(MediaType::parseMediaType).toList();
+    }
+
+    /**
+     * 캡처 대상이면 래퍼를, 아니면 null을 반환
+     */
+    public CapturingRequestWrapper wrap(HttpServletRequest request) {
+        if (!properties.enabled() || !matchesPath(request) || !matchesContentType(request.getContentType())) {
+            return null;
+        }
+        if (properties.sampleRate() < 1.0 && ThreadLocalRandom.current().nextDouble() >= properties.sampleRate()) {
+            return null;
+        }
+        return new CapturingRequestWrapper(request, pool);
+    }
+
+    private boolean matchesPath(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : properties.excludePaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        for (String pattern : properties.includePaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesContentType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (MediaType allowed : contentTypes) {
+                if (allowed.includes(mediaType)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package kevin.elasticsearch.filter;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 에러 로그용 요청 본문 캡처 구성
+ */
+@Configuration
+@EnableConfigurationProperties(RequestBodyCaptureProperties.class)
+public class RequestBodyCaptureConfig {
+
+    @Bean
+    public RequestBodyCapture requestBodyCapture(RequestBodyCaptureProperties properties) {
+        return new RequestBodyCapture(properties);
+    }
+}
@@ -0,0 +1,32 @@
+package kevin.elasticsearch.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 에러 로그용 요청 본문 캡처 설정 (logging.request-body.*)
+ *
+ * @param enabled      캡처 여부
+ * @param maxLength    요청당 캡처할 최대 바이트 (넘는 부분은 잘림)
+ * @param includePaths 캡처할 경로 패턴 (Ant 스타일)
+ * @param excludePaths 제외할 경로 패턴 (대용량 업로드 등)
+ * @param contentTypes 캡처할 Content-Type (text/*, application/*+json 같은 와일드카드 가능)
+ * @param sampleRate   조건에 맞는 요청 중 캡처할 비율 (0 ~ 1)
+ * @param poolSize     재사용할 버퍼 수 (동시에 본문을 읽는 요청이 이보다 많으면 새로 할당)
+ */
+@ConfigurationProperties("logging.request-body")
+public record RequestBodyCaptureProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxLength,
+        @DefaultValue("/api/**") List<String> includePaths,
+        List<String> excludePaths,
+        @DefaultValue({"application/json", "application/*+json", "text/*"}) List<String> contentTypes,
+        @DefaultValue("1.0") double sampleRate,
+        @DefaultValue("64") int poolSize) {
+
+    public RequestBodyCaptureProperties {
+        excludePaths = excludePaths != null ? excludePaths : List.of();
+    }
+}
@@ -4,32 +4,55 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import kevin.elasticsearch.timing.EndpointLatencyRegistry;
+import kevin.elasticsearch.timing.RequestTiming;
+import kevin.elasticsearch.timing.RequestTimingLogger;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 
 /**
- * Request Body를 캐싱하여 GlobalExceptionHandler에서 읽을 수 있도록 하는 필터 클래스.
+ * Request Body를 캡처하여 GlobalExceptionHandler에서 읽을 수 있도록 하는 필터 클래스.
+ * 설정된 경로/Content-Type의 요청만 CapturingRequestWrapper로 감싸고, 응답이 끝나면 버퍼를 바로 풀에 반납함.
+ * 요청별 단계 시간(RequestTiming) 측정도 여기서 시작하고, 응답 후 RequestTimingLogger로 기록함.
+ * 전체 응답 시간은 URI 템플릿별 히스토그램(EndpointLatencyRegistry)에도 기록함.
  * 모든 Controller에 자동으로 적용됨.
  */
 @Component
+@RequiredArgsConstructor
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
-    // 캐싱할 최대 바이트 크기 (예: 10KB)
-    private static final int MAX_PAYLOAD_LENGTH = 10000;
+    private final RequestBodyCapture requestBodyCapture;
+    private final RequestTimingLogger requestTimingLogger;
+    private final EndpointLatencyRegistry endpointLatencyRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        // Request Body를 여러 번 읽을 수 있도록 래핑
-        // GlobalExceptionHandler에서 body를 읽기 위해 필요
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, MAX_PAYLOAD_LENGTH);
+        RequestTiming timing = RequestTiming.start();
 
-        // 필터 체인 실행 (Controller 처리)
-        filterChain.doFilter(wrappedRequest, response);
+        // 캡처 대상이면 본문을 읽을 때 버퍼에 복사해두는 래퍼로 감쌈 (GlobalExceptionHandler에서 body를 읽기 위해 필요)
+        CapturingRequestWrapper wrappedRequest = requestBodyCapture.wrap(request);
+        HttpServletRequest target = wrappedRequest != null ? wrappedRequest : request;
+
+        try {
+            // 필터 체인 실행 (Controller 처리)
+            filterChain.doFilter(target, response);
+        } finally {
+            if (wrappedRequest != null) {
+                wrappedRequest.release();
+            }
+            RequestTiming.clear();
+            long endNanos = System.nanoTime();
+            Object route = target.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            endpointLatencyRegistry.record(target.getMethod(), route != null ? route.toString() : null,
+                    response.getStatus(), endNanos - timing.startNanos());
+            requestTimingLogger.record(target, response, timing, endNanos);
+        }
     }
 }
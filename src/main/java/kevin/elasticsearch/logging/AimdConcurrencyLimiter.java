@@ -0,0 +1,80 @@
+package kevin.elasticsearch.logging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD(Additive Increase / Multiplicative Decrease) 방식의 동시 요청 수 제한
+ * 요청이 성공하면 한도를 조금씩(1/limit) 늘리고, 429나 타임아웃처럼 클러스터 과부하 신호를 받으면 절반으로 줄임
+ * 장애 중에는 자연스럽게 요청 수가 줄어 이미 힘든 클러스터를 더 몰아붙이지 않음
+ */
+final class AimdConcurrencyLimiter {
+
+    // 동시에 실패한 여러 요청 때문에 한 번의 과부하로 한도가 연달아 깎이지 않도록 하는 최소 간격
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    AimdConcurrencyLimiter(int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = this.maxLimit;
+        this.lastDecreaseNanos = System.nanoTime() - DECREASE_COOLDOWN_NANOS;
+    }
+
+    /**
+     * 현재 한도 안에 자리가 날 때까지 최대 waitNanos 동안 기다림
+     */
+    synchronized boolean tryAcquire(long waitNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + waitNanos;
+        while (inFlight >= (int) limit) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * 요청이 끝나면 호출. overloaded면 한도를 줄이고, 아니면 조금 늘림
+     */
+    synchronized void release(boolean overloaded) {
+        inFlight--;
+        if (overloaded) {
+            decrease();
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        notifyAll();
+    }
+
+    /**
+     * 요청 자체는 성공했지만 bulk 항목이 429로 거절된 경우처럼 별도로 과부하를 알릴 때 사용
+     */
+    synchronized void onOverload() {
+        decrease();
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos >= DECREASE_COOLDOWN_NANOS) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            lastDecreaseNanos = now;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kevin.elasticsearch.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그 전송 파이프라인 자체의 카운터와 히스토그램
+ * 로깅 스레드, 전송 스레드, HTTP 콜백 스레드에서 동시에 기록하므로 LongAdder / lock-free 히스토그램만 사용
+ * 큐 깊이, 서킷 브레이커 상태 같은 현재 값(gauge)은 스냅샷을 만들 때 Appender가 채워 넣음
+ */
+final class AppenderMetrics {
+
+    // Appender에 들어온 이벤트 (링 버퍼 또는 저널에 들어감)
+    final LongAdder eventsAccepted = new LongAdder();
+    // 버퍼 초과, 재시도 소진 등으로 버려진 이벤트
+    final LongAdder eventsDropped = new LongAdder();
+    // LogSuppressor가 repeat_count 요약으로 묶은 이벤트
+    final LongAdder eventsSuppressed = new LongAdder();
+    // 저널에 기록된 이벤트
+    final LongAdder eventsSpilled = new LongAdder();
+    // 클러스터가 받아들인 이벤트 (metricsIntervalMs 요약 문서 포함)
+    final LongAdder eventsDelivered = new LongAdder();
+    // 클러스터가 재시도할 수 없는 오류로 거절한 이벤트
+    final LongAdder eventsFailed = new LongAdder();
+    final LongAdder batchesSent = new LongAdder();
+    // 압축 전 bulk 본문 크기 합
+    final LongAdder bytesSent = new LongAdder();
+    final LongAdder retries = new LongAdder();
+
+    // 배치당 이벤트 수, 요청부터 응답까지 걸린 시간(마이크로초)
+    final ValueHistogram batchSizes = new ValueHistogram();
+    final ValueHistogram flushLatencyMicros = new ValueHistogram();
+
+    void recordFlush(BulkBatch.BulkBody body, long startNanos) {
+        batchesSent.increment();
+        bytesSent.add(body.length());
+        batchSizes.record(body.count());
+        flushLatencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    AppenderMetricsSnapshot snapshot(Gauges gauges) {
+        return new AppenderMetricsSnapshot(
+                eventsAccepted.sum(),
+                eventsDropped.sum(),
+                eventsSuppressed.sum(),
+                eventsSpilled.sum(),
+                eventsDelivered.sum(),
+                eventsFailed.sum(),
+                gauges.queueDepth(),
+                gauges.queueCapacity(),
+                gauges.totalNodes(),
+                gauges.aliveNodes(),
+                batchesSent.sum(),
+                bytesSent.sum(),
+                batchSizes.percentile(50),
+                batchSizes.percentile(99),
+                batchSizes.max(),
+                toMillis(flushLatencyMicros.percentile(50)),
+                toMillis(flushLatencyMicros.percentile(95)),
+                toMillis(flushLatencyMicros.percentile(99)),
+                toMillis(flushLatencyMicros.max()),
+                retries.sum(),
+                gauges.pendingRetries(),
+                gauges.inFlightRequests(),
+                gauges.concurrencyLimit(),
+                gauges.circuitState(),
+                gauges.journalBytes());
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * 스냅샷 시점의 현재 값
+     */
+    record Gauges(int queueDepth, int queueCapacity, int totalNodes, int aliveNodes, int pendingRetries, int inFlightRequests,
+                  int concurrencyLimit, String circuitState, long journalBytes) {
+    }
+}
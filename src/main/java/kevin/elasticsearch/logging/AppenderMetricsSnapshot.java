@@ -0,0 +1,33 @@
+package kevin.elasticsearch.logging;
+
+/**
+ * ElasticsearchAppender 지표의 특정 시점 값 (내부 모니터링 API, 주기적 요약 문서에서 사용)
+ * 지연 시간은 밀리초, 누적 카운터는 Appender 시작 이후 합계
+ */
+public record AppenderMetricsSnapshot(
+        long eventsAccepted,
+        long eventsDropped,
+        long eventsSuppressed,
+        long eventsSpilled,
+        long eventsDelivered,
+        long eventsFailed,
+        int queueDepth,
+        int queueCapacity,
+        int totalNodes,
+        int aliveNodes,
+        long batchesSent,
+        long bytesSent,
+        long batchSizeP50,
+        long batchSizeP99,
+        long batchSizeMax,
+        double flushLatencyP50Ms,
+        double flushLatencyP95Ms,
+        double flushLatencyP99Ms,
+        double flushLatencyMaxMs,
+        long retries,
+        int pendingRetries,
+        int inFlightRequests,
+        int concurrencyLimit,
+        String circuitState,
+        long journalBytes) {
+}
@@ -0,0 +1,34 @@
+package kevin.elasticsearch.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * bulk 요청 본문용 byte[] 재사용 풀
+ * 전송이 끝난 버퍼를 돌려받아 다음 배치에 다시 쓰므로 정상 상태에서는 배치마다 새 배열을 만들지 않음
+ */
+final class BufferPool {
+
+    private final ArrayBlockingQueue<byte[]> free;
+    private final int initialSize;
+    private final int maxRetainedSize;
+
+    BufferPool(int maxPooled, int initialSize, int maxRetainedSize) {
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    byte[] acquire() {
+        byte[] buffer = free.poll();
+        return buffer != null ? buffer : new byte[initialSize];
+    }
+
+    /**
+     * 버퍼를 반납. 풀이 가득 찼거나 너무 커진 버퍼는 GC에 맡김
+     */
+    void release(byte[] buffer) {
+        if (buffer != null && buffer.length <= maxRetainedSize) {
+            free.offer(buffer);
+        }
+    }
+}
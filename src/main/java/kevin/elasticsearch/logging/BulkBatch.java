@@ -0,0 +1,133 @@
+package kevin.elasticsearch.logging;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * _bulk 요청 한 건에 담길 NDJSON 항목들을 모아두는 버퍼
+ * 각 항목은 "action 라인 + 문서 라인" 한 쌍
+ * 버퍼는 BufferPool에서 빌려오며, detach()로 넘긴 버퍼는 전송이 끝난 뒤 풀에 반납해야 함
+ */
+class BulkBatch {
+
+    private final BufferPool bufferPool;
+    private byte[] buffer;
+    private int size;
+    private int count;
+    private long firstAddedNanos;
+
+    BulkBatch(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        this.buffer = bufferPool.acquire();
+    }
+
+    /**
+     * 항목 하나(action 라인 + 문서 라인, 각각 '\n'으로 끝남)를 추가
+     */
+    void add(byte[] item) {
+        add(item, 0, item.length);
+    }
+
+    void add(byte[] item, int offset, int length) {
+        if (count == 0) {
+            firstAddedNanos = System.nanoTime();
+        }
+        ensureCapacity(size + length);
+        count++;
+        System.arraycopy(item, offset, buffer, size, length);
+        size += length;
+    }
+
+    /**
+     * source 본문에서 indexes(0부터, 오름차순) 순번의 항목만 골라 추가
+     * bulk 응답에서 일부 항목만 실패했을 때 그 항목만 다시 보내기 위해 사용
+     */
+    void addItems(BulkBody source, List<Integer> indexes) {
+        byte[] body = source.buffer();
+        int itemIndex = 0;
+        int itemStart = 0;
+        int newlines = 0;
+        int next = 0;
+        for (int i = 0; i < source.length() && next < indexes.size(); i++) {
+            if (body[i] == '\n' && ++newlines == 2) {
+                if (indexes.get(next) == itemIndex) {
+                    add(body, itemStart, i + 1 - itemStart);
+                    next++;
+                }
+                itemIndex++;
+                itemStart = i + 1;
+                newlines = 0;
+            }
+        }
+    }
+
+    /**
+     * 이 배치에 항목을 더 넣으면 바이트 한도를 넘는지 확인
+     * 비어 있는 배치는 한도를 넘는 단일 항목도 받아들임
+     */
+    boolean fits(int itemLength, int maxBytes) {
+        return count == 0 || size + itemLength <= maxBytes;
+    }
+
+    /**
+     * 첫 항목이 들어온 뒤 linger 시간이 지났는지 확인
+     */
+    boolean lingerExpired(long lingerNanos) {
+        return count > 0 && System.nanoTime() - firstAddedNanos >= lingerNanos;
+    }
+
+    /**
+     * linger 만료까지 남은 시간 (비어 있으면 lingerNanos 그대로)
+     */
+    long remainingLingerNanos(long lingerNanos) {
+        if (count == 0) {
+            return lingerNanos;
+        }
+        return Math.max(0, lingerNanos - (System.nanoTime() - firstAddedNanos));
+    }
+
+    /**
+     * 지금까지 모은 버퍼를 복사 없이 떼어내고, 배치는 풀에서 새 버퍼를 받아 비운 상태로 돌아감
+     * 반환된 본문은 HTTP 클라이언트가 전송을 마칠 때까지 참조하므로 그 뒤에 BufferPool.release 해야 함
+     */
+    BulkBody detach() {
+        BulkBody body = new BulkBody(buffer, size, count);
+        buffer = bufferPool.acquire();
+        size = 0;
+        count = 0;
+        firstAddedNanos = 0;
+        return body;
+    }
+
+    /**
+     * 더 이상 쓰지 않는 배치의 버퍼를 풀에 반납
+     */
+    void release() {
+        bufferPool.release(buffer);
+        buffer = null;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int sizeInBytes() {
+        return size;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+
+    /**
+     * 전송할 bulk 본문: buffer의 0 ~ length 구간에 count개 항목
+     */
+    record BulkBody(byte[] buffer, int length, int count) {
+    }
+}
@@ -0,0 +1,69 @@
+package kevin.elasticsearch.logging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * _bulk 응답을 읽어 항목별 실패 정보를 추출
+ * Elasticsearch는 일부 항목이 실패해도 HTTP 200을 반환하므로 items를 직접 확인해야 함
+ */
+class BulkResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    BulkResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    BulkResult parse(byte[] body) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        JsonNode items = root.path("items");
+        int total = items.size();
+
+        // errors=false 이면 모든 항목이 성공이므로 items를 순회할 필요 없음
+        if (!root.path("errors").asBoolean(false)) {
+            return new BulkResult(total, Collections.emptyList());
+        }
+
+        List<ItemFailure> failures = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            // 각 항목은 {"index": {...}} 또는 {"create": {...}} 형태
+            Iterator<JsonNode> actions = items.get(i).elements();
+            if (!actions.hasNext()) {
+                continue;
+            }
+            JsonNode result = actions.next();
+            JsonNode error = result.get("error");
+            if (error != null) {
+                failures.add(new ItemFailure(
+                        i,
+                        result.path("status").asInt(),
+                        error.path("type").asText(),
+                        error.path("reason").asText()));
+            }
+        }
+        return new BulkResult(total, failures);
+    }
+
+    /**
+     * bulk 응답 요약: 전체 항목 수와 실패한 항목 목록
+     */
+    record BulkResult(int total, List<ItemFailure> failures) {
+
+        boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    /**
+     * 실패한 bulk 항목 하나 (index는 요청 내 항목 순번)
+     */
+    record ItemFailure(int index, int status, String type, String reason) {
+    }
+}
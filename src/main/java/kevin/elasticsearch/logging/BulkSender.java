@@ -0,0 +1,445 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.core.spi.ContextAware;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * bulk 본문을 Elasticsearch로 보내고 결과에 따라 재시도/저널 기록/폐기를 결정
+ * - 연결 실패, 429/502/503/504는 지수 백오프(jitter)로 재시도하고, 200 응답 안의 항목별 429 등도 해당 항목만 골라 재시도
+ * - 그 외 4xx처럼 다시 보내도 같은 결과인 실패는 보고만 하고 재시도하지 않음
+ * - 연속 실패가 쌓이면 서킷 브레이커가 열려 요청을 멈추고, 저널이 있으면 그동안의 배치는 저널에 기록
+ *   (HALF_OPEN에서는 시험 요청 하나만 보내고, 나머지 배치는 시험 요청이 성공할 때까지 브레이커가 열려 있을 때처럼 처리)
+ * - 재시도 횟수를 다 쓰면 저널에 기록하고, 저널이 없으면 버림
+ * 본문 버퍼의 소유권은 send()에 넘긴 시점부터 이 클래스가 가지며, 처리가 끝나면 풀에 반납함
+ */
+final class BulkSender {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    // 동시 요청 한도에 걸렸을 때 자리가 났는지 다시 확인하는 간격 (저널이 없을 때)
+    private static final long PERMIT_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ElasticsearchTransport transport;
+    private final BulkResponseParser responseParser;
+    private final BufferPool bufferPool;
+    private final SpillJournal journal;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final ContextAware status;
+    private final AppenderMetrics metrics;
+    private final int maxPendingRetries;
+
+    private final ScheduledExecutorService retryScheduler;
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<RetryTask> pendingRetries = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean replayInFlight = new AtomicBoolean();
+    private volatile long nextReplayNanos;
+    private int replayFailures;
+    private volatile boolean closing;
+
+    /**
+     * journal이 null이면 재시도 횟수를 다 쓴 배치는 버림
+     * maxPendingRetries: 메모리에 들고 있는 재시도 대기 배치 수 상한 (넘으면 저널 기록 또는 폐기)
+     */
+    BulkSender(ElasticsearchTransport transport, BulkResponseParser responseParser, BufferPool bufferPool,
+               SpillJournal journal, RetryPolicy retryPolicy, CircuitBreaker circuitBreaker,
+               ContextAware status, AppenderMetrics metrics, int maxPendingRetries) {
+        this.transport = transport;
+        this.responseParser = responseParser;
+        this.bufferPool = bufferPool;
+        this.journal = journal;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.status = status;
+        this.metrics = metrics;
+        this.maxPendingRetries = maxPendingRetries;
+        this.nextReplayNanos = System.nanoTime();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "es-log-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 새로 모은 배치를 전송 (전송 스레드에서 호출)
+     * 저널이 있으면 동시 요청 한도가 찼을 때 바로 저널에 기록하고, 없으면 자리가 날 때까지 기다림
+     * (그동안 새 이벤트는 링 버퍼가 받아주며, 버퍼가 차면 overflowPolicy가 적용됨)
+     */
+    void send(BulkBatch.BulkBody body, boolean running) {
+        if (!circuitBreaker.allowRequest()) {
+            defer(body);
+            return;
+        }
+        try {
+            if (journal != null) {
+                long startNanos = System.nanoTime();
+                CompletableFuture<ElasticsearchTransport.TransportResponse> response = trySend(body, 0);
+                if (response == null) {
+                    // 파이프라인 포화: 클러스터는 정상이므로 실패로 세지 않고 저널에만 기록
+                    circuitBreaker.cancelRequest();
+                    spillOrDrop(body);
+                } else {
+                    dispatch(body, 0, response, startNanos);
+                }
+                return;
+            }
+            long deadline = System.nanoTime() + PERMIT_WAIT_NANOS * 50;
+            while (running || System.nanoTime() - deadline < 0) {
+                long startNanos = System.nanoTime();
+                CompletableFuture<ElasticsearchTransport.TransportResponse> response = trySend(body, PERMIT_WAIT_NANOS);
+                if (response != null) {
+                    dispatch(body, 0, response, startNanos);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            status.addError("Failed to send " + body.count() + " logs to Elasticsearch", e);
+        }
+        circuitBreaker.cancelRequest();
+        spillOrDrop(body);
+    }
+
+    /**
+     * 저널에 쌓인 항목을 순서대로 다시 전송 (전송 스레드에서 호출)
+     * 한 번에 하나의 재전송 요청만 보내며, 성공해야 저널의 읽기 위치를 앞으로 옮김
+     * 서킷 브레이커가 열려 있는 동안에는 보내지 않고, HALF_OPEN이 되면 이 재전송이 시험 요청 역할을 함
+     */
+    void replayJournal(int maxCount, int maxBytes) throws Exception {
+        if (journal == null || closing || replayInFlight.get() || System.nanoTime() - nextReplayNanos < 0
+                || journal.isEmpty() || !circuitBreaker.allowRequest()) {
+            return;
+        }
+        CompletableFuture<ElasticsearchTransport.TransportResponse> response = null;
+        try {
+            response = sendFromJournal(maxCount, maxBytes);
+        } finally {
+            if (response == null) {
+                circuitBreaker.cancelRequest();
+            }
+        }
+    }
+
+    /**
+     * 저널에서 배치를 읽어 재전송 요청을 보냄 (보내지 않았으면 null)
+     */
+    private CompletableFuture<ElasticsearchTransport.TransportResponse> sendFromJournal(int maxCount, int maxBytes)
+            throws Exception {
+        long corrupt = journal.takeCorruptRecordCount();
+        if (corrupt > 0) {
+            status.addWarn("Skipped " + corrupt + " corrupt records in log journal");
+        }
+
+        BulkBatch replayBatch = new BulkBatch(bufferPool);
+        SpillJournal.Position end = journal.readInto(replayBatch, maxCount, maxBytes);
+        if (replayBatch.isEmpty()) {
+            replayBatch.release();
+            journal.commit(end);
+            return null;
+        }
+        BulkBatch.BulkBody body = replayBatch.detach();
+        replayBatch.release();
+        // 동시 요청 한도가 찼으면 기다리지 않고 다음 루프에서 다시 시도
+        long startNanos = System.nanoTime();
+        CompletableFuture<ElasticsearchTransport.TransportResponse> response = trySend(body, 0);
+        if (response == null) {
+            bufferPool.release(body.buffer());
+            return null;
+        }
+        replayInFlight.set(true);
+        track(response.handle((r, e) -> {
+            try {
+                metrics.recordFlush(body, startNanos);
+                Outcome outcome = classify(body, r, e);
+                if (outcome.retryAll()) {
+                    // 커밋하지 않으면 다음 재전송이 같은 위치부터 다시 읽음
+                    nextReplayNanos = System.nanoTime() + retryPolicy.delayNanos(replayFailures++);
+                } else {
+                    replayFailures = 0;
+                    journal.commit(end);
+                    if (outcome.retryItems() != null) {
+                        // 일부 항목만 실패했으면 그 항목만 저널 끝에 다시 기록
+                        appendToJournal(outcome.retryItems());
+                        bufferPool.release(outcome.retryItems().buffer());
+                    }
+                }
+            } catch (Exception ex) {
+                status.addError("Failed to update log journal checkpoint", ex);
+            } finally {
+                bufferPool.release(body.buffer());
+                replayInFlight.set(false);
+            }
+            return null;
+        }));
+        return response;
+    }
+
+    /**
+     * 진행 중인 요청을 timeoutMs까지 기다린 뒤 남은 재시도 대기 배치를 저널에 기록(없으면 폐기)하고 저널을 닫음
+     */
+    void close(long timeoutMs) {
+        closing = true;
+        try {
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0]))
+                    .get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            status.addWarn("Timed out while flushing remaining logs to Elasticsearch", e);
+        }
+        retryScheduler.shutdownNow();
+        for (RetryTask task : pendingRetries) {
+            if (pendingRetries.remove(task)) {
+                spillOrDrop(task.body);
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (Exception e) {
+                status.addWarn("Failed to close log journal", e);
+            }
+        }
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    int pendingRetries() {
+        return pendingRetries.size();
+    }
+
+    private CompletableFuture<ElasticsearchTransport.TransportResponse> trySend(BulkBatch.BulkBody body, long waitNanos)
+            throws InterruptedException {
+        // 풀 버퍼를 복사하지 않고 그대로 요청 본문으로 사용
+        // (반환된 future가 완료된 뒤에는 HTTP 클라이언트가 본문을 더 읽지 않으므로 버퍼를 반납해도 됨)
+        return transport.trySend("POST", "/_bulk", body.buffer(), body.length(), NDJSON, waitNanos);
+    }
+
+    private void dispatch(BulkBatch.BulkBody body, int attempt,
+                          CompletableFuture<ElasticsearchTransport.TransportResponse> response, long startNanos) {
+        track(response.handle((r, e) -> {
+            metrics.recordFlush(body, startNanos);
+            Outcome outcome = classify(body, r, e);
+            if (outcome.retryAll()) {
+                retryOrSpill(body, attempt);
+                return null;
+            }
+            bufferPool.release(body.buffer());
+            if (outcome.retryItems() != null) {
+                retryOrSpill(outcome.retryItems(), attempt);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * 응답을 분류하고 서킷 브레이커 / 동시 요청 한도에 반영
+     * 요청 전체를 다시 보내야 하면 retryAll, 일부 항목만 다시 보내야 하면 그 항목만 담은 새 본문을 반환
+     */
+    private Outcome classify(BulkBatch.BulkBody body, ElasticsearchTransport.TransportResponse response, Throwable e) {
+        if (e != null) {
+            circuitBreaker.recordFailure();
+            status.addError("Failed to send " + body.count() + " logs to Elasticsearch", e);
+            return Outcome.RETRY_ALL;
+        }
+        int statusCode = response.statusCode();
+        if (RetryPolicy.isRetryableStatus(statusCode)) {
+            circuitBreaker.recordFailure();
+            status.addWarn("Elasticsearch is unavailable for bulk request of " + body.count() + " logs: HTTP "
+                    + statusCode + " " + new String(response.body(), StandardCharsets.UTF_8));
+            return Outcome.RETRY_ALL;
+        }
+        if (statusCode >= 300) {
+            // 요청 자체가 잘못된 경우는 다시 보내도 같은 결과이므로 재시도하지 않음
+            if (statusCode >= 500) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+            metrics.eventsFailed.add(body.count());
+            status.addError("Elasticsearch rejected bulk request of " + body.count() + " logs: HTTP "
+                    + statusCode + " " + new String(response.body(), StandardCharsets.UTF_8));
+            return Outcome.DONE;
+        }
+        circuitBreaker.recordSuccess();
+        try {
+            BulkResponseParser.BulkResult result = responseParser.parse(response.body());
+            metrics.eventsDelivered.add(body.count() - result.failures().size());
+            if (!result.hasFailures()) {
+                return Outcome.DONE;
+            }
+            List<Integer> retryable = new ArrayList<>();
+            BulkResponseParser.ItemFailure firstFatal = null;
+            boolean overloaded = false;
+            for (BulkResponseParser.ItemFailure failure : result.failures()) {
+                if (RetryPolicy.isRetryableStatus(failure.status())) {
+                    retryable.add(failure.index());
+                    overloaded |= RetryPolicy.isOverloadStatus(failure.status());
+                } else if (firstFatal == null) {
+                    firstFatal = failure;
+                }
+            }
+            if (overloaded) {
+                // HTTP 200이어도 항목이 es_rejected_execution_exception으로 거절됐으면 과부하 신호로 봄
+                transport.reportOverload();
+            }
+            if (firstFatal != null) {
+                metrics.eventsFailed.add(result.failures().size() - retryable.size());
+                status.addError((result.failures().size() - retryable.size()) + " of " + result.total()
+                        + " logs failed in bulk request, first failure: " + firstFatal);
+            }
+            if (retryable.isEmpty()) {
+                return Outcome.DONE;
+            }
+            BulkBatch retryBatch = new BulkBatch(bufferPool);
+            retryBatch.addItems(body, retryable);
+            BulkBatch.BulkBody retryItems = retryBatch.detach();
+            retryBatch.release();
+            return new Outcome(false, retryItems);
+        } catch (Exception ex) {
+            // 응답을 해석할 수 없어도 클러스터는 요청을 처리했으므로 전달된 것으로 셈
+            metrics.eventsDelivered.add(body.count());
+            status.addError("Failed to parse Elasticsearch bulk response", ex);
+            return Outcome.DONE;
+        }
+    }
+
+    /**
+     * attempt번째 시도가 실패한 본문을 백오프 후 다시 보내도록 예약
+     * 재시도 횟수를 다 썼거나, 대기 중인 재시도가 너무 많거나, (저널이 있을 때) 브레이커가 닫혀 있지 않으면 저널 기록/폐기
+     * (시험 요청 자리를 차지하지 않도록 allowRequest() 대신 상태만 확인)
+     */
+    private void retryOrSpill(BulkBatch.BulkBody body, int attempt) {
+        boolean retry = !closing && retryPolicy.canRetry(attempt)
+                && (journal == null || circuitBreaker.state() == CircuitBreaker.State.CLOSED)
+                && pendingRetries.size() < maxPendingRetries;
+        if (!retry || !schedule(new RetryTask(body, attempt + 1), retryPolicy.delayNanos(attempt))) {
+            spillOrDrop(body);
+        }
+    }
+
+    /**
+     * 브레이커가 열려 있어 보내지 못한 새 배치 처리
+     * 저널이 있으면 저널에 기록, 없으면 브레이커가 닫힐 때까지 재시도 대기열에서 기다림 (대기열이 차면 폐기)
+     */
+    private void defer(BulkBatch.BulkBody body) {
+        if (journal != null || closing || pendingRetries.size() >= maxPendingRetries
+                || !schedule(new RetryTask(body, 0), retryPolicy.delayNanos(0))) {
+            spillOrDrop(body);
+        }
+    }
+
+    private boolean schedule(RetryTask task, long delayNanos) {
+        pendingRetries.add(task);
+        try {
+            retryScheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingRetries.remove(task);
+            return false;
+        }
+    }
+
+    private void spillOrDrop(BulkBatch.BulkBody body) {
+        if (journal != null) {
+            appendToJournal(body);
+        } else {
+            metrics.eventsDropped.add(body.count());
+        }
+        bufferPool.release(body.buffer());
+    }
+
+    private void appendToJournal(BulkBatch.BulkBody body) {
+        try {
+            int rejected = journal.appendBulkBody(body.buffer(), body.length());
+            metrics.eventsSpilled.add(body.count() - rejected);
+            metrics.eventsDropped.add(rejected);
+        } catch (Exception e) {
+            metrics.eventsDropped.add(body.count());
+            status.addError("Failed to write " + body.count() + " logs to journal", e);
+        }
+    }
+
+    private void track(CompletableFuture<?> future) {
+        inFlight.add(future);
+        future.whenComplete((result, e) -> inFlight.remove(future));
+    }
+
+    /**
+     * 백오프가 끝난 뒤 재시도 스레드에서 본문을 다시 보냄
+     * 브레이커가 열려 있거나 동시 요청 한도가 차 있으면 시도 횟수를 늘리지 않고 다시 예약
+     */
+    private final class RetryTask implements Runnable {
+
+        private final BulkBatch.BulkBody body;
+        private final int attempt;
+
+        private RetryTask(BulkBatch.BulkBody body, int attempt) {
+            this.body = body;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void run() {
+            if (!pendingRetries.remove(this)) {
+                // close()가 이미 처리함
+                return;
+            }
+            if (closing) {
+                spillOrDrop(body);
+                return;
+            }
+            // 브레이커는 한 번만 확인하고 결과를 재사용 (HALF_OPEN에서는 확인할 때마다 시험 요청 자리를 차지함)
+            boolean allowed = circuitBreaker.allowRequest();
+            try {
+                long startNanos = System.nanoTime();
+                CompletableFuture<ElasticsearchTransport.TransportResponse> response = allowed ? trySend(body, 0) : null;
+                if (response != null) {
+                    if (attempt > 0) {
+                        metrics.retries.increment();
+                    }
+                    dispatch(body, attempt, response, startNanos);
+                    return;
+                }
+            } catch (Exception e) {
+                status.addError("Failed to retry " + body.count() + " logs", e);
+                if (allowed) {
+                    circuitBreaker.cancelRequest();
+                }
+                spillOrDrop(body);
+                return;
+            }
+            if (allowed) {
+                circuitBreaker.cancelRequest();
+            }
+            if ((journal != null && !allowed) || !schedule(this, retryPolicy.delayNanos(Math.max(0, attempt - 1)))) {
+                spillOrDrop(body);
+            }
+        }
+    }
+
+    /**
+     * 응답 분류 결과
+     * retryAll: 요청 전체를 다시 보내야 함 / retryItems: 다시 보낼 일부 항목만 담은 본문 (없으면 null)
+     */
+    private record Outcome(boolean retryAll, BulkBatch.BulkBody retryItems) {
+
+        static final Outcome RETRY_ALL = new Outcome(true, null);
+        static final Outcome DONE = new Outcome(false, null);
+    }
+}
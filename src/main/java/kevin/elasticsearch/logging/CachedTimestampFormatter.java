@@ -0,0 +1,60 @@
+package kevin.elasticsearch.logging;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * epoch millis를 ISO-8601 UTC 문자열(yyyy-MM-ddTHH:mm:ss.SSSZ) 바이트로 기록
+ * 초 단위 앞부분("yyyy-MM-ddTHH:mm:ss.")은 초가 바뀔 때만 다시 계산하고 밀리초만 매번 채움
+ * 상태를 가지므로 한 스레드에서만 사용해야 함
+ */
+final class CachedTimestampFormatter {
+
+    static final int LENGTH = 24;
+    private static final int PREFIX_LENGTH = 20;
+
+    private final byte[] prefix = new byte[PREFIX_LENGTH];
+    private long cachedSecond = Long.MIN_VALUE;
+
+    /**
+     * dest[offset]부터 24바이트를 기록하고 다음 위치를 반환
+     */
+    int format(long epochMillis, byte[] dest, int offset) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        if (second != cachedSecond) {
+            updatePrefix(second);
+        }
+        System.arraycopy(prefix, 0, dest, offset, PREFIX_LENGTH);
+        int pos = offset + PREFIX_LENGTH;
+        dest[pos++] = (byte) ('0' + millis / 100);
+        dest[pos++] = (byte) ('0' + millis / 10 % 10);
+        dest[pos++] = (byte) ('0' + millis % 10);
+        dest[pos++] = 'Z';
+        return pos;
+    }
+
+    private void updatePrefix(long second) {
+        LocalDateTime time = LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+        writeDigits(time.getYear(), 4, 0);
+        prefix[4] = '-';
+        writeDigits(time.getMonthValue(), 2, 5);
+        prefix[7] = '-';
+        writeDigits(time.getDayOfMonth(), 2, 8);
+        prefix[10] = 'T';
+        writeDigits(time.getHour(), 2, 11);
+        prefix[13] = ':';
+        writeDigits(time.getMinute(), 2, 14);
+        prefix[16] = ':';
+        writeDigits(time.getSecond(), 2, 17);
+        prefix[19] = '.';
+        cachedSecond = second;
+    }
+
+    private void writeDigits(int value, int width, int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            prefix[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
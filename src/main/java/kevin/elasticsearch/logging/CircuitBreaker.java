@@ -0,0 +1,112 @@
+package kevin.elasticsearch.logging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elasticsearch 전송용 서킷 브레이커
+ * - CLOSED: 정상. 연속 실패가 failureThreshold에 도달하면 OPEN
+ * - OPEN: 요청을 보내지 않음. openDuration이 지나면 HALF_OPEN
+ * - HALF_OPEN: 동시에 MAX_PROBES개까지만 시험 요청을 허용하고 나머지는 거절. 연속 성공이 SUCCESS_THRESHOLD에 도달하면 CLOSED,
+ *   한 번이라도 실패하면 다시 OPEN
+ * allowRequest()가 true를 반환하면 호출 측은 결과를 recordSuccess/recordFailure로 알리거나, 보내지 않았으면 cancelRequest()를 호출해야 함
+ * OPEN이 반복될 때마다 openDuration을 두 배로 늘림 (maxOpenDuration까지)
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int SUCCESS_THRESHOLD = 2;
+    // HALF_OPEN에서 동시에 보낼 수 있는 시험 요청 수
+    private static final int MAX_PROBES = 1;
+
+    private final int failureThreshold;
+    private final long baseOpenNanos;
+    private final long maxOpenNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+    private int probesInFlight;
+    private long openNanos;
+    private long openUntilNanos;
+
+    CircuitBreaker(int failureThreshold, long openDurationMs, long maxOpenDurationMs) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseOpenNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.maxOpenNanos = Math.max(baseOpenNanos, TimeUnit.MILLISECONDS.toNanos(maxOpenDurationMs));
+        this.openNanos = baseOpenNanos;
+    }
+
+    /**
+     * 지금 요청을 보내도 되는지 확인 (OPEN 시간이 지났으면 HALF_OPEN으로 전환)
+     * HALF_OPEN에서는 시험 요청 자리가 남아 있을 때만 true를 반환하고 그 자리를 차지함
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            state = State.HALF_OPEN;
+            consecutiveSuccesses = 0;
+            probesInFlight = 0;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesInFlight >= MAX_PROBES) {
+                    yield false;
+                }
+                probesInFlight++;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * allowRequest()로 허가받았지만 보내지 못한 요청의 시험 요청 자리를 반납 (동시 요청 한도가 찬 경우 등)
+     */
+    synchronized void cancelRequest() {
+        releaseProbe();
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        releaseProbe();
+        if (state == State.HALF_OPEN && ++consecutiveSuccesses >= SUCCESS_THRESHOLD) {
+            state = State.CLOSED;
+            openNanos = baseOpenNanos;
+        }
+    }
+
+    synchronized void recordFailure() {
+        consecutiveSuccesses = 0;
+        releaseProbe();
+        if (state == State.HALF_OPEN) {
+            // 시험 요청이 실패하면 더 오래 쉼
+            openNanos = Math.min(maxOpenNanos, openNanos * 2);
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        consecutiveFailures = 0;
+        probesInFlight = 0;
+        openUntilNanos = System.nanoTime() + openNanos;
+    }
+
+    /**
+     * OPEN 전에 보낸 요청의 응답이 HALF_OPEN 중에 도착할 수도 있으므로 0 아래로 내려가지 않게 함
+     */
+    private void releaseProbe() {
+        if (probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+}
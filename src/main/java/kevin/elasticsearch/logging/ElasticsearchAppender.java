@@ -1,85 +1,582 @@
 package kevin.elasticsearch.logging;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.file.Path;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Elasticsearch로 직접 로그를 전송하는 Logback Appender
- * 날짜별로 인덱스를 자동 생성 (예: application-logs-2025.12.09)
+ * 이벤트 타임스탬프 기준 날짜별 인덱스(예: application-logs-2025.12.09) 또는 데이터 스트림으로 전송 (indexMode)
+ * 시작 시 명시적 매핑을 가진 index template을 비동기로 설치하고, errorIndexName을 설정하면 ERROR 로그는 별도 인덱스로 보냄
+ * 로그 이벤트를 모아 _bulk API(NDJSON)로 한 번에 전송
+ * 로깅 스레드는 고정 크기 링 버퍼에 스냅샷만 넣고 바로 돌아가며, 버퍼가 차면 overflowPolicy에 따라 처리
+ * 문서는 LogDocumentEncoder가 풀에서 빌린 버퍼에 바로 기록하므로 정상 상태에서는 이벤트당 할당이 거의 없음
+ * journalDir을 설정하면 버퍼가 넘치거나 클러스터에 연결할 수 없을 때 디스크 저널에 보관했다가 복구 후 재전송
+ * elasticsearchUrl에 여러 노드를 쉼표로 적으면 노드별로 요청을 분산하고, sniffIntervalMs를 설정하면 _nodes/http로 나머지 노드를 찾음
+ * 같은 템플릿의 로그가 폭주하면 LogSuppressor가 repeat_count를 가진 요약 문서로 묶고, logger + level별 초당 예산을 적용
+ * 429 등 일시적 실패는 백오프 후 재시도하고, 장애가 계속되면 서킷 브레이커가 열려 요청을 멈춤 (BulkSender)
+ * 파이프라인 지표는 JMX(ElasticsearchAppenderMXBean)와 metricsSnapshot()으로 노출하고, metricsIntervalMs를 설정하면 요약 문서로도 전송
  */
 public class ElasticsearchAppender extends AppenderBase<ILoggingEvent> {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
-    
+    // 종료 시 남은 로그를 전송하기 위해 기다리는 최대 시간
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    // 버려진 이벤트 수를 상태 메시지로 보고하는 최소 간격
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    // 템플릿 설치에 실패했을 때 다시 시도하는 간격 (1초부터 두 배씩, 최대 30초)
+    private static final long TEMPLATE_RETRY_BASE_DELAY_MS = 1000;
+    private static final long TEMPLATE_RETRY_MAX_DELAY_MS = TimeUnit.SECONDS.toMillis(30);
+
+    // bulk 본문 버퍼 풀 설정 (동시에 전송 중인 요청 수보다 넉넉하게)
+    private static final int POOLED_BUFFERS = 8;
+    private static final int INITIAL_BUFFER_SIZE = 256 * 1024;
+
     private String elasticsearchUrl = "http://localhost:9200";
+    private NodePool.Selection nodeSelection = NodePool.Selection.ROUND_ROBIN;
+    private long sniffIntervalMs = 0;
+    private long deadNodeBackoffMs = 1000;
     private String indexName = "application-logs";
-    private HttpClient httpClient;
-    private ExecutorService executorService;
+    private IndexRouter.Mode indexMode = IndexRouter.Mode.DAILY;
+    private String errorIndexName;
+    private boolean installIndexTemplate = true;
+    private String refreshInterval = "5s";
+    private int batchSize = 500;
+    private int batchMaxBytes = 5 * 1024 * 1024;
+    private long lingerMs = 1000;
+    private int bufferSize = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_BELOW_LEVEL;
+    private long blockTimeoutMs = 100;
+    private Level overflowLevel = Level.WARN;
+    private int sampleRate = 10;
+    private String journalDir;
+    private int journalSegmentBytes = 16 * 1024 * 1024;
+    private long journalMaxBytes = 256L * 1024 * 1024;
+    private long connectTimeoutMs = 5000;
+    private long requestTimeoutMs = 30000;
+    private int compressionThreshold = 1024;
+    private int maxInFlightRequests = 4;
+    private int retryMaxAttempts = 5;
+    private long retryBaseDelayMs = 200;
+    private long retryMaxDelayMs = 30000;
+    private int circuitFailureThreshold = 5;
+    private long circuitOpenMs = 5000;
+    private long circuitMaxOpenMs = 60000;
+    private long metricsIntervalMs = 0;
+    private boolean suppressionEnabled = true;
+    private long suppressionWindowMs = 1000;
+    private int maxRepeatsPerWindow = 20;
+    private String levelRateLimits = "DEBUG=200,INFO=500,WARN=200,ERROR=100";
+    private int stackTraceCacheSize = 1024;
+    private long stackTraceDedupWindowMs = 60000;
+
+    private ElasticsearchTransport transport;
+    private NodeSniffer nodeSniffer;
     private ObjectMapper objectMapper;
+    private BulkSender sender;
+    private BufferPool bufferPool;
+    private IndexRouter indexRouter;
+    // 로그 폭주 억제 (suppressionEnabled=false면 null)
+    private LogSuppressor suppressor;
+    // 두 인코더가 함께 쓰는 스택트레이스 캐시 (같은 오류의 trace를 dedup 구간마다 한 번만 전송)
+    private StackTraceCache stackTraceCache;
+    // 링 버퍼가 넘쳐 로깅 스레드에서 저널에 바로 쓸 때 사용하는 인코더 (synchronized로 보호)
+    private LogDocumentEncoder spillEncoder;
+    private LogEventRingBuffer ringBuffer;
+    // 버퍼 여유가 이 값보다 적으면 DROP_BELOW_LEVEL / SAMPLE 정책이 동작 (용량의 20%)
+    private int reservedCapacity;
+    private long blockTimeoutNanos;
+    private final AppenderMetrics metrics = new AppenderMetrics();
+    private ObjectName jmxName;
+    private Thread senderThread;
+    private volatile boolean running;
+
+    // 디스크 저널 (journalDir 미설정 시 null)
+    private SpillJournal journal;
+
+    // 전송 스레드 전용 상태
+    private BulkBatch batch;
+    private LogDocumentEncoder encoder;
+    private long lastDropReportNanos;
+    private long reportedDroppedEvents;
+    private long lastMetricsNanos;
+    private long lastSuppressionSweepNanos;
+    private final LogEventSnapshot summarySnapshot = new LogEventSnapshot();
+    private long nextSniffNanos;
+    private final AtomicBoolean sniffInFlight = new AtomicBoolean();
+    private final Consumer<LogEventSnapshot> batchAppender = this::addToBatch;
 
     @Override
     public void start() {
-        this.httpClient = HttpClient.newHttpClient();
-        this.executorService = Executors.newFixedThreadPool(2);
         this.objectMapper = new ObjectMapper();
+        this.bufferPool = new BufferPool(POOLED_BUFFERS + maxInFlightRequests * 2, INITIAL_BUFFER_SIZE, batchMaxBytes * 2);
+        List<String> nodeUrls = NodePool.parseUrls(elasticsearchUrl);
+        this.transport = new ElasticsearchTransport(new NodePool(nodeUrls, nodeSelection, deadNodeBackoffMs),
+                new ElasticsearchTransport.Settings(connectTimeoutMs, requestTimeoutMs, compressionThreshold, maxInFlightRequests),
+                bufferPool);
+        this.nodeSniffer = new NodeSniffer(transport, objectMapper, URI.create(nodeUrls.get(0)).getScheme());
+        this.suppressor = suppressionEnabled
+                ? new LogSuppressor(suppressionWindowMs, maxRepeatsPerWindow, LogSuppressor.parseRates(levelRateLimits))
+                : null;
+        this.indexRouter = new IndexRouter(indexMode, indexName, errorIndexName, ZoneId.systemDefault());
+        this.stackTraceCache = new StackTraceCache(stackTraceCacheSize, stackTraceDedupWindowMs);
+        this.spillEncoder = new LogDocumentEncoder(4096, stackTraceCache);
+        this.ringBuffer = new LogEventRingBuffer(bufferSize);
+        this.reservedCapacity = ringBuffer.capacity() / 5;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        if (journalDir != null && !journalDir.isBlank()) {
+            try {
+                this.journal = SpillJournal.open(Path.of(journalDir), journalSegmentBytes, journalMaxBytes);
+            } catch (Exception e) {
+                addError("Failed to open log journal at " + journalDir + ", continuing without it", e);
+            }
+        }
+        this.sender = new BulkSender(transport, new BulkResponseParser(objectMapper), bufferPool, journal,
+                new RetryPolicy(retryMaxAttempts, retryBaseDelayMs, retryMaxDelayMs),
+                new CircuitBreaker(circuitFailureThreshold, circuitOpenMs, circuitMaxOpenMs),
+                this, metrics, maxInFlightRequests * 2);
+        registerMBean();
+        this.running = true;
+
+        // 이벤트를 모아 bulk 요청을 만드는 전송 스레드 (1개)
+        this.senderThread = new Thread(this::runSender, "es-log-sender");
+        this.senderThread.setDaemon(true);
+        this.senderThread.start();
+        if (installIndexTemplate) {
+            installIndexTemplate(new IndexTemplateInstaller(transport, objectMapper, indexMode),
+                    new RetryPolicy(Integer.MAX_VALUE, TEMPLATE_RETRY_BASE_DELAY_MS, TEMPLATE_RETRY_MAX_DELAY_MS), 0);
+        }
         super.start();
     }
 
     @Override
     public void stop() {
-        executorService.shutdown();
+        running = false;
+        ringBuffer.wakeUp();
+        try {
+            senderThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sender.close(SHUTDOWN_TIMEOUT_MS);
+        transport.close();
+        unregisterMBean();
         super.stop();
     }
 
     @Override
     protected void append(ILoggingEvent eventObject) {
-        executorService.submit(() -> sendToElasticsearch(eventObject));
+        metrics.eventsAccepted.increment();
+        if (suppressor != null && !suppressor.admit(eventObject)) {
+            metrics.eventsSuppressed.increment();
+            return;
+        }
+        if (!offer(eventObject) && !spillToJournal(eventObject)) {
+            metrics.eventsDropped.increment();
+        }
     }
 
-    private void sendToElasticsearch(ILoggingEvent event) {
+    /**
+     * 현재 파이프라인 지표 (누적 카운터 + 큐 깊이, 서킷 브레이커 상태 등 현재 값)
+     */
+    public AppenderMetricsSnapshot metricsSnapshot() {
+        return metrics.snapshot(new AppenderMetrics.Gauges(
+                ringBuffer.size(),
+                ringBuffer.capacity(),
+                transport.nodePool().nodes().size(),
+                transport.nodePool().aliveCount(),
+                sender.pendingRetries(),
+                transport.inFlight(),
+                transport.concurrencyLimit(),
+                sender.circuitState().name(),
+                journal != null ? journal.sizeInBytes() : 0));
+    }
+
+    /**
+     * 링 버퍼에 넣지 못한 이벤트를 호출 스레드에서 바로 인코딩해 저널에 기록
+     */
+    private boolean spillToJournal(ILoggingEvent eventObject) {
+        if (journal == null) {
+            return false;
+        }
         try {
-            // JSON 로그 생성
-            ObjectNode logJson = objectMapper.createObjectNode();
-            logJson.put("@timestamp", DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(event.getTimeStamp())));
-            logJson.put("level", event.getLevel().toString());
-            logJson.put("logger", event.getLoggerName());
-            logJson.put("thread", event.getThreadName());
-            logJson.put("message", event.getFormattedMessage());
-            
-            if (event.getThrowableProxy() != null) {
-                logJson.put("exception", event.getThrowableProxy().getClassName());
-                logJson.put("stacktrace", event.getThrowableProxy().getMessage());
+            LogEventSnapshot snapshot = new LogEventSnapshot();
+            snapshot.copyFrom(eventObject);
+            synchronized (spillEncoder) {
+                int length = spillEncoder.encode(snapshot, indexRouter.actionLine(snapshot.timestamp, snapshot.level));
+                if (!journal.append(spillEncoder.buffer(), 0, length)) {
+                    return false;
+                }
             }
+            metrics.eventsSpilled.increment();
+            return true;
+        } catch (Exception e) {
+            addError("Failed to write log event to journal", e);
+            return false;
+        }
+    }
 
-            // 날짜별 인덱스명 생성 (예: application-logs-2025.12.09)
-            String dateStr = LocalDate.now().format(DATE_FORMATTER);
-            String indexNameWithDate = indexName + "-" + dateStr;
+    /**
+     * overflowPolicy에 따라 링 버퍼에 이벤트를 넣음 (로깅 스레드에서 실행)
+     * 어떤 정책이든 최대 blockTimeoutMs 이상 로깅 스레드를 붙잡지 않음
+     */
+    private boolean offer(ILoggingEvent event) {
+        return switch (overflowPolicy) {
+            case DROP_NEWEST -> ringBuffer.tryPublish(event);
+            case BLOCK -> ringBuffer.publish(event, blockTimeoutNanos);
+            case DROP_BELOW_LEVEL -> {
+                if (ringBuffer.remainingCapacity() <= reservedCapacity
+                        && !event.getLevel().isGreaterOrEqual(overflowLevel)) {
+                    yield false;
+                }
+                yield ringBuffer.publish(event, blockTimeoutNanos);
+            }
+            case SAMPLE -> {
+                if (ringBuffer.remainingCapacity() <= reservedCapacity
+                        && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                    yield false;
+                }
+                yield ringBuffer.tryPublish(event);
+            }
+        };
+    }
 
-            // Elasticsearch로 전송
-            String jsonBody = objectMapper.writeValueAsString(logJson);
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(elasticsearchUrl + "/" + indexNameWithDate + "/_doc"))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
+    /**
+     * 전송 스레드 루프
+     * 배치가 batchSize / batchMaxBytes에 도달하거나 lingerMs가 지나면 flush
+     */
+    private void runSender() {
+        batch = new BulkBatch(bufferPool);
+        encoder = new LogDocumentEncoder(4096, stackTraceCache);
+        lastDropReportNanos = System.nanoTime();
+        lastMetricsNanos = lastDropReportNanos;
+        // nanoTime()은 음수일 수도 있으므로 0이 아니라 현재 시각을 기준점으로 둠 (비교는 모두 차이로 함)
+        lastSuppressionSweepNanos = lastDropReportNanos;
+        nextSniffNanos = lastDropReportNanos;
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
 
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        while (running || !ringBuffer.isEmpty()) {
+            try {
+                if (!ringBuffer.poll(batchAppender)) {
+                    ringBuffer.awaitEvents(batch.remainingLingerNanos(lingerNanos));
+                }
+                if (batch.count() >= batchSize || batch.sizeInBytes() >= batchMaxBytes
+                        || batch.lingerExpired(lingerNanos)) {
+                    flush(batch);
+                }
+                if (running) {
+                    sender.replayJournal(batchSize, batchMaxBytes);
+                }
+                sniffNodes();
+                addSuppressionSummaries(false);
+                reportDroppedEvents();
+                addMetricsSummary();
+            } catch (Exception e) {
+                addError("Failed to send log to Elasticsearch", e);
+            }
+        }
+        addSuppressionSummaries(true);
+        flush(batch);
+        batch.release();
+        reportDroppedEvents();
+    }
+
+    /**
+     * 억제 구간이 끝난 템플릿마다 repeat_count 요약 문서를 배치에 추가 (suppressionWindowMs마다, 종료 시에는 남은 것 전부)
+     */
+    private void addSuppressionSummaries(boolean all) {
+        long now = System.nanoTime();
+        if (suppressor == null || (!all && now - lastSuppressionSweepNanos < TimeUnit.MILLISECONDS.toNanos(suppressionWindowMs))) {
+            return;
+        }
+        lastSuppressionSweepNanos = now;
+        suppressor.drainSummaries(all ? Long.MAX_VALUE : System.currentTimeMillis(), summary -> {
+            summarySnapshot.copyFrom(summary.lastEvent());
+            summarySnapshot.repeatCount = summary.repeatCount();
+            addToBatch(summarySnapshot);
+            summarySnapshot.clear();
+        });
+    }
+
+    private void addToBatch(LogEventSnapshot event) {
+        try {
+            int length = encoder.encode(event, indexRouter.actionLine(event.timestamp, event.level));
+            if (!batch.fits(length, batchMaxBytes)) {
+                flush(batch);
+            }
+            batch.add(encoder.buffer(), 0, length);
+        } catch (Exception e) {
+            addError("Failed to encode log event", e);
+        }
+    }
 
+    private void reportDroppedEvents() {
+        long now = System.nanoTime();
+        if (now - lastDropReportNanos < DROP_REPORT_INTERVAL_NANOS && running) {
+            return;
+        }
+        lastDropReportNanos = now;
+        long total = metrics.eventsDropped.sum();
+        long dropped = total - reportedDroppedEvents;
+        reportedDroppedEvents = total;
+        if (dropped > 0) {
+            addWarn("Dropped " + dropped + " log events (buffer full or delivery failed, policy: " + overflowPolicy + ")");
+        }
+    }
+
+    /**
+     * metricsIntervalMs마다 지표 요약 문서를 로그와 같은 배치에 넣어 전송 (event.dataset: appender.metrics)
+     */
+    private void addMetricsSummary() throws Exception {
+        long now = System.nanoTime();
+        if (metricsIntervalMs <= 0 || now - lastMetricsNanos < TimeUnit.MILLISECONDS.toNanos(metricsIntervalMs)) {
+            return;
+        }
+        lastMetricsNanos = now;
+        Map<String, Object> document = new LinkedHashMap<>();
+        long nowMillis = System.currentTimeMillis();
+        document.put("@timestamp", Instant.ofEpochMilli(nowMillis).toString());
+        document.put("level", "INFO");
+        document.put("logger", ElasticsearchAppender.class.getName());
+        document.put("message", "Elasticsearch appender metrics");
+        document.put("event.dataset", "appender.metrics");
+        document.put("appender.name", getName());
+        document.put("appender.metrics", metricsSnapshot());
+
+        byte[] action = indexRouter.actionLine(nowMillis, Level.INFO);
+        byte[] source = objectMapper.writeValueAsBytes(document);
+        byte[] item = new byte[action.length + source.length + 1];
+        System.arraycopy(action, 0, item, 0, action.length);
+        System.arraycopy(source, 0, item, action.length, source.length);
+        item[item.length - 1] = '\n';
+        if (!batch.fits(item.length, batchMaxBytes)) {
+            flush(batch);
+        }
+        batch.add(item);
+    }
+
+    /**
+     * 같은 이름의 Appender가 이미 등록돼 있으면 (컨텍스트 재설정 등) 교체
+     */
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("kevin.elasticsearch.logging:type=ElasticsearchAppender,name="
+                    + ObjectName.quote(getName() != null ? getName() : "default"));
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new JmxView(), name);
+            this.jmxName = name;
         } catch (Exception e) {
-            addError("Failed to send log to Elasticsearch", e);
+            addWarn("Failed to register appender metrics MBean", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        if (jmxName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(jmxName);
+        } catch (Exception e) {
+            addWarn("Failed to unregister appender metrics MBean", e);
+        }
+        jmxName = null;
+    }
+
+    /**
+     * sniffIntervalMs마다 _nodes/http로 노드 목록 갱신 (응답은 HTTP 스레드에서 비동기로 반영)
+     * 실패하면 기존 목록을 그대로 사용
+     */
+    private void sniffNodes() throws InterruptedException {
+        long now = System.nanoTime();
+        if (sniffIntervalMs <= 0 || now - nextSniffNanos < 0 || !sniffInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<List<String>> discovery = nodeSniffer.sniff();
+        if (discovery == null) {
+            sniffInFlight.set(false);
+            return;
+        }
+        nextSniffNanos = now + TimeUnit.MILLISECONDS.toNanos(sniffIntervalMs);
+        discovery.whenComplete((urls, e) -> {
+            if (e != null) {
+                addWarn("Failed to discover Elasticsearch nodes, keeping " + transport.nodePool().nodes(), e);
+            }
+            sniffInFlight.set(false);
+        });
+    }
+
+    /**
+     * index template 설치 요청을 보내고 바로 반환 (start()에서 호출, 응답은 HTTP 스레드에서 처리)
+     * 실패하면 경고만 남기고 전송은 계속하며, 지수 백오프 후 다시 시도 (종료되면 중단)
+     * 설치 전에 만들어진 인덱스는 dynamic mapping을 쓰고, 템플릿은 다음 인덱스(다음 날, rollover)부터 적용됨
+     */
+    private void installIndexTemplate(IndexTemplateInstaller installer, RetryPolicy retryPolicy, int attempt) {
+        if (!running) {
+            return;
+        }
+        installer.install(indexName, errorIndexName, refreshInterval).whenComplete((ignored, e) -> {
+            if (e == null || !running) {
+                return;
+            }
+            long delayNanos = retryPolicy.delayNanos(attempt);
+            addWarn("Failed to install Elasticsearch index template, retrying in "
+                    + TimeUnit.NANOSECONDS.toMillis(delayNanos) + "ms (logs use dynamic mapping until it succeeds)", e);
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                    .execute(() -> installIndexTemplate(installer, retryPolicy, attempt + 1));
+        });
+    }
+
+    private void flush(BulkBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        sender.send(batch.detach(), running);
+    }
+
+    /**
+     * JMX 속성 조회 시마다 스냅샷을 새로 만듦 (조회 빈도가 낮으므로 캐시하지 않음)
+     */
+    private class JmxView implements ElasticsearchAppenderMXBean {
+
+        @Override
+        public long getEventsAccepted() {
+            return metrics.eventsAccepted.sum();
+        }
+
+        @Override
+        public long getEventsDropped() {
+            return metrics.eventsDropped.sum();
+        }
+
+        @Override
+        public long getEventsSuppressed() {
+            return metrics.eventsSuppressed.sum();
+        }
+
+        @Override
+        public long getEventsSpilled() {
+            return metrics.eventsSpilled.sum();
+        }
+
+        @Override
+        public long getEventsDelivered() {
+            return metrics.eventsDelivered.sum();
+        }
+
+        @Override
+        public long getEventsFailed() {
+            return metrics.eventsFailed.sum();
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return ringBuffer.size();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return ringBuffer.capacity();
+        }
+
+        @Override
+        public long getBatchesSent() {
+            return metrics.batchesSent.sum();
+        }
+
+        @Override
+        public long getBytesSent() {
+            return metrics.bytesSent.sum();
+        }
+
+        @Override
+        public long getBatchSizeP50() {
+            return metrics.batchSizes.percentile(50);
+        }
+
+        @Override
+        public long getBatchSizeP99() {
+            return metrics.batchSizes.percentile(99);
+        }
+
+        @Override
+        public double getFlushLatencyP50Ms() {
+            return metrics.flushLatencyMicros.percentile(50) / 1000.0;
+        }
+
+        @Override
+        public double getFlushLatencyP95Ms() {
+            return metrics.flushLatencyMicros.percentile(95) / 1000.0;
+        }
+
+        @Override
+        public double getFlushLatencyP99Ms() {
+            return metrics.flushLatencyMicros.percentile(99) / 1000.0;
+        }
+
+        @Override
+        public double getFlushLatencyMaxMs() {
+            return metrics.flushLatencyMicros.max() / 1000.0;
+        }
+
+        @Override
+        public long getRetries() {
+            return metrics.retries.sum();
+        }
+
+        @Override
+        public int getPendingRetries() {
+            return sender.pendingRetries();
+        }
+
+        @Override
+        public int getInFlightRequests() {
+            return transport.inFlight();
+        }
+
+        @Override
+        public int getConcurrencyLimit() {
+            return transport.concurrencyLimit();
+        }
+
+        @Override
+        public String getCircuitState() {
+            return sender.circuitState().name();
+        }
+
+        @Override
+        public int getTotalNodes() {
+            return transport.nodePool().nodes().size();
+        }
+
+        @Override
+        public int getAliveNodes() {
+            return transport.nodePool().aliveCount();
+        }
+
+        @Override
+        public long getJournalBytes() {
+            return journal != null ? journal.sizeInBytes() : 0;
         }
     }
 
@@ -87,7 +584,147 @@ public class ElasticsearchAppender extends AppenderBase<ILoggingEvent> {
         this.elasticsearchUrl = elasticsearchUrl;
     }
 
+    public void setNodeSelection(String nodeSelection) {
+        this.nodeSelection = NodePool.Selection.valueOf(nodeSelection.trim().toUpperCase().replace('-', '_'));
+    }
+
+    public void setSniffIntervalMs(long sniffIntervalMs) {
+        this.sniffIntervalMs = sniffIntervalMs;
+    }
+
+    public void setDeadNodeBackoffMs(long deadNodeBackoffMs) {
+        this.deadNodeBackoffMs = deadNodeBackoffMs;
+    }
+
     public void setIndexName(String indexName) {
         this.indexName = indexName;
     }
+
+    public void setIndexMode(String indexMode) {
+        this.indexMode = IndexRouter.Mode.valueOf(indexMode.trim().toUpperCase().replace('-', '_'));
+    }
+
+    public void setErrorIndexName(String errorIndexName) {
+        this.errorIndexName = errorIndexName;
+    }
+
+    public void setInstallIndexTemplate(boolean installIndexTemplate) {
+        this.installIndexTemplate = installIndexTemplate;
+    }
+
+    public void setRefreshInterval(String refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setBatchMaxBytes(int batchMaxBytes) {
+        this.batchMaxBytes = batchMaxBytes;
+    }
+
+    public void setLingerMs(long lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase());
+    }
+
+    public void setBlockTimeoutMs(long blockTimeoutMs) {
+        this.blockTimeoutMs = blockTimeoutMs;
+    }
+
+    public void setOverflowLevel(String overflowLevel) {
+        this.overflowLevel = Level.toLevel(overflowLevel, Level.WARN);
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    public void setJournalDir(String journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    public void setJournalSegmentBytes(int journalSegmentBytes) {
+        this.journalSegmentBytes = journalSegmentBytes;
+    }
+
+    public void setJournalMaxBytes(long journalMaxBytes) {
+        this.journalMaxBytes = journalMaxBytes;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public void setRequestTimeoutMs(long requestTimeoutMs) {
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public void setMaxInFlightRequests(int maxInFlightRequests) {
+        this.maxInFlightRequests = Math.max(1, maxInFlightRequests);
+    }
+
+    public void setRetryMaxAttempts(int retryMaxAttempts) {
+        this.retryMaxAttempts = retryMaxAttempts;
+    }
+
+    public void setRetryBaseDelayMs(long retryBaseDelayMs) {
+        this.retryBaseDelayMs = retryBaseDelayMs;
+    }
+
+    public void setRetryMaxDelayMs(long retryMaxDelayMs) {
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+        this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public void setCircuitOpenMs(long circuitOpenMs) {
+        this.circuitOpenMs = circuitOpenMs;
+    }
+
+    public void setCircuitMaxOpenMs(long circuitMaxOpenMs) {
+        this.circuitMaxOpenMs = circuitMaxOpenMs;
+    }
+
+    public void setMetricsIntervalMs(long metricsIntervalMs) {
+        this.metricsIntervalMs = metricsIntervalMs;
+    }
+
+    public void setSuppressionEnabled(boolean suppressionEnabled) {
+        this.suppressionEnabled = suppressionEnabled;
+    }
+
+    public void setSuppressionWindowMs(long suppressionWindowMs) {
+        this.suppressionWindowMs = suppressionWindowMs;
+    }
+
+    public void setMaxRepeatsPerWindow(int maxRepeatsPerWindow) {
+        this.maxRepeatsPerWindow = maxRepeatsPerWindow;
+    }
+
+    public void setLevelRateLimits(String levelRateLimits) {
+        this.levelRateLimits = levelRateLimits;
+    }
+
+    public void setStackTraceCacheSize(int stackTraceCacheSize) {
+        this.stackTraceCacheSize = Math.max(1, stackTraceCacheSize);
+    }
+
+    public void setStackTraceDedupWindowMs(long stackTraceDedupWindowMs) {
+        this.stackTraceDedupWindowMs = stackTraceDedupWindowMs;
+    }
 }
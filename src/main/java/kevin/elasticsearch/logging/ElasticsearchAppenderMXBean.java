@@ -0,0 +1,56 @@
+package kevin.elasticsearch.logging;
+
+/**
+ * JMX로 노출하는 ElasticsearchAppender 지표
+ * ObjectName: kevin.elasticsearch.logging:type=ElasticsearchAppender,name=<appender 이름>
+ */
+public interface ElasticsearchAppenderMXBean {
+
+    long getEventsAccepted();
+
+    long getEventsDropped();
+
+    long getEventsSuppressed();
+
+    long getEventsSpilled();
+
+    long getEventsDelivered();
+
+    long getEventsFailed();
+
+    int getQueueDepth();
+
+    int getQueueCapacity();
+
+    long getBatchesSent();
+
+    long getBytesSent();
+
+    long getBatchSizeP50();
+
+    long getBatchSizeP99();
+
+    double getFlushLatencyP50Ms();
+
+    double getFlushLatencyP95Ms();
+
+    double getFlushLatencyP99Ms();
+
+    double getFlushLatencyMaxMs();
+
+    long getRetries();
+
+    int getPendingRetries();
+
+    int getInFlightRequests();
+
+    int getConcurrencyLimit();
+
+    String getCircuitState();
+
+    int getTotalNodes();
+
+    int getAliveNodes();
+
+    long getJournalBytes();
+}
@@ -0,0 +1,220 @@
+package kevin.elasticsearch.logging;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Appender가 Elasticsearch와 통신하는 HTTP 전송 계층
+ * - HTTP/2 우선 사용 (클러스터가 지원하지 않으면 HTTP/1.1 keep-alive 연결 재사용)
+ * - 연결/요청 타임아웃
+ * - compressionThreshold 이상인 요청 본문은 gzip 압축, 응답도 gzip으로 받음
+ * - 동시에 전송 중인 요청 수 제한 (AIMD: 과부하 신호를 받으면 줄이고 성공하면 다시 늘림)
+ * - 요청마다 NodePool에서 노드를 골라 보내고, 연결 실패/게이트웨이 오류가 난 노드는 잠시 제외
+ */
+final class ElasticsearchTransport {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_SIZE = 8;
+
+    private final NodePool nodePool;
+    private final Duration requestTimeout;
+    private final int compressionThreshold;
+    private final AimdConcurrencyLimiter limiter;
+    private final BufferPool bufferPool;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    // 압축은 전송 스레드에서만 일어나지만 재사용 객체를 보호하기 위해 synchronized로 감쌈
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final CRC32 crc32 = new CRC32();
+
+    ElasticsearchTransport(String baseUrl, Settings settings, BufferPool bufferPool) {
+        this(new NodePool(NodePool.parseUrls(baseUrl), NodePool.Selection.ROUND_ROBIN, 1000), settings, bufferPool);
+    }
+
+    ElasticsearchTransport(NodePool nodePool, Settings settings, BufferPool bufferPool) {
+        this.nodePool = nodePool;
+        this.requestTimeout = Duration.ofMillis(settings.requestTimeoutMs());
+        this.compressionThreshold = settings.compressionThreshold();
+        this.limiter = new AimdConcurrencyLimiter(1, settings.maxInFlightRequests());
+        this.bufferPool = bufferPool;
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "es-log-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(settings.connectTimeoutMs()))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * 동시 요청 수 제한 안에서 요청을 보냄
+     * waitNanos 동안 빈 자리가 나지 않으면 보내지 않고 null을 반환 (호출 측에서 저널 기록 등으로 처리)
+     * body는 반환된 future가 완료될 때까지 호출 측이 유지해야 함
+     */
+    CompletableFuture<TransportResponse> trySend(String method, String path, byte[] body, int length,
+                                                 String contentType, long waitNanos) throws InterruptedException {
+        if (!limiter.tryAcquire(waitNanos)) {
+            return null;
+        }
+        try {
+            return send(method, path, body, length, contentType);
+        } catch (RuntimeException e) {
+            limiter.release(false);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<TransportResponse> send(String method, String path, byte[] body, int length,
+                                                      String contentType) {
+        NodePool.Node node = nodePool.select();
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(node.url + path))
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip");
+
+        GzipBody compressed = null;
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else if (compressionThreshold >= 0 && length >= compressionThreshold) {
+            compressed = gzip(body, length, bufferPool.acquire());
+            builder.header("Content-Type", contentType)
+                    .header("Content-Encoding", "gzip")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(compressed.buffer(), 0, compressed.length()));
+        } else {
+            builder.header("Content-Type", contentType)
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(body, 0, length));
+        }
+
+        byte[] compressedBuffer = compressed != null ? compressed.buffer() : null;
+        node.inFlight.incrementAndGet();
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(ElasticsearchTransport::toTransportResponse)
+                .whenComplete((response, e) -> {
+                    bufferPool.release(compressedBuffer);
+                    node.inFlight.decrementAndGet();
+                    if (e != null || isNodeFailure(response.statusCode())) {
+                        nodePool.markDead(node);
+                    } else {
+                        nodePool.markAlive(node);
+                    }
+                    // 연결 실패/타임아웃이나 429/503은 과부하로 보고 동시 요청 한도를 줄임
+                    limiter.release(e != null || RetryPolicy.isOverloadStatus(response.statusCode()));
+                });
+    }
+
+    /**
+     * 노드 자체에 문제가 있다고 볼 상태 (프록시/게이트웨이 오류)
+     * 429/503은 클러스터 과부하이므로 다른 노드로 돌려도 소용없어 노드를 제외하지 않음
+     */
+    private static boolean isNodeFailure(int status) {
+        return status == 502 || status == 504;
+    }
+
+    NodePool nodePool() {
+        return nodePool;
+    }
+
+    /**
+     * 응답은 정상이지만 bulk 항목이 과부하로 거절된 경우 동시 요청 한도를 줄임
+     */
+    void reportOverload() {
+        limiter.onOverload();
+    }
+
+    int inFlight() {
+        return limiter.inFlight();
+    }
+
+    int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    void close() {
+        executor.shutdown();
+        synchronized (this) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * gzip 형식(헤더 + raw deflate + CRC32/길이 trailer)으로 out 버퍼에 압축
+     * Deflater와 출력 버퍼를 재사용해 요청마다 GZIPOutputStream을 만들지 않음
+     */
+    private synchronized GzipBody gzip(byte[] body, int length, byte[] out) {
+        deflater.reset();
+        deflater.setInput(body, 0, length);
+        deflater.finish();
+        crc32.reset();
+        crc32.update(body, 0, length);
+
+        System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+        int pos = GZIP_HEADER.length;
+        while (!deflater.finished()) {
+            if (pos == out.length) {
+                out = Arrays.copyOf(out, out.length * 2);
+            }
+            pos += deflater.deflate(out, pos, out.length - pos);
+        }
+        if (pos + GZIP_TRAILER_SIZE > out.length) {
+            out = Arrays.copyOf(out, pos + GZIP_TRAILER_SIZE);
+        }
+        pos = writeIntLE((int) crc32.getValue(), out, pos);
+        pos = writeIntLE(length, out, pos);
+        return new GzipBody(out, pos);
+    }
+
+    private static int writeIntLE(int value, byte[] out, int pos) {
+        out[pos++] = (byte) value;
+        out[pos++] = (byte) (value >>> 8);
+        out[pos++] = (byte) (value >>> 16);
+        out[pos++] = (byte) (value >>> 24);
+        return pos;
+    }
+
+    private static TransportResponse toTransportResponse(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (gzipped && body.length > 0) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to decompress Elasticsearch response", e);
+            }
+        }
+        return new TransportResponse(response.statusCode(), body);
+    }
+
+    /**
+     * 전송 계층 설정 (logback XML 프로퍼티에서 주입)
+     * compressionThreshold: 이 크기(bytes) 이상이면 gzip 압축, 음수면 압축하지 않음
+     */
+    record Settings(long connectTimeoutMs, long requestTimeoutMs, int compressionThreshold, int maxInFlightRequests) {
+    }
+
+    private record GzipBody(byte[] buffer, int length) {
+    }
+
+    /**
+     * 상태 코드와 (압축이 풀린) 응답 본문
+     */
+    record TransportResponse(int statusCode, byte[] body) {
+    }
+}
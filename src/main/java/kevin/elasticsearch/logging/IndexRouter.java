@@ -0,0 +1,89 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 이벤트별 bulk action 라인을 결정
+ * - DAILY: 이벤트 타임스탬프 기준 날짜 인덱스 (예: application-logs-2025.12.09)에 index
+ * - DATA_STREAM: 데이터 스트림(예: application-logs)에 create (롤오버는 Elasticsearch가 관리)
+ * errorIndexName을 설정하면 ERROR 이벤트는 별도 인덱스/스트림으로 보냄
+ * action 라인은 날짜별로 한 번만 만들어 캐시하며, 전송 스레드와 로깅 스레드에서 함께 호출해도 안전함
+ */
+final class IndexRouter {
+
+    enum Mode {
+        DAILY, DATA_STREAM
+    }
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    private final Mode mode;
+    private final ZoneId zone;
+    private final Target logs;
+    private final Target errors;
+
+    IndexRouter(Mode mode, String indexName, String errorIndexName, ZoneId zone) {
+        this.mode = mode;
+        this.zone = zone;
+        this.logs = new Target(indexName);
+        this.errors = errorIndexName != null && !errorIndexName.isBlank() ? new Target(errorIndexName) : null;
+    }
+
+    /**
+     * 이벤트를 보낼 action 라인 ('\n' 포함)
+     */
+    byte[] actionLine(long timestampMillis, Level level) {
+        Target target = errors != null && level != null && level.isGreaterOrEqual(Level.ERROR) ? errors : logs;
+        return target.actionLine(timestampMillis);
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    /**
+     * 인덱스 하나(일반 로그 또는 ERROR 로그)의 action 라인 캐시
+     */
+    private final class Target {
+
+        private final String name;
+        private volatile CachedLine cached;
+
+        private Target(String name) {
+            this.name = name;
+            if (mode == Mode.DATA_STREAM) {
+                // 데이터 스트림은 create만 허용하며 이름이 바뀌지 않으므로 한 번만 만듦
+                this.cached = new CachedLine(line("create", name), Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+        }
+
+        byte[] actionLine(long timestampMillis) {
+            CachedLine line = cached;
+            if (line == null || timestampMillis < line.validFromMillis() || timestampMillis >= line.validUntilMillis()) {
+                // 자정 전후로 늦게 도착한 이벤트도 자기 타임스탬프의 날짜 인덱스로 감
+                LocalDate date = Instant.ofEpochMilli(timestampMillis).atZone(zone).toLocalDate();
+                line = new CachedLine(line("index", name + "-" + date.format(DATE_FORMATTER)),
+                        date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                        date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+                cached = line;
+            }
+            return line.bytes();
+        }
+    }
+
+    private static byte[] line(String action, String index) {
+        return ("{\"" + action + "\":{\"_index\":\"" + index + "\"}}\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * validFromMillis ~ validUntilMillis 타임스탬프의 이벤트에 쓰는 action 라인
+     */
+    private record CachedLine(byte[] bytes, long validFromMillis, long validUntilMillis) {
+    }
+}
@@ -0,0 +1,102 @@
+package kevin.elasticsearch.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 로그 인덱스용 composable index template(PUT _index_template)을 설치
+ * dynamic mapping에 맡기면 모든 문자열이 text + keyword로 잡혀 필드가 불어나므로
+ * 주요 필드는 명시적으로 매핑하고, 그 밖의 문자열은 keyword로만 매핑함
+ * ERROR 전용 인덱스는 대시보드가 바로 보도록 refresh 간격을 짧게 둔 별도 템플릿을 사용
+ */
+final class IndexTemplateInstaller {
+
+    private static final String ERROR_REFRESH_INTERVAL = "1s";
+    private static final int TEMPLATE_PRIORITY = 200;
+
+    private final ElasticsearchTransport transport;
+    private final ObjectMapper objectMapper;
+    private final IndexRouter.Mode mode;
+
+    IndexTemplateInstaller(ElasticsearchTransport transport, ObjectMapper objectMapper, IndexRouter.Mode mode) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.mode = mode;
+    }
+
+    /**
+     * indexName(및 설정된 경우 errorIndexName) 템플릿을 설치/갱신
+     * 이미 같은 이름의 템플릿이 있으면 덮어씀 (PUT은 멱등)
+     * 호출 스레드를 막지 않고, 요청 결과는 반환된 future로 알림 (동시 요청 한도가 차 있으면 바로 실패)
+     */
+    CompletableFuture<Void> install(String indexName, String errorIndexName, String refreshInterval) {
+        CompletableFuture<Void> installation = put(indexName, refreshInterval);
+        if (errorIndexName != null && !errorIndexName.isBlank()) {
+            installation = installation.thenCompose(ignored -> put(errorIndexName, ERROR_REFRESH_INTERVAL));
+        }
+        return installation;
+    }
+
+    private CompletableFuture<Void> put(String name, String refreshInterval) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(template(name, refreshInterval));
+            CompletableFuture<ElasticsearchTransport.TransportResponse> response = transport.trySend(
+                    "PUT", "/_index_template/" + name, body, body.length, "application/json", 0);
+            if (response == null) {
+                throw new IllegalStateException("No connection available to install index template " + name);
+            }
+            return response.thenAccept(result -> {
+                if (result.statusCode() >= 300) {
+                    throw new IllegalStateException("Failed to install index template " + name + ": HTTP "
+                            + result.statusCode() + " " + new String(result.body(), StandardCharsets.UTF_8));
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    ObjectNode template(String name, String refreshInterval) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode patterns = root.putArray("index_patterns");
+        if (mode == IndexRouter.Mode.DATA_STREAM) {
+            patterns.add(name);
+            root.putObject("data_stream");
+        } else {
+            patterns.add(name + "-*");
+        }
+        root.put("priority", TEMPLATE_PRIORITY);
+
+        ObjectNode template = root.putObject("template");
+        template.putObject("settings").put("index.refresh_interval", refreshInterval);
+
+        ObjectNode mappings = template.putObject("mappings");
+        ObjectNode stringsAsKeywords = mappings.putArray("dynamic_templates").addObject().putObject("strings_as_keywords");
+        stringsAsKeywords.put("match_mapping_type", "string");
+        stringsAsKeywords.putObject("mapping").put("type", "keyword").put("ignore_above", 1024);
+
+        ObjectNode properties = mappings.putObject("properties");
+        properties.putObject("@timestamp").put("type", "date");
+        properties.putObject("level").put("type", "keyword");
+        properties.putObject("logger").put("type", "keyword");
+        properties.putObject("thread").put("type", "keyword");
+        properties.putObject("message").put("type", "text");
+        properties.putObject("exception").put("type", "keyword");
+        properties.putObject("repeat_count").put("type", "long");
+        properties.putObject("stacktrace").put("type", "text").put("norms", false);
+        ObjectNode error = properties.putObject("error").putObject("properties");
+        error.putObject("message").put("type", "text");
+        error.putObject("fingerprint").put("type", "keyword");
+        properties.putObject("event").putObject("properties").putObject("dataset").put("type", "keyword");
+
+        root.putObject("_meta").put("managed_by", ElasticsearchAppender.class.getName());
+        return root;
+    }
+}
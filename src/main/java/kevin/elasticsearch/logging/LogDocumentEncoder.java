@@ -0,0 +1,238 @@
+package kevin.elasticsearch.logging;
+
+import org.slf4j.event.KeyValuePair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 로그 이벤트를 bulk 항목(action 라인 + 문서 라인) UTF-8 바이트로 직접 기록하는 스트리밍 인코더
+ * Jackson 트리나 중간 String을 만들지 않고 재사용하는 내부 버퍼에 바로 쓰므로
+ * 정상 상태에서는 이벤트당 힙 할당이 거의 없음
+ * SLF4J key-value(addKeyValue)는 문서의 최상위 필드로 기록 (숫자/boolean은 JSON 값 그대로)
+ * 예외는 전체 스택트레이스(cause 체인 포함)를 fingerprint별로 캐시해두고, 최근에 보낸 fingerprint면 trace 없이 fingerprint만 기록
+ * 상태를 가지므로 한 스레드에서만 사용해야 함
+ */
+final class LogDocumentEncoder {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    // 캐시를 따로 넘기지 않을 때의 기본값
+    private static final int DEFAULT_STACK_TRACE_CACHE_SIZE = 256;
+    private static final long DEFAULT_DEDUP_WINDOW_MS = 60_000;
+
+    private final CachedTimestampFormatter timestampFormatter = new CachedTimestampFormatter();
+    private final StackTraceCache stackTraceCache;
+    private byte[] buffer;
+    private int size;
+
+    LogDocumentEncoder(int initialCapacity) {
+        this(initialCapacity, new StackTraceCache(DEFAULT_STACK_TRACE_CACHE_SIZE, DEFAULT_DEDUP_WINDOW_MS));
+    }
+
+    LogDocumentEncoder(int initialCapacity, StackTraceCache stackTraceCache) {
+        this.buffer = new byte[initialCapacity];
+        this.stackTraceCache = stackTraceCache;
+    }
+
+    /**
+     * actionLine('\n' 포함) 뒤에 이벤트 문서 라인을 이어 기록하고 전체 길이를 반환
+     * 결과는 buffer()의 0 ~ 길이 구간이며 다음 encode 호출 시 덮어써짐
+     */
+    int encode(LogEventSnapshot event, byte[] actionLine) {
+        size = 0;
+        writeRaw(actionLine);
+
+        writeByte('{');
+        writeFieldName("@timestamp", true);
+        ensureCapacity(CachedTimestampFormatter.LENGTH + 2);
+        buffer[size++] = '"';
+        size = timestampFormatter.format(event.timestamp, buffer, size);
+        buffer[size++] = '"';
+
+        writeStringField("level", event.level.toString());
+        writeStringField("logger", event.loggerName);
+        writeStringField("thread", event.threadName);
+        writeStringField("message", event.message);
+
+        if (event.repeatCount > 0) {
+            writeFieldName("repeat_count", false);
+            writeLong(event.repeatCount);
+        }
+        if (event.keyValuePairs != null) {
+            for (int i = 0; i < event.keyValuePairs.size(); i++) {
+                writeKeyValue(event.keyValuePairs.get(i));
+            }
+        }
+        if (event.throwableProxy != null) {
+            StackTraceCache.Entry trace = stackTraceCache.resolve(event.throwableProxy);
+            writeStringField("exception", event.throwableProxy.getClassName());
+            writeStringField("error.message", event.throwableProxy.getMessage());
+            writeStringField("error.fingerprint", trace.fingerprint);
+            if (stackTraceCache.markSent(trace, event.timestamp)) {
+                // 창마다 한 번만 렌더링하며, 메시지는 이 이벤트의 것을 씀
+                writeStringField("stacktrace", StackTraceCache.render(event.throwableProxy));
+            }
+        }
+        writeByte('}');
+        writeByte('\n');
+        return size;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    private void writeStringField(String name, String value) {
+        writeFieldName(name, false);
+        writeString(value);
+    }
+
+    private void writeKeyValue(KeyValuePair pair) {
+        if (pair.key == null || isReservedField(pair.key)) {
+            // 같은 이름의 필드가 두 번 나오면 Elasticsearch가 문서를 거부하므로 건너뜀
+            return;
+        }
+        writeFieldName(pair.key, false);
+        Object value = pair.value;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Number number && Double.isFinite(number.doubleValue())) {
+            writeRaw(number.toString().getBytes(StandardCharsets.US_ASCII));
+        } else if (value instanceof Boolean bool) {
+            writeRaw(bool ? TRUE : FALSE);
+        } else {
+            writeString(value != null ? value.toString() : null);
+        }
+    }
+
+    /**
+     * 인코더가 직접 쓰는 필드 (이벤트에 따라 생략되는 필드도 포함)
+     */
+    private static boolean isReservedField(String key) {
+        return switch (key) {
+            case "@timestamp", "level", "logger", "thread", "message", "repeat_count",
+                 "exception", "error.message", "error.fingerprint", "stacktrace" -> true;
+            default -> false;
+        };
+    }
+
+    private void writeFieldName(String name, boolean first) {
+        if (!first) {
+            writeByte(',');
+        }
+        writeString(name);
+        writeByte(':');
+    }
+
+    /**
+     * JSON 문자열로 이스케이프하면서 UTF-8로 인코딩
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            writeRaw(NULL);
+            return;
+        }
+        int length = value.length();
+        // 최악의 경우 문자 하나가 \\u00XX(6바이트)가 되므로 미리 확보
+        ensureCapacity(length * 6 + 2);
+        byte[] out = buffer;
+        int pos = size;
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    out[pos++] = '\\';
+                    out[pos++] = (byte) c;
+                } else if (c >= 0x20) {
+                    out[pos++] = (byte) c;
+                } else {
+                    pos = writeControlChar(c, out, pos);
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 맞지 않는 surrogate는 U+FFFD로 대체
+                out[pos++] = (byte) 0xEF;
+                out[pos++] = (byte) 0xBF;
+                out[pos++] = (byte) 0xBD;
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[pos++] = '"';
+        size = pos;
+    }
+
+    private void writeLong(long value) {
+        // Long.toString 없이 자릿수만큼 뒤에서부터 기록
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = size + digits;
+        for (int i = 1; i <= digits; i++) {
+            buffer[pos - i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size = pos;
+    }
+
+    private static int writeControlChar(char c, byte[] out, int pos) {
+        out[pos++] = '\\';
+        switch (c) {
+            case '\n' -> out[pos++] = 'n';
+            case '\r' -> out[pos++] = 'r';
+            case '\t' -> out[pos++] = 't';
+            case '\b' -> out[pos++] = 'b';
+            case '\f' -> out[pos++] = 'f';
+            default -> {
+                out[pos++] = 'u';
+                out[pos++] = '0';
+                out[pos++] = '0';
+                out[pos++] = HEX[c >> 4];
+                out[pos++] = HEX[c & 0xF];
+            }
+        }
+        return pos;
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size + additional, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 로깅 스레드(다수)와 전송 스레드(1개) 사이의 고정 크기 lock-free 링 버퍼
+ * 슬롯(LogEventSnapshot)은 시작 시 한 번만 할당하고 계속 재사용하므로
+ * Elasticsearch가 느려져도 힙 사용량이 늘어나지 않음
+ *
+ * 슬롯별 sequence 값으로 생산자/소비자 순서를 맞추는 방식 (Vyukov bounded queue)
+ * - sequence == pos           : 생산자가 pos 위치에 쓸 수 있음
+ * - sequence == pos + 1       : 생산자가 쓰기를 마쳐 소비자가 읽을 수 있음
+ * - sequence == pos + capacity: 소비자가 읽기를 마쳐 다음 바퀴의 생산자가 쓸 수 있음
+ */
+final class LogEventRingBuffer {
+
+    private final LogEventSnapshot[] slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자는 전송 스레드 하나뿐이므로 head는 CAS 없이 갱신 (size() 조회를 위해 volatile)
+    private volatile long head;
+
+    private volatile Thread consumerThread;
+    private volatile boolean consumerParked;
+
+    LogEventRingBuffer(int requestedCapacity) {
+        this.capacity = nextPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.slots = new LogEventSnapshot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEventSnapshot();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 빈 슬롯이 있으면 이벤트를 스냅샷해 넣고 true, 가득 찼으면 기다리지 않고 false
+     */
+    boolean tryPublish(ILoggingEvent event) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+
+        slots[index].copyFrom(event);
+        // lazySet(release)이면 아래 consumerParked 읽기가 앞당겨질 수 있어, 소비자가 빈 버퍼로 보고 잠든 것을 놓칠 수 있음
+        // volatile 쓰기로 발행해 awaitEvents()의 consumerParked 쓰기 → isEmpty() 읽기와 순서가 맞물리도록 함
+        sequences.set(index, pos + 1);
+
+        if (consumerParked) {
+            LockSupport.unpark(consumerThread);
+        }
+        return true;
+    }
+
+    /**
+     * 빈 슬롯이 생길 때까지 최대 timeoutNanos 동안 재시도
+     */
+    boolean publish(ILoggingEvent event, long timeoutNanos) {
+        if (tryPublish(event)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (tryPublish(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 다음 이벤트 하나를 handler에 넘기고 슬롯을 반납 (전송 스레드 전용)
+     * handler가 반환된 뒤 슬롯이 재사용되므로 스냅샷을 밖으로 보관하면 안 됨
+     */
+    boolean poll(Consumer<LogEventSnapshot> handler) {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return false;
+        }
+        LogEventSnapshot slot = slots[index];
+        try {
+            handler.accept(slot);
+        } finally {
+            slot.clear();
+            head = pos + 1;
+            sequences.lazySet(index, pos + capacity);
+        }
+        return true;
+    }
+
+    /**
+     * 이벤트가 들어오거나 timeoutNanos가 지날 때까지 전송 스레드를 재움
+     */
+    void awaitEvents(long timeoutNanos) {
+        if (timeoutNanos <= 0) {
+            return;
+        }
+        consumerThread = Thread.currentThread();
+        consumerParked = true;
+        try {
+            // park 직전에 들어온 이벤트를 놓치지 않도록 한 번 더 확인
+            if (isEmpty()) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            consumerParked = false;
+        }
+    }
+
+    /**
+     * 종료 시 대기 중인 전송 스레드를 깨움
+     */
+    void wakeUp() {
+        Thread consumer = consumerThread;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    int remainingCapacity() {
+        return capacity - size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        if (value <= 2) {
+            return 2;
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
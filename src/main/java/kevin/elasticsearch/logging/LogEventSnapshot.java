@@ -0,0 +1,51 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * 링 버퍼 슬롯에 미리 할당해두고 재사용하는 로그 이벤트 스냅샷
+ * 로깅 스레드에서 필요한 필드만 복사해두므로 전송 스레드가 원본 ILoggingEvent를 붙잡지 않음
+ * (스레드명, 포맷된 메시지는 호출 스레드에서 계산해야 정확함)
+ */
+final class LogEventSnapshot {
+
+    long timestamp;
+    Level level;
+    String loggerName;
+    String threadName;
+    String message;
+    IThrowableProxy throwableProxy;
+    // LogSuppressor가 묶은 이벤트 수 (요약 문서에만 0보다 큼)
+    int repeatCount;
+    // SLF4J fluent API의 addKeyValue로 붙인 구조화 필드 (없으면 null)
+    List<KeyValuePair> keyValuePairs;
+
+    void copyFrom(ILoggingEvent event) {
+        this.timestamp = event.getTimeStamp();
+        this.level = event.getLevel();
+        this.loggerName = event.getLoggerName();
+        this.threadName = event.getThreadName();
+        this.message = event.getFormattedMessage();
+        this.throwableProxy = event.getThrowableProxy();
+        this.repeatCount = 0;
+        this.keyValuePairs = event.getKeyValuePairs();
+    }
+
+    /**
+     * 전송 스레드가 사용을 마친 뒤 참조를 끊어 GC가 회수할 수 있도록 함
+     */
+    void clear() {
+        this.level = null;
+        this.loggerName = null;
+        this.threadName = null;
+        this.message = null;
+        this.throwableProxy = null;
+        this.repeatCount = 0;
+        this.keyValuePairs = null;
+    }
+}
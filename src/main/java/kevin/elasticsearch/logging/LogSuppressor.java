@@ -0,0 +1,218 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 로그 폭주 억제 단계 (로깅 스레드에서 링 버퍼에 넣기 전에 실행)
+ * - 같은 logger + level + 메시지 템플릿(SLF4J 패턴, 인자 적용 전)은 windowMs 동안 maxRepeatsPerWindow번까지만 통과시키고
+ *   나머지는 세어두었다가 구간이 끝나면 마지막 이벤트에 repeat_count를 붙인 문서 하나로 보냄
+ * - logger + level별 token bucket 예산(초당 이벤트 수)을 넘는 이벤트도 같은 방식으로 묶음
+ * 구간마다 템플릿의 첫 이벤트는 예산과 관계없이 항상 통과시켜 새로운 종류의 로그가 가려지지 않도록 함
+ * (첫 이벤트도 토큰은 소모하므로 새 템플릿이 많이 들어오면 그만큼 같은 logger의 반복 이벤트가 먼저 묶임)
+ * 템플릿 상태는 고정 크기 테이블에 해시로 저장하므로 메모리가 늘지 않으며, 충돌하면 기존 항목을 요약으로 내보내고 교체함
+ */
+final class LogSuppressor {
+
+    private static final int TABLE_SIZE = 4096;
+
+    private final long windowMillis;
+    private final int maxRepeatsPerWindow;
+    // level별 초당 예산 (0 이하이면 제한 없음), 인덱스는 levelIndex()
+    private final double[] ratesPerSecond;
+    private final Slot[] slots = new Slot[TABLE_SIZE];
+    private final Map<String, TokenBucket[]> buckets = new ConcurrentHashMap<>();
+    private final Queue<Summary> summaries = new ConcurrentLinkedQueue<>();
+
+    LogSuppressor(long windowMillis, int maxRepeatsPerWindow, Map<Level, Double> ratesPerSecond) {
+        this.windowMillis = windowMillis;
+        this.maxRepeatsPerWindow = Math.max(1, maxRepeatsPerWindow);
+        this.ratesPerSecond = new double[5];
+        ratesPerSecond.forEach((level, rate) -> this.ratesPerSecond[levelIndex(level)] = rate);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * "INFO=500, WARN=200" 형식의 level별 예산 설정을 파싱
+     */
+    static Map<Level, Double> parseRates(String value) {
+        Map<Level, Double> rates = new HashMap<>();
+        if (value == null) {
+            return rates;
+        }
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length == 2) {
+                rates.put(Level.toLevel(pair[0].trim(), Level.INFO), Double.parseDouble(pair[1].trim()));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * 이벤트를 그대로 보낼지 결정 (false면 호출 측은 이벤트를 버리고, 개수는 다음 요약 문서에 반영됨)
+     */
+    boolean admit(ILoggingEvent event) {
+        String template = event.getMessage() != null ? event.getMessage() : "";
+        String logger = event.getLoggerName() != null ? event.getLoggerName() : "";
+        Level level = event.getLevel();
+        long now = event.getTimeStamp();
+        Slot slot = slots[indexOf(template, logger, level)];
+
+        synchronized (slot) {
+            if (!slot.matches(template, logger, level) || now - slot.windowStartMillis >= windowMillis) {
+                slot.drainTo(summaries);
+                slot.reset(template, logger, level, now);
+            }
+            if (++slot.seen == 1) {
+                // 토큰이 없어도 첫 이벤트는 막지 않음
+                tryAcquire(logger, level, now);
+                return true;
+            }
+            if (slot.seen <= maxRepeatsPerWindow && tryAcquire(logger, level, now)) {
+                return true;
+            }
+            // 요약 문서의 스레드명이 전송 스레드 이름으로 바뀌지 않도록 지금 확정해둠
+            event.getThreadName();
+            slot.last = event;
+            slot.suppressed++;
+            return false;
+        }
+    }
+
+    /**
+     * 구간이 끝난 항목의 요약을 꺼내 handler로 넘김 (전송 스레드에서 주기적으로 호출)
+     */
+    void drainSummaries(long nowMillis, Consumer<Summary> handler) {
+        for (Slot slot : slots) {
+            synchronized (slot) {
+                if (slot.suppressed > 0 && nowMillis - slot.windowStartMillis >= windowMillis) {
+                    slot.drainTo(summaries);
+                }
+            }
+        }
+        Summary summary;
+        while ((summary = summaries.poll()) != null) {
+            handler.accept(summary);
+        }
+    }
+
+    private boolean tryAcquire(String logger, Level level, long nowMillis) {
+        int index = levelIndex(level);
+        double rate = ratesPerSecond[index];
+        if (rate <= 0) {
+            return true;
+        }
+        TokenBucket[] perLevel = buckets.get(logger);
+        if (perLevel == null) {
+            perLevel = new TokenBucket[ratesPerSecond.length];
+            for (int i = 0; i < perLevel.length; i++) {
+                perLevel[i] = new TokenBucket(ratesPerSecond[i]);
+            }
+            TokenBucket[] existing = buckets.putIfAbsent(logger, perLevel);
+            if (existing != null) {
+                perLevel = existing;
+            }
+        }
+        return perLevel[index].tryAcquire(nowMillis);
+    }
+
+    private static int indexOf(String template, String logger, Level level) {
+        int hash = (template.hashCode() * 31 + logger.hashCode()) * 31 + level.levelInt;
+        hash ^= hash >>> 16;
+        return hash & (TABLE_SIZE - 1);
+    }
+
+    private static int levelIndex(Level level) {
+        return switch (level.levelInt) {
+            case Level.ERROR_INT -> 4;
+            case Level.WARN_INT -> 3;
+            case Level.INFO_INT -> 2;
+            case Level.DEBUG_INT -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * 묶인 이벤트 요약: 마지막으로 억제된 이벤트와 억제된 개수
+     */
+    record Summary(ILoggingEvent lastEvent, int repeatCount) {
+    }
+
+    /**
+     * 템플릿 하나의 현재 구간 상태 (slot 객체로 동기화)
+     */
+    private static final class Slot {
+
+        private String template;
+        private String logger;
+        private Level level;
+        private long windowStartMillis;
+        private int seen;
+        private int suppressed;
+        private ILoggingEvent last;
+
+        boolean matches(String template, String logger, Level level) {
+            return this.level == level && template.equals(this.template) && logger.equals(this.logger);
+        }
+
+        void reset(String template, String logger, Level level, long now) {
+            this.template = template;
+            this.logger = logger;
+            this.level = level;
+            this.windowStartMillis = now;
+            this.seen = 0;
+            this.suppressed = 0;
+            this.last = null;
+        }
+
+        void drainTo(Queue<Summary> summaries) {
+            if (suppressed > 0) {
+                summaries.add(new Summary(last, suppressed));
+            }
+            suppressed = 0;
+            last = null;
+        }
+    }
+
+    /**
+     * 초당 rate개씩 채워지고 최대 rate개(1초 분량)까지 쌓이는 token bucket
+     */
+    private static final class TokenBucket {
+
+        private final double ratePerMilli;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillMillis = Long.MIN_VALUE;
+
+        TokenBucket(double ratePerSecond) {
+            this.ratePerMilli = ratePerSecond / TimeUnit.SECONDS.toMillis(1);
+            this.capacity = Math.max(1, ratePerSecond);
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryAcquire(long nowMillis) {
+            if (lastRefillMillis != Long.MIN_VALUE && nowMillis > lastRefillMillis) {
+                tokens = Math.min(capacity, tokens + (nowMillis - lastRefillMillis) * ratePerMilli);
+            }
+            if (nowMillis > lastRefillMillis) {
+                lastRefillMillis = nowMillis;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package kevin.elasticsearch.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * bulk 요청을 보낼 Elasticsearch 노드 목록
+ * - 선택 방식: ROUND_ROBIN(순서대로) 또는 LEAST_IN_FLIGHT(전송 중인 요청이 가장 적은 노드)
+ * - 연결 실패 등으로 실패한 노드는 dead로 표시하고 지수 백오프(최대 1분) 동안 제외
+ * - 살아 있는 노드가 없으면 가장 먼저 백오프가 끝나는 노드를 시험 삼아 사용
+ * 노드 목록은 _nodes/http 조회(NodeSniffer)로 통째로 교체될 수 있으므로 불변 리스트를 volatile로 바꿔 끼움
+ */
+final class NodePool {
+
+    enum Selection {
+        ROUND_ROBIN, LEAST_IN_FLIGHT
+    }
+
+    private static final long MAX_DEAD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Selection selection;
+    private final long deadBaseNanos;
+    private final List<Node> seeds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private volatile List<Node> nodes;
+
+    NodePool(List<String> urls, Selection selection, long deadNodeBackoffMs) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one Elasticsearch node URL is required");
+        }
+        this.selection = selection;
+        this.deadBaseNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, deadNodeBackoffMs));
+        this.seeds = urls.stream().map(Node::new).toList();
+        this.nodes = seeds;
+    }
+
+    /**
+     * "http://es1:9200, http://es2:9200" 형식의 설정값을 URL 목록으로 분리 (끝의 '/' 제거)
+     */
+    static List<String> parseUrls(String value) {
+        List<String> urls = new ArrayList<>();
+        for (String url : value.split(",")) {
+            String trimmed = url.trim();
+            if (trimmed.endsWith("/")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            if (!trimmed.isEmpty()) {
+                urls.add(trimmed);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * 다음 요청을 보낼 노드 선택
+     */
+    Node select() {
+        List<Node> current = nodes;
+        long now = System.nanoTime();
+        Node best = null;
+        int size = current.size();
+        int start = selection == Selection.ROUND_ROBIN ? Math.floorMod(cursor.getAndIncrement(), size) : 0;
+        for (int i = 0; i < size; i++) {
+            Node node = current.get((start + i) % size);
+            if (!node.isAlive(now)) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return node;
+            }
+            if (best == null || node.inFlight.get() < best.inFlight.get()) {
+                best = node;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        // 모두 dead: 가장 먼저 백오프가 끝나는 노드로 복구 여부를 확인
+        for (Node node : current) {
+            if (best == null || node.deadUntilNanos - best.deadUntilNanos < 0) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    void markDead(Node node) {
+        int failures = node.failures.incrementAndGet();
+        long backoff = Math.min(MAX_DEAD_NANOS, deadBaseNanos << Math.min(failures - 1, 20));
+        node.deadUntilNanos = System.nanoTime() + backoff;
+    }
+
+    void markAlive(Node node) {
+        if (node.failures.get() != 0) {
+            node.failures.set(0);
+            node.deadUntilNanos = 0;
+        }
+    }
+
+    /**
+     * sniffing으로 찾은 노드로 목록을 교체 (이미 있던 노드는 상태를 유지)
+     * 빈 목록이 오면 설정에 적힌 seed 노드로 되돌림
+     */
+    void updateNodes(List<String> urls) {
+        if (urls.isEmpty()) {
+            nodes = seeds;
+            return;
+        }
+        List<Node> current = nodes;
+        List<Node> updated = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            Node existing = current.stream().filter(node -> node.url.equals(url)).findFirst().orElse(null);
+            updated.add(existing != null ? existing : new Node(url));
+        }
+        nodes = List.copyOf(updated);
+    }
+
+    List<Node> nodes() {
+        return nodes;
+    }
+
+    int aliveCount() {
+        long now = System.nanoTime();
+        return (int) nodes.stream().filter(node -> node.isAlive(now)).count();
+    }
+
+    /**
+     * 노드 하나의 주소와 상태
+     */
+    static final class Node {
+
+        final String url;
+        final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long deadUntilNanos;
+
+        private Node(String url) {
+            this.url = url;
+        }
+
+        boolean isAlive(long nowNanos) {
+            return failures.get() == 0 || nowNanos - deadUntilNanos >= 0;
+        }
+
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package kevin.elasticsearch.logging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GET _nodes/http 응답으로 HTTP를 받는 노드 주소를 찾아 NodePool을 갱신
+ * publish_address는 "10.0.0.1:9200" 또는 "es1.internal/10.0.0.1:9200" 형식이며, 호스트명이 있으면 호스트명을 사용
+ * (TLS 인증서가 호스트명 기준인 경우가 많으므로) 스킴은 설정된 첫 노드의 스킴을 따름
+ */
+final class NodeSniffer {
+
+    private final ElasticsearchTransport transport;
+    private final ObjectMapper objectMapper;
+    private final String scheme;
+
+    NodeSniffer(ElasticsearchTransport transport, ObjectMapper objectMapper, String scheme) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.scheme = scheme;
+    }
+
+    /**
+     * 비동기로 노드 목록을 조회해 반영 (동시 요청 한도가 차 있으면 이번에는 건너뛰고 null)
+     */
+    CompletableFuture<List<String>> sniff() throws InterruptedException {
+        CompletableFuture<ElasticsearchTransport.TransportResponse> response =
+                transport.trySend("GET", "/_nodes/http", null, 0, null, 0);
+        if (response == null) {
+            return null;
+        }
+        return response.thenApply(r -> {
+            if (r.statusCode() >= 300) {
+                throw new IllegalStateException("Node discovery failed: HTTP " + r.statusCode());
+            }
+            List<String> urls = parse(r.body());
+            if (!urls.isEmpty()) {
+                transport.nodePool().updateNodes(urls);
+            }
+            return urls;
+        });
+    }
+
+    List<String> parse(byte[] body) {
+        List<String> urls = new ArrayList<>();
+        try {
+            Iterator<JsonNode> nodes = objectMapper.readTree(body).path("nodes").elements();
+            while (nodes.hasNext()) {
+                String address = nodes.next().path("http").path("publish_address").asText("");
+                if (!address.isEmpty()) {
+                    urls.add(scheme + "://" + toHostAndPort(address));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to parse _nodes/http response", e);
+        }
+        return urls;
+    }
+
+    private static String toHostAndPort(String publishAddress) {
+        int slash = publishAddress.indexOf('/');
+        if (slash <= 0) {
+            return slash == 0 ? publishAddress.substring(1) : publishAddress;
+        }
+        // "hostname/ip:port" -> "hostname:port"
+        int colon = publishAddress.lastIndexOf(':');
+        return publishAddress.substring(0, slash) + publishAddress.substring(colon);
+    }
+}
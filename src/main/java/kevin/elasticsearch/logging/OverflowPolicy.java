@@ -0,0 +1,28 @@
+package kevin.elasticsearch.logging;
+
+/**
+ * 링 버퍼가 가득 찼을 때(또는 여유가 얼마 남지 않았을 때) 새 이벤트를 처리하는 정책
+ */
+public enum OverflowPolicy {
+
+    /**
+     * 빈 슬롯이 생길 때까지 blockTimeoutMs 동안 기다리고, 그래도 없으면 버림
+     */
+    BLOCK,
+
+    /**
+     * 즉시 새 이벤트를 버림
+     */
+    DROP_NEWEST,
+
+    /**
+     * 버퍼 여유가 적으면 overflowLevel 미만 이벤트를 버리고,
+     * 그 이상 레벨은 BLOCK과 같이 잠시 기다림
+     */
+    DROP_BELOW_LEVEL,
+
+    /**
+     * 버퍼 여유가 적으면 sampleRate 개 중 1개만 받아들이고, 가득 차면 버림
+     */
+    SAMPLE
+}
@@ -0,0 +1,55 @@
+package kevin.elasticsearch.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bulk 전송 재시도 정책
+ * 응답을 재시도 가능/불가로 분류하고, 지수 백오프에 jitter를 적용한 대기 시간을 계산
+ * (여러 인스턴스가 동시에 재시도해 클러스터에 몰리지 않도록 상한의 절반 ~ 상한 사이에서 무작위로 고름)
+ */
+final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, baseDelayMs));
+        this.maxDelayNanos = Math.max(baseDelayNanos, TimeUnit.MILLISECONDS.toNanos(maxDelayMs));
+    }
+
+    /**
+     * attempt번째 시도(0부터)가 실패한 뒤 다시 시도할 수 있는지
+     */
+    boolean canRetry(int attempt) {
+        return attempt + 1 < maxAttempts;
+    }
+
+    /**
+     * attempt번째 시도가 실패한 뒤 다음 시도까지 기다릴 시간
+     */
+    long delayNanos(int attempt) {
+        long ceiling = baseDelayNanos << Math.min(attempt, 30);
+        if (ceiling <= 0 || ceiling > maxDelayNanos) {
+            ceiling = maxDelayNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    /**
+     * 다시 보내면 성공할 수 있는 HTTP 상태인지
+     * 429(es_rejected_execution_exception 등 과부하)와 게이트웨이/일시적 서버 오류가 해당
+     */
+    static boolean isRetryableStatus(int status) {
+        return status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    /**
+     * 클러스터 과부하를 뜻하는 상태인지 (동시 요청 한도를 줄여야 하는 경우)
+     */
+    static boolean isOverloadStatus(int status) {
+        return status == 429 || status == 503;
+    }
+}
@@ -0,0 +1,381 @@
+package kevin.elasticsearch.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Elasticsearch에 보내지 못한 bulk 항목을 디스크에 보관하는 write-ahead 저널
+ * 메모리 맵 파일을 고정 크기 세그먼트로 나누어 쓰고, 클러스터가 복구되면 쓴 순서대로 다시 읽어 전송함
+ *
+ * 세그먼트 파일 구조
+ * - 헤더(16 bytes): magic(int) + version(int) + segmentId(long)
+ * - 레코드: length(int) + crc32c(int) + payload(bulk 항목 하나)
+ * - length == 0 이면 그 뒤로는 아직 쓰지 않은 영역
+ *
+ * 어디까지 전송했는지는 checkpoint 파일(segmentId + offset)에 기록하며,
+ * 재시작 시 마지막 세그먼트를 CRC로 검증해 중간에 끊긴 레코드 이후를 버림
+ * 모든 메서드는 synchronized (전송 스레드, 로깅 스레드, HTTP 콜백 스레드에서 호출됨)
+ */
+final class SpillJournal implements Closeable {
+
+    private static final int MAGIC = 0x45534A31; // "ESJ1"
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private Segment writeSegment;
+    private Position committed;
+    private long corruptRecords;
+    private boolean closed;
+
+    private SpillJournal(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        // 같은 디렉터리를 두 프로세스가 동시에 쓰지 않도록 잠금
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = lockChannel.tryLock();
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("Journal directory is already in use: " + directory);
+        }
+    }
+
+    /**
+     * 저널 디렉터리를 열고 이전 실행에서 남은 세그먼트를 복구
+     */
+    static SpillJournal open(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        SpillJournal journal = new SpillJournal(directory, segmentBytes, maxBytes);
+        try {
+            journal.recover();
+        } catch (IOException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * bulk 항목 하나를 기록. 저널이 최대 크기에 도달했으면 false
+     */
+    synchronized boolean append(byte[] data, int offset, int length) throws IOException {
+        if (closed || length <= 0 || RECORD_HEADER_SIZE + length > segmentBytes - SEGMENT_HEADER_SIZE) {
+            return false;
+        }
+        if (writeSegment.remaining() < RECORD_HEADER_SIZE + length) {
+            if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+                return false;
+            }
+            writeSegment.buffer.force();
+            writeSegment = createSegment(writeSegment.id + 1);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+
+        MappedByteBuffer buffer = writeSegment.buffer;
+        int position = writeSegment.writePosition;
+        // payload와 CRC를 먼저 쓰고 length를 마지막에 써서 길이가 보이면 레코드가 완성된 상태가 되도록 함
+        buffer.put(position + RECORD_HEADER_SIZE, data, offset, length);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, length);
+        writeSegment.writePosition = position + RECORD_HEADER_SIZE + length;
+        return true;
+    }
+
+    /**
+     * _bulk 요청 본문(NDJSON)을 항목(action 라인 + 문서 라인) 단위로 나누어 기록
+     * 문서 JSON 안의 줄바꿈은 이스케이프되므로 두 줄마다 항목 하나로 볼 수 있음
+     * 반환값은 기록하지 못한 항목 수
+     */
+    synchronized int appendBulkBody(byte[] body, int length) throws IOException {
+        int rejected = 0;
+        int itemStart = 0;
+        int newlines = 0;
+        for (int i = 0; i < length; i++) {
+            if (body[i] == '\n' && ++newlines == 2) {
+                if (!append(body, itemStart, i + 1 - itemStart)) {
+                    rejected++;
+                }
+                itemStart = i + 1;
+                newlines = 0;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 마지막 커밋 위치부터 배치가 찰 때까지 레코드를 읽어 batch에 담음
+     * 전송이 성공하면 반환된 위치로 commit() 해야 하며, 실패하면 다음에 같은 위치부터 다시 읽음
+     */
+    synchronized Position readInto(BulkBatch batch, int maxCount, int maxBytes) throws IOException {
+        Position position = committed;
+        while (!closed && batch.count() < maxCount) {
+            Segment segment = segments.get(position.segmentId());
+            if (segment == null) {
+                break;
+            }
+            int offset = position.offset();
+            int limit = segment == writeSegment ? writeSegment.writePosition : segmentBytes;
+            int length = offset + RECORD_HEADER_SIZE <= limit ? segment.buffer.getInt(offset) : 0;
+
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > limit) {
+                // 세그먼트 끝: 쓰기 중인 세그먼트면 멈추고, 아니면 다음 세그먼트로 이동
+                Long next = segments.higherKey(segment.id);
+                if (segment == writeSegment || next == null) {
+                    break;
+                }
+                position = new Position(next, SEGMENT_HEADER_SIZE);
+                continue;
+            }
+
+            byte[] record = new byte[length];
+            segment.buffer.get(offset + RECORD_HEADER_SIZE, record);
+            CRC32C crc = new CRC32C();
+            crc.update(record);
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + 4)) {
+                // 손상된 레코드 이후는 길이를 신뢰할 수 없으므로 세그먼트의 나머지를 건너뜀
+                corruptRecords++;
+                Long next = segments.higherKey(segment.id);
+                if (segment == writeSegment || next == null) {
+                    position = new Position(segment.id, limit);
+                    break;
+                }
+                position = new Position(next, SEGMENT_HEADER_SIZE);
+                continue;
+            }
+
+            if (!batch.fits(length, maxBytes)) {
+                break;
+            }
+            batch.add(record);
+            position = new Position(segment.id, offset + RECORD_HEADER_SIZE + length);
+        }
+        return position;
+    }
+
+    /**
+     * position 이전까지 전송이 끝났음을 기록하고, 다 읽은 세그먼트 파일을 삭제
+     */
+    synchronized void commit(Position position) throws IOException {
+        if (closed) {
+            return;
+        }
+        committed = position;
+        while (!segments.isEmpty() && segments.firstKey() < position.segmentId()) {
+            Segment segment = segments.pollFirstEntry().getValue();
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+        writeCheckpoint();
+    }
+
+    synchronized boolean isEmpty() {
+        return committed.segmentId() == writeSegment.id && committed.offset() >= writeSegment.writePosition;
+    }
+
+    synchronized long sizeInBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+
+    /**
+     * CRC 검증에 실패해 건너뛴 레코드 수를 반환하고 0으로 초기화
+     */
+    synchronized long takeCorruptRecordCount() {
+        long count = corruptRecords;
+        corruptRecords = 0;
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments.values()) {
+            if (segment == writeSegment) {
+                segment.buffer.force();
+            }
+            segment.channel.close();
+        }
+        segments.clear();
+        if (lock != null) {
+            lock.release();
+        }
+        lockChannel.close();
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (!name.endsWith(SEGMENT_SUFFIX)) {
+                    continue;
+                }
+                Segment segment = openSegment(path);
+                if (segment != null) {
+                    segments.put(segment.id, segment);
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            writeSegment = createSegment(1);
+        } else {
+            writeSegment = segments.lastEntry().getValue();
+            writeSegment.writePosition = scanValidEnd(writeSegment);
+            // 마지막 레코드가 기록 도중 끊겼다면 그 뒤를 0으로 지워 다음 쓰기와 섞이지 않도록 함
+            for (int i = writeSegment.writePosition; i < Math.min(writeSegment.writePosition + RECORD_HEADER_SIZE, segmentBytes); i++) {
+                writeSegment.buffer.put(i, (byte) 0);
+            }
+        }
+
+        committed = readCheckpoint();
+        if (committed == null || !segments.containsKey(committed.segmentId())) {
+            committed = new Position(segments.firstKey(), SEGMENT_HEADER_SIZE);
+        }
+    }
+
+    private Segment openSegment(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() != segmentBytes) {
+            // 세그먼트 크기 설정이 바뀌었거나 손상된 파일은 읽지 않고 옆으로 치워둠
+            channel.close();
+            Files.move(path, path.resolveSibling(path.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            Files.move(path, path.resolveSibling(path.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+        Segment segment = new Segment(buffer.getLong(8), path, channel, buffer);
+        segment.writePosition = segmentBytes;
+        return segment;
+    }
+
+    private Segment createSegment(long id) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, id);
+        Segment segment = new Segment(id, path, channel, buffer);
+        segment.writePosition = SEGMENT_HEADER_SIZE;
+        segments.put(id, segment);
+        return segment;
+    }
+
+    /**
+     * 레코드를 처음부터 CRC로 검증하며 마지막 정상 레코드의 끝 위치를 찾음
+     */
+    private int scanValidEnd(Segment segment) {
+        int offset = SEGMENT_HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        while (offset + RECORD_HEADER_SIZE <= segmentBytes) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > segmentBytes) {
+                break;
+            }
+            crc.reset();
+            crc.update(segment.buffer.slice(offset + RECORD_HEADER_SIZE, length));
+            if ((int) crc.getValue() != segment.buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() != 16) {
+            return null;
+        }
+        long segmentId = buffer.getLong();
+        int offset = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (checksum != checkpointChecksum(segmentId, offset)) {
+            return null;
+        }
+        return new Position(segmentId, offset);
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 교체해 checkpoint가 반쯤 쓰인 상태로 남지 않도록 함
+     */
+    private void writeCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(committed.segmentId());
+        buffer.putInt(committed.offset());
+        buffer.putInt(checkpointChecksum(committed.segmentId(), committed.offset()));
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int checkpointChecksum(long segmentId, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(12).putLong(segmentId).putInt(offset).flip());
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 저널 안의 읽기 위치 (세그먼트 ID + 세그먼트 내 offset)
+     */
+    record Position(long segmentId, int offset) {
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private int remaining() {
+            return buffer.capacity() - writePosition;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 예외 fingerprint별 마지막 전체 스택트레이스 전송 시각을 보관하는 LRU 캐시
+ * fingerprint는 cause 체인의 예외 클래스명과 각 프레임의 클래스/메서드명으로 계산한 64bit 해시
+ * (메시지와 라인 번호는 제외하므로 요청마다 메시지가 달라도, 재배포로 라인이 바뀌어도 같은 오류는 같은 값)
+ * 같은 fingerprint의 전체 스택트레이스는 dedupWindowMs 안에 한 번만 전송하고 그 사이 이벤트는 fingerprint만 보냄
+ * 스택트레이스 문자열은 캐시하지 않고 전송할 이벤트의 예외로 그때 렌더링 (메시지가 첫 이벤트의 것으로 고정되지 않도록)
+ * 전송 스레드와 로깅 스레드(저널 직접 기록)에서 함께 쓰므로 synchronized
+ */
+final class StackTraceCache {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // cause가 자기 자신을 가리키는 등 비정상 체인 방어
+    private static final int MAX_CAUSE_DEPTH = 32;
+
+    private final long dedupWindowMillis;
+    private final Map<Long, Entry> entries;
+
+    StackTraceCache(int maxEntries, long dedupWindowMillis) {
+        this.dedupWindowMillis = dedupWindowMillis;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 예외의 캐시 항목을 찾고, 처음 보는 fingerprint면 추가
+     */
+    synchronized Entry resolve(IThrowableProxy throwable) {
+        long fingerprint = fingerprint(throwable);
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            entry = new Entry(String.format("%016x", fingerprint));
+            entries.put(fingerprint, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * timestampMillis 시점의 이벤트에 전체 스택트레이스를 실어야 하는지 확인하고 전송 시각을 기록
+     * dedupWindowMs 안에 이미 보냈으면 false
+     */
+    synchronized boolean markSent(Entry entry, long timestampMillis) {
+        if (entry.lastSentMillis != Long.MIN_VALUE && timestampMillis - entry.lastSentMillis < dedupWindowMillis) {
+            return false;
+        }
+        entry.lastSentMillis = timestampMillis;
+        return true;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    static long fingerprint(IThrowableProxy throwable) {
+        long hash = FNV_OFFSET_BASIS;
+        IThrowableProxy current = throwable;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            hash = hash(hash, current.getClassName());
+            StackTraceElementProxy[] frames = current.getStackTraceElementProxyArray();
+            if (frames != null) {
+                for (StackTraceElementProxy frame : frames) {
+                    StackTraceElement element = frame.getStackTraceElement();
+                    hash = hash(hash, element.getClassName());
+                    hash = hash(hash, element.getMethodName());
+                }
+            }
+            current = current.getCause();
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        // 구분자: "a.b" + "c" 와 "a" + "b.c" 를 구분
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    /**
+     * logback 기본 형식과 같은 스택트레이스 문자열 (Caused by / Suppressed / common frames omitted 포함)
+     */
+    static String render(IThrowableProxy throwable) {
+        StringBuilder sb = new StringBuilder(2048);
+        render(sb, throwable, "", "", 0);
+        return sb.toString();
+    }
+
+    private static void render(StringBuilder sb, IThrowableProxy throwable, String prefix, String indent, int depth) {
+        if (throwable == null || depth >= MAX_CAUSE_DEPTH) {
+            return;
+        }
+        sb.append(indent).append(prefix).append(throwable.getClassName());
+        if (throwable.getMessage() != null) {
+            sb.append(": ").append(throwable.getMessage());
+        }
+        sb.append('\n');
+
+        StackTraceElementProxy[] frames = throwable.getStackTraceElementProxyArray();
+        int commonFrames = throwable.getCommonFrames();
+        if (frames != null) {
+            for (int i = 0; i < frames.length - commonFrames; i++) {
+                sb.append(indent).append('\t').append(frames[i].getSTEAsString()).append('\n');
+            }
+        }
+        if (commonFrames > 0) {
+            sb.append(indent).append("\t... ").append(commonFrames).append(" common frames omitted\n");
+        }
+        IThrowableProxy[] suppressed = throwable.getSuppressed();
+        if (suppressed != null) {
+            for (IThrowableProxy s : suppressed) {
+                render(sb, s, "Suppressed: ", indent + '\t', depth + 1);
+            }
+        }
+        render(sb, throwable.getCause(), "Caused by: ", indent, depth + 1);
+    }
+
+    /**
+     * fingerprint(16자리 hex)와 마지막 전송 시각
+     */
+    static final class Entry {
+
+        final String fingerprint;
+        private long lastSentMillis = Long.MIN_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
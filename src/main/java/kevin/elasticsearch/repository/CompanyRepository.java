@@ -1,9 +1,58 @@
 package kevin.elasticsearch.repository;
 
+import jakarta.persistence.QueryHint;
 import kevin.elasticsearch.domain.Company;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
+
+    /**
+     * 회사와 소속 직원을 한 번의 조회(left join fetch)로 가져옴
+     */
+    @EntityGraph(attributePaths = "employees")
+    Optional<Company> findWithEmployeesById(Long id);
+
+    /**
+     * afterId 다음 회사 id를 PK 인덱스 순서로 조회 (keyset 페이징, OFFSET 없이 페이지 깊이와 관계없이 같은 비용)
+     * 컬렉션 fetch join에 LIMIT을 걸면 Hibernate가 메모리에서 잘라내므로 id만 먼저 페이징함
+     */
+    @Query("select c.id from Company c where c.id > :afterId order by c.id")
+    List<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * 회사와 소속 직원을 한 번의 조회로 가져옴 (회사마다 직원을 따로 조회하는 N+1 방지)
+     */
+    @EntityGraph(attributePaths = "employees")
+    @Query("select c from Company c where c.id in :ids order by c.id")
+    List<Company> findAllWithEmployeesByIdIn(Collection<Long> ids);
+
+    /**
+     * 전체 회사를 id 순으로 흘려보냄 (NDJSON export용, 직원 목록은 로딩하지 않음)
+     * 읽은 엔티티가 영속성 컨텍스트에 쌓이므로 소비하는 쪽에서 주기적으로 clear 해야 함
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Company c order by c.id")
+    Stream<Company> streamAll();
+
+    /**
+     * ids 중 실제로 존재하는 회사 id (bulk 생성 시 chunk마다 companyId를 한 번에 확인)
+     */
+    @Query("select c.id from Company c where c.id in :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -1,12 +1,91 @@
 package kevin.elasticsearch.repository;
 
 import kevin.elasticsearch.domain.Employee;
+import jakarta.persistence.QueryHint;
+import kevin.elasticsearch.dto.EmployeeResponse;
+import kevin.elasticsearch.search.EmployeeDocument;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    List<Employee> findByCompanyId(Long companyId);
+
+    /**
+     * afterId 다음 직원을 회사와 조인해 응답 DTO로 바로 조회 (keyset 페이징)
+     * 엔티티를 영속성 컨텍스트에 올리지 않으므로 회사 프록시 지연 로딩과 flush 시 dirty checking이 없음
+     */
+    @Query("""
+            select new kevin.elasticsearch.dto.EmployeeResponse(
+                e.id, e.name, e.email, e.position,
+                c.id, c.name, c.address, c.createdAt, c.updatedAt,
+                e.createdAt, e.updatedAt)
+            from Employee e left join e.company c
+            where e.id > :afterId
+            order by e.id
+            """)
+    List<EmployeeResponse> findResponsesAfter(Long afterId, Pageable pageable);
+
+    /**
+     * 회사 소속 직원을 응답 DTO로 바로 조회 (company_id, id 인덱스로 keyset 페이징)
+     */
+    @Query("""
+            select new kevin.elasticsearch.dto.EmployeeResponse(
+                e.id, e.name, e.email, e.position,
+                c.id, c.name, c.address, c.createdAt, c.updatedAt,
+                e.createdAt, e.updatedAt)
+            from Employee e join e.company c
+            where e.company.id = :companyId and e.id > :afterId
+            order by e.id
+            """)
+    List<EmployeeResponse> findResponsesByCompanyIdAfter(Long companyId, Long afterId, Pageable pageable);
+
+    /**
+     * 전체 직원을 id 순으로 흘려보냄 (NDJSON export용, 트랜잭션 안에서 소비하고 닫아야 함)
+     * JDBC fetch size 단위로 커서에서 읽으므로 결과 전체를 메모리에 올리지 않음 (MySQL은 useCursorFetch=true 필요)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new kevin.elasticsearch.dto.EmployeeResponse(
+                e.id, e.name, e.email, e.position,
+                c.id, c.name, c.address, c.createdAt, c.updatedAt,
+                e.createdAt, e.updatedAt)
+            from Employee e left join e.company c
+            order by e.id
+            """)
+    Stream<EmployeeResponse> streamAllResponses();
+
+    /**
+     * 검색 인덱스 문서로 바로 조회 (변경분 반영용, 삭제된 직원은 결과에 없음)
+     */
+    @Query("""
+            select new kevin.elasticsearch.search.EmployeeDocument(e.id, e.name, e.email, e.position, c.id, c.name)
+            from Employee e left join e.company c
+            where e.id in :ids
+            """)
+    List<EmployeeDocument> findDocumentsByIdIn(Collection<Long> ids);
+
+    /**
+     * afterId 다음 직원을 검색 인덱스 문서로 조회 (전체 재색인 keyset 페이징)
+     */
+    @Query("""
+            select new kevin.elasticsearch.search.EmployeeDocument(e.id, e.name, e.email, e.position, c.id, c.name)
+            from Employee e left join e.company c
+            where e.id > :afterId
+            order by e.id
+            """)
+    List<EmployeeDocument> findDocumentsAfter(Long afterId, Pageable pageable);
+
+    /**
+     * 회사 소속 직원 id (회사 이름이 바뀌면 소속 직원 문서를 다시 색인)
+     */
+    @Query("select e.id from Employee e where e.company.id in :companyIds")
+    List<Long> findIdsByCompanyIdIn(Collection<Long> companyIds);
 }
@@ -0,0 +1,14 @@
+package kevin.elasticsearch.search;
+
+/**
+ * 검색 인덱스에 저장하는 직원 문서 (회사 이름까지 비정규화)
+ * EmployeeRepository에서 생성자 프로젝션으로 바로 조회
+ */
+public record EmployeeDocument(
+        Long id,
+        String name,
+        String email,
+        String position,
+        Long companyId,
+        String companyName) {
+}
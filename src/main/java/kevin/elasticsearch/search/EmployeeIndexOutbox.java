@@ -0,0 +1,80 @@
+package kevin.elasticsearch.search;
+
+import kevin.elasticsearch.cache.CacheInvalidation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검색 인덱스에 반영할 변경분 (직원 id, 회사 id)
+ * 서비스는 커밋 후 id만 넣고 바로 반환하며, EmployeeIndexer가 주기적으로 꺼내 DB의 최신 상태를 묶어 보냄
+ * - 같은 id는 한 번만 남으므로 반영이 밀려도 대기열은 변경된 id 수 이상으로 늘지 않음
+ * - 문서 내용이 아니라 id만 담으므로 순서가 바뀌어도 마지막 상태가 색인됨
+ * 메모리에만 있으므로 반영 전에 프로세스가 내려가면 유실됨 (전체 재색인으로 복구)
+ */
+@Component
+public class EmployeeIndexOutbox {
+
+    private final Set<Long> employeeIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> companyIds = ConcurrentHashMap.newKeySet();
+
+    public void employeeChanged(Long employeeId) {
+        CacheInvalidation.afterCommit(() -> employeeIds.add(employeeId));
+    }
+
+    public void employeesChanged(Collection<Long> ids) {
+        CacheInvalidation.afterCommit(() -> employeeIds.addAll(ids));
+    }
+
+    /**
+     * 회사 이름이 바뀌거나 회사가 삭제되면 소속 직원 문서 전체를 다시 반영
+     */
+    public void companyChanged(Long companyId) {
+        CacheInvalidation.afterCommit(() -> companyIds.add(companyId));
+    }
+
+    int pendingEmployees() {
+        return employeeIds.size();
+    }
+
+    int pendingCompanies() {
+        return companyIds.size();
+    }
+
+    List<Long> pollEmployees(int max) {
+        return poll(employeeIds, max);
+    }
+
+    List<Long> pollCompanies(int max) {
+        return poll(companyIds, max);
+    }
+
+    /**
+     * 반영에 실패했거나 트랜잭션 밖(재색인, 회사 단위 반영)에서 바로 넣을 때 사용
+     */
+    void offerEmployees(Collection<Long> ids) {
+        employeeIds.addAll(ids);
+    }
+
+    void offerCompanies(Collection<Long> ids) {
+        companyIds.addAll(ids);
+    }
+
+    private static List<Long> poll(Set<Long> ids, int max) {
+        List<Long> polled = new ArrayList<>(Math.min(max, ids.size()));
+        Iterator<Long> iterator = ids.iterator();
+        while (polled.size() < max && iterator.hasNext()) {
+            Long id = iterator.next();
+            // 그 사이 다른 스레드가 먼저 꺼냈으면 건너뜀
+            if (ids.remove(id)) {
+                polled.add(id);
+            }
+        }
+        return polled;
+    }
+}
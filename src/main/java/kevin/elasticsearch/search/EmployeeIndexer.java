@@ -0,0 +1,391 @@
+package kevin.elasticsearch.search;
+
+import kevin.elasticsearch.datasource.ReadRouting;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * EmployeeIndexOutbox에 쌓인 변경분을 검색 인덱스에 반영하는 전용 스레드 + 전체 재색인
+ * - flushInterval마다 대기 중인 id를 batchSize씩 꺼내 DB에서 현재 상태를 조회하고 _bulk 한 번으로 색인/삭제
+ * - 대기열이 batchSize보다 많으면 비워질 때까지 이어서 보냄 (요청 스레드는 id만 넣으므로 밀려도 응답이 느려지지 않음)
+ * - Elasticsearch 장애, 429/5xx 항목은 대기열에 되돌려 다음 주기에 다시 보냄
+ * 검색은 항상 alias(properties.index)로 하고, 재색인은 새 인덱스를 채운 뒤 alias를 한 번에 옮김
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeIndexer implements SmartLifecycle {
+
+    private static final String INDEX_DEFINITION = """
+            {
+              "settings": {"number_of_shards": 1},
+              "mappings": {
+                "dynamic": "strict",
+                "properties": {
+                  "id": {"type": "long"},
+                  "name": {"type": "search_as_you_type"},
+                  "email": {"type": "keyword", "fields": {"text": {"type": "text"}}},
+                  "position": {"type": "text", "fields": {"keyword": {"type": "keyword"}}},
+                  "companyId": {"type": "long"},
+                  "companyName": {"type": "text", "fields": {"keyword": {"type": "keyword"}}}
+                }
+              }
+            }
+            """;
+
+    private final EmployeeIndexOutbox outbox;
+    private final EmployeeRepository employeeRepository;
+    private final CompanyRepository companyRepository;
+    private final SearchClient client;
+    private final SearchProperties properties;
+    private final JsonMapper jsonMapper;
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicBoolean reindexRunning = new AtomicBoolean();
+    // 재색인 중 반영한 id (이전 인덱스에 들어갔을 수 있으므로 alias를 옮긴 뒤 다시 반영)
+    private volatile ReindexTracking tracking;
+    private volatile boolean indexReady;
+    private volatile String lastError;
+    private volatile long lastSyncEpochMillis;
+    private volatile long lastReindexCount;
+    private volatile ScheduledExecutorService worker;
+
+    @Override
+    public void start() {
+        if (!properties.syncEnabled() || worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.flushInterval().toMillis();
+        worker.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (worker == null) {
+            return;
+        }
+        worker.shutdown();
+        try {
+            worker.awaitTermination(properties.requestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+        // 종료 직전까지 들어온 변경분을 한 번 더 보냄 (실패하면 재색인으로 복구)
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    /**
+     * 웹 서버보다 먼저 시작하고 나중에 멈춤 (요청이 끝난 뒤 남은 변경분까지 반영)
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * 대기열이 빌 때까지 batchSize씩 반영 (실패하면 남은 대기열은 다음 주기로 미룸)
+     */
+    synchronized void drain() {
+        try {
+            ensureIndex();
+            int batchSize = properties.batchSize();
+            while (true) {
+                List<Long> companyIds = outbox.pollCompanies(batchSize);
+                if (!companyIds.isEmpty()) {
+                    syncCompanies(companyIds);
+                }
+                List<Long> employeeIds = outbox.pollEmployees(batchSize);
+                if (!employeeIds.isEmpty()) {
+                    syncEmployees(employeeIds);
+                }
+                if (companyIds.isEmpty() && employeeIds.isEmpty()) {
+                    break;
+                }
+            }
+            if (lastError != null) {
+                log.info("Employee search index sync recovered");
+                lastError = null;
+            }
+        } catch (RuntimeException e) {
+            // 장애가 이어지는 동안 주기마다 로그가 쌓이지 않도록 처음 한 번만 WARN
+            if (lastError == null) {
+                log.warn("Employee search index sync failed, retrying every {} - pending: {}",
+                        properties.flushInterval(), outbox.pendingEmployees(), e);
+            }
+            lastError = e.getMessage();
+        }
+    }
+
+    /**
+     * 전체 재색인을 백그라운드로 시작 (이미 진행 중이면 false)
+     */
+    public boolean startReindex() {
+        if (!properties.syncEnabled()) {
+            throw new IllegalStateException("Employee search index sync is disabled");
+        }
+        if (!reindexRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::reindex, "employee-reindex");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public SearchIndexStatus status() {
+        return new SearchIndexStatus(outbox.pendingEmployees(), outbox.pendingCompanies(),
+                indexed.get(), deleted.get(), failed.get(), lastError, lastSyncEpochMillis,
+                reindexRunning.get(), lastReindexCount);
+    }
+
+    /**
+     * 새 인덱스(alias-현재시각)에 전체 직원을 id keyset 페이지 단위로 적재하고 alias를 옮긴 뒤 이전 인덱스를 삭제
+     * 적재 중에도 변경분은 alias(이전 인덱스)로 계속 반영되고, 끝나면 그 id들을 새 인덱스에 다시 반영
+     */
+    void reindex() {
+        String alias = properties.index();
+        String target = alias + "-" + System.currentTimeMillis();
+        ReindexTracking current = new ReindexTracking();
+        tracking = current;
+        try {
+            // 적재 중에는 refresh를 끄고, 끝나면 기본값으로 되돌림
+            ObjectNode definition = indexDefinition(null);
+            ((ObjectNode) definition.get("settings")).put("refresh_interval", "-1");
+            client.createIndex(target, definition);
+
+            long count = 0;
+            long afterId = 0;
+            while (true) {
+                List<EmployeeDocument> page = employeeRepository.findDocumentsAfter(afterId,
+                        PageRequest.ofSize(properties.batchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                // 거부된 문서는 alias를 옮긴 뒤 변경분과 함께 다시 반영
+                current.employeeIds.addAll(bulk(target, page, List.of()));
+                count += page.size();
+                afterId = page.get(page.size() - 1).id();
+            }
+
+            ObjectNode settings = jsonMapper.createObjectNode();
+            settings.putObject("index").putNull("refresh_interval");
+            client.request("PUT", "/" + target + "/_settings", settings);
+            client.request("POST", "/" + target + "/_refresh", null);
+            swapAlias(alias, target);
+            indexReady = true;
+            lastReindexCount = count;
+            log.info("Reindexed {} employees into {}", count, target);
+        } catch (RuntimeException e) {
+            log.error("Employee reindex into {} failed", target, e);
+            lastError = e.getMessage();
+            deletePartialIndex(target);
+        } finally {
+            tracking = null;
+            outbox.offerEmployees(current.employeeIds);
+            outbox.offerCompanies(current.companyIds);
+            reindexRunning.set(false);
+        }
+    }
+
+    /**
+     * alias가 없으면 첫 인덱스를 만듦 (이름이 고정이라 여러 인스턴스가 동시에 시작해도 하나만 생김)
+     */
+    private void ensureIndex() {
+        if (indexReady) {
+            return;
+        }
+        String alias = properties.index();
+        if (!client.exists(alias)) {
+            client.createIndex(alias + "-000001", indexDefinition(alias));
+        }
+        indexReady = true;
+    }
+
+    /**
+     * 회사가 남아 있으면 소속 직원 전체를 대기열에 넣고, 삭제됐으면 소속 직원 문서를 query로 삭제
+     * (직원 행은 cascade로 이미 지워져 id를 알 수 없음)
+     */
+    private void syncCompanies(List<Long> companyIds) {
+        try {
+            ReindexTracking current = tracking;
+            if (current != null) {
+                current.companyIds.addAll(companyIds);
+            }
+            Set<Long> existing = ReadRouting.onPrimary(() -> companyRepository.findExistingIds(companyIds));
+            if (!existing.isEmpty()) {
+                outbox.offerEmployees(ReadRouting.onPrimary(() -> employeeRepository.findIdsByCompanyIdIn(existing)));
+            }
+            List<Long> removed = companyIds.stream().filter(id -> !existing.contains(id)).toList();
+            if (!removed.isEmpty()) {
+                ObjectNode query = jsonMapper.createObjectNode();
+                ArrayNode terms = query.putObject("query").putObject("terms").putArray("companyId");
+                removed.forEach(terms::add);
+                JsonNode response = client.request("POST",
+                        "/" + properties.index() + "/_delete_by_query?conflicts=proceed", query);
+                deleted.addAndGet(response.path("deleted").asLong());
+            }
+        } catch (RuntimeException e) {
+            outbox.offerCompanies(companyIds);
+            throw e;
+        }
+    }
+
+    /**
+     * DB에 있는 직원은 색인하고, 없는 직원(삭제됨)은 문서를 삭제
+     */
+    private void syncEmployees(List<Long> employeeIds) {
+        List<Long> retry;
+        try {
+            ReindexTracking current = tracking;
+            if (current != null) {
+                current.employeeIds.addAll(employeeIds);
+            }
+            // 커밋 직후의 상태를 읽어야 하므로 replica가 아니라 primary에서 조회
+            List<EmployeeDocument> documents = ReadRouting.onPrimary(() ->
+                    employeeRepository.findDocumentsByIdIn(employeeIds));
+            Set<Long> found = documents.stream().map(EmployeeDocument::id).collect(Collectors.toSet());
+            List<Long> removed = employeeIds.stream().filter(id -> !found.contains(id)).toList();
+            retry = bulk(properties.index(), documents, removed);
+        } catch (RuntimeException e) {
+            outbox.offerEmployees(employeeIds);
+            throw e;
+        }
+        lastSyncEpochMillis = System.currentTimeMillis();
+        if (!retry.isEmpty()) {
+            outbox.offerEmployees(retry);
+            // 429 등으로 거부되면 이번 주기는 여기서 멈춤
+            throw new IllegalStateException(retry.size() + " employee documents rejected by Elasticsearch");
+        }
+    }
+
+    /**
+     * 색인/삭제를 _bulk 한 번으로 보내고, 다시 보내야 할(429, 5xx) 직원 id를 반환
+     * 매핑 오류처럼 다시 보내도 실패할 항목은 세고 버림
+     */
+    private List<Long> bulk(String index, List<EmployeeDocument> documents, List<Long> removedIds) {
+        if (documents.isEmpty() && removedIds.isEmpty()) {
+            return List.of();
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (EmployeeDocument document : documents) {
+            writeLine(body, action("index", index, document.id()));
+            writeLine(body, document);
+        }
+        for (Long id : removedIds) {
+            writeLine(body, action("delete", index, id));
+        }
+
+        List<Long> retry = new ArrayList<>();
+        for (JsonNode item : client.bulk(body.toByteArray()).path("items")) {
+            boolean delete = item.has("delete");
+            JsonNode result = delete ? item.path("delete") : item.path("index");
+            int status = result.path("status").asInt();
+            if (status < 300) {
+                (delete ? deleted : indexed).incrementAndGet();
+                continue;
+            }
+            if (delete && status == 404) {
+                continue;
+            }
+            long id = Long.parseLong(result.path("_id").asString());
+            if (status == 429 || status >= 500) {
+                retry.add(id);
+            } else {
+                failed.incrementAndGet();
+                log.warn("Employee search document rejected - id: {}, status: {}, error: {}", id, status,
+                        result.path("error"));
+            }
+        }
+        return retry;
+    }
+
+    private void deletePartialIndex(String index) {
+        try {
+            if (client.exists(index)) {
+                client.request("DELETE", "/" + index, null);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete partial search index {}", index, e);
+        }
+    }
+
+    private ObjectNode indexDefinition(String alias) {
+        ObjectNode definition = (ObjectNode) jsonMapper.readTree(INDEX_DEFINITION);
+        if (alias != null) {
+            definition.putObject("aliases").putObject(alias);
+        }
+        return definition;
+    }
+
+    /**
+     * alias를 target으로 옮기고(한 요청으로 원자적), 이전 인덱스를 삭제
+     */
+    private void swapAlias(String alias, String target) {
+        List<String> previous = new ArrayList<>();
+        if (client.exists("_alias/" + alias)) {
+            client.request("GET", "/_alias/" + alias, null).properties()
+                    .forEach(entry -> previous.add(entry.getKey()));
+        }
+        ObjectNode request = jsonMapper.createObjectNode();
+        ArrayNode actions = request.putArray("actions");
+        for (String index : previous) {
+            actions.addObject().putObject("remove").put("index", index).put("alias", alias);
+        }
+        actions.addObject().putObject("add").put("index", target).put("alias", alias);
+        client.request("POST", "/_aliases", request);
+        if (!previous.isEmpty()) {
+            client.request("DELETE", "/" + String.join(",", previous), null);
+        }
+    }
+
+    private ObjectNode action(String action, String index, Long id) {
+        ObjectNode line = jsonMapper.createObjectNode();
+        line.putObject(action).put("_index", index).put("_id", String.valueOf(id));
+        return line;
+    }
+
+    private void writeLine(ByteArrayOutputStream body, Object value) {
+        body.writeBytes(jsonMapper.writeValueAsBytes(value));
+        body.write('\n');
+    }
+
+    private static final class ReindexTracking {
+
+        private final Set<Long> employeeIds = ConcurrentHashMap.newKeySet();
+        private final Set<Long> companyIds = ConcurrentHashMap.newKeySet();
+    }
+}
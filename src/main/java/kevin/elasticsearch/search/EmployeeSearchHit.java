@@ -0,0 +1,14 @@
+package kevin.elasticsearch.search;
+
+/**
+ * 검색 결과 한 건 (score는 전문 검색 관련도, 필터만 쓰면 0)
+ */
+public record EmployeeSearchHit(
+        Long id,
+        String name,
+        String email,
+        String position,
+        Long companyId,
+        String companyName,
+        double score) {
+}
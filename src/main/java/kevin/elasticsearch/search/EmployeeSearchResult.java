@@ -0,0 +1,12 @@
+package kevin.elasticsearch.search;
+
+import java.util.List;
+
+/**
+ * 직원 검색 응답
+ *
+ * @param total 조건에 맞는 전체 건수 (10000건 이상이면 10000)
+ * @param hits  from부터 size건
+ */
+public record EmployeeSearchResult(long total, List<EmployeeSearchHit> hits) {
+}
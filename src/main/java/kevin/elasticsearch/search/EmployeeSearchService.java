@@ -0,0 +1,90 @@
+package kevin.elasticsearch.search;
+
+import kevin.elasticsearch.service.PaginationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 인덱스(alias)에서 직원 검색
+ * - q: 이름, 직책, 이메일, 회사 이름 전문 검색 (이름 > 직책 순으로 가중치)
+ * - prefix: 이름 단어 앞부분(입력 중 자동완성) 또는 이메일 앞부분
+ * - companyId: 회사 필터 (점수에 영향 없음)
+ * 조건이 모두 없으면 id 순 전체 목록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeSearchService {
+
+    // Elasticsearch 기본 index.max_result_window
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final SearchClient client;
+    private final SearchProperties properties;
+    private final PaginationProperties paginationProperties;
+    private final JsonMapper jsonMapper;
+
+    public EmployeeSearchResult search(String q, String prefix, Long companyId, Integer from, Integer size) {
+        log.info("searchEmployees - q: {}, prefix: {}, companyId: {}, from: {}, size: {}", q, prefix, companyId, from, size);
+        int pageSize = paginationProperties.resolveSize(size);
+        int offset = from != null ? from : 0;
+        if (offset < 0 || offset + pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("from + size must be between 0 and " + MAX_RESULT_WINDOW);
+        }
+
+        JsonNode response = client.request("POST", "/" + properties.index() + "/_search",
+                query(q, prefix, companyId, offset, pageSize));
+        List<EmployeeSearchHit> hits = new ArrayList<>();
+        for (JsonNode hit : response.path("hits").path("hits")) {
+            EmployeeDocument document = jsonMapper.treeToValue(hit.path("_source"), EmployeeDocument.class);
+            hits.add(new EmployeeSearchHit(document.id(), document.name(), document.email(), document.position(),
+                    document.companyId(), document.companyName(), hit.path("_score").asDouble()));
+        }
+        return new EmployeeSearchResult(response.path("hits").path("total").path("value").asLong(), hits);
+    }
+
+    ObjectNode query(String q, String prefix, Long companyId, int from, int size) {
+        ObjectNode body = jsonMapper.createObjectNode();
+        body.put("from", from);
+        body.put("size", size);
+        ObjectNode bool = body.putObject("query").putObject("bool");
+        ArrayNode must = bool.putArray("must");
+        boolean scored = false;
+        if (q != null && !q.isBlank()) {
+            ObjectNode match = must.addObject().putObject("multi_match");
+            match.put("query", q);
+            match.putArray("fields").add("name^3").add("position^2").add("email.text").add("companyName");
+            scored = true;
+        }
+        if (prefix != null && !prefix.isBlank()) {
+            ObjectNode prefixBool = must.addObject().putObject("bool");
+            ArrayNode should = prefixBool.putArray("should");
+            ObjectNode namePrefix = should.addObject().putObject("multi_match");
+            namePrefix.put("query", prefix);
+            namePrefix.put("type", "bool_prefix");
+            namePrefix.putArray("fields").add("name").add("name._2gram").add("name._3gram");
+            should.addObject().putObject("prefix").putObject("email")
+                    .put("value", prefix)
+                    .put("case_insensitive", true);
+            prefixBool.put("minimum_should_match", 1);
+            scored = true;
+        }
+        if (companyId != null) {
+            bool.putArray("filter").addObject().putObject("term").put("companyId", companyId);
+        }
+        ArrayNode sort = body.putArray("sort");
+        if (scored) {
+            sort.add("_score");
+        }
+        sort.addObject().put("id", "asc");
+        return body;
+    }
+}
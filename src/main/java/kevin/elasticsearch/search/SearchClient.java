@@ -0,0 +1,99 @@
+package kevin.elasticsearch.search;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * 검색 인덱스용 Elasticsearch HTTP 클라이언트 (JDK HttpClient)
+ * 로그 전송 계층(ElasticsearchTransport)과 달리 요청 스레드에서 동기로 호출하며, 2xx가 아니면 IllegalStateException
+ */
+public class SearchClient {
+
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final JsonMapper jsonMapper;
+
+    public SearchClient(String url, Duration requestTimeout, JsonMapper jsonMapper) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .build();
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.requestTimeout = requestTimeout;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * 인덱스나 alias가 있는지 확인 (HEAD)
+     */
+    public boolean exists(String name) {
+        int status = send("HEAD", "/" + name, null, JSON).statusCode();
+        if (status != 200 && status != 404) {
+            throw new IllegalStateException("Elasticsearch request failed: HEAD /" + name + ": HTTP " + status);
+        }
+        return status == 200;
+    }
+
+    /**
+     * 인덱스 생성 (이미 있으면 false, 여러 인스턴스가 동시에 만들어도 한쪽만 성공)
+     */
+    public boolean createIndex(String index, JsonNode definition) {
+        HttpResponse<byte[]> response = send("PUT", "/" + index, jsonMapper.writeValueAsBytes(definition), JSON);
+        if (response.statusCode() == 400 && new String(response.body(), StandardCharsets.UTF_8)
+                .contains("resource_already_exists_exception")) {
+            return false;
+        }
+        check("PUT", "/" + index, response);
+        return true;
+    }
+
+    public JsonNode request(String method, String path, JsonNode body) {
+        byte[] bytes = body != null ? jsonMapper.writeValueAsBytes(body) : null;
+        return check(method, path, send(method, path, bytes, JSON));
+    }
+
+    /**
+     * _bulk 요청 (본문은 줄마다 action/문서가 이어진 NDJSON), 항목별 결과는 응답의 items
+     */
+    public JsonNode bulk(byte[] ndjson) {
+        return check("POST", "/_bulk", send("POST", "/_bulk", ndjson, NDJSON));
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, byte[] body, String contentType) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", contentType)
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Elasticsearch request failed: " + method + " " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during Elasticsearch request: " + method + " " + path, e);
+        }
+    }
+
+    private JsonNode check(String method, String path, HttpResponse<byte[]> response) {
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Elasticsearch request failed: " + method + " " + path + ": HTTP "
+                    + response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return jsonMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,19 @@
+package kevin.elasticsearch.search;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * 직원 검색 인덱스 클라이언트 (EmployeeIndexer, EmployeeSearchService에서 사용)
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    public SearchClient searchClient(SearchProperties properties, JsonMapper jsonMapper) {
+        return new SearchClient(properties.url(), properties.requestTimeout(), jsonMapper);
+    }
+}
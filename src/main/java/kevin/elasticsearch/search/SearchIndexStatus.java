@@ -0,0 +1,26 @@
+package kevin.elasticsearch.search;
+
+/**
+ * 검색 인덱스 동기화 상태 (GET /internal/search)
+ *
+ * @param pendingEmployees   반영 대기 중인 직원 id 수
+ * @param pendingCompanies   반영 대기 중인 회사 id 수 (소속 직원 전체 재반영 대상)
+ * @param indexed            색인한 문서 수 (누적)
+ * @param deleted            삭제한 문서 수 (누적)
+ * @param failed             재시도하지 않고 버린 항목 수 (매핑 오류 등, 누적)
+ * @param lastError          마지막 동기화 실패 사유 (성공하면 null)
+ * @param lastSyncEpochMillis 마지막으로 변경분을 반영한 시각
+ * @param reindexRunning     전체 재색인 진행 여부
+ * @param lastReindexCount   마지막 재색인 문서 수
+ */
+public record SearchIndexStatus(
+        int pendingEmployees,
+        int pendingCompanies,
+        long indexed,
+        long deleted,
+        long failed,
+        String lastError,
+        long lastSyncEpochMillis,
+        boolean reindexRunning,
+        long lastReindexCount) {
+}
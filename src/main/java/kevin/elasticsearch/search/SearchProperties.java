@@ -0,0 +1,26 @@
+package kevin.elasticsearch.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 직원 검색 인덱스 설정 (search.employees.*)
+ *
+ * @param syncEnabled    false면 변경분 반영과 재색인을 하지 않음 (검색 API는 기존 인덱스로 동작)
+ * @param url            Elasticsearch 주소
+ * @param index          검색 API와 동기화가 사용하는 alias (실제 인덱스는 alias-번호)
+ * @param batchSize      _bulk 요청 한 번에 보내는 최대 직원 수 (재색인 페이지 크기도 같음)
+ * @param flushInterval  변경분을 모아 보내는 주기 (검색 결과에 반영되기까지의 최대 지연 + refresh 1s)
+ * @param requestTimeout Elasticsearch 요청 타임아웃
+ */
+@ConfigurationProperties("search.employees")
+public record SearchProperties(
+        @DefaultValue("true") boolean syncEnabled,
+        @DefaultValue("http://localhost:9200") String url,
+        @DefaultValue("employees") String index,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("5s") Duration requestTimeout) {
+}
@@ -0,0 +1,205 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.cache.CacheInvalidation;
+import kevin.elasticsearch.cache.ReadThroughCache;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.dto.BulkResult;
+import kevin.elasticsearch.dto.BulkRowResult;
+import kevin.elasticsearch.dto.CompanyRequest;
+import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.EmployeeRequest;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 회사/직원 bulk 생성 (JSON 배열 또는 CSV)
+ * - 본문을 CHUNK_SIZE행씩 읽어 검증하고, chunk마다 트랜잭션 하나로 저장한 뒤 영속성 컨텍스트를 비움
+ * - 직원의 companyId는 chunk마다 쿼리 한 번으로 존재 여부를 확인하고, 회사 엔티티는 로딩하지 않고 참조만 연결
+ * - insert는 hibernate.jdbc.batch_size 단위로 묶여 나가며, id는 시퀀스에서 미리 할당받음
+ * 잘못된 행은 건너뛰고 행별 결과에 사유를 남기며, chunk 저장이 실패하면 그 chunk의 행 전체를 실패로 기록
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final CompanyRepository companyRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final ReadThroughCache<Long, CompanyResponse> companyResponseCache;
+    private final EmployeeIndexOutbox employeeIndexOutbox;
+
+    public BulkResult importCompanies(InputStream body, boolean csv) {
+        return importRows(body, csv, CompanyRequest.class, this::saveCompanies);
+    }
+
+    public BulkResult importEmployees(InputStream body, boolean csv) {
+        return importRows(body, csv, EmployeeRequest.class, this::saveEmployees);
+    }
+
+    private <T> BulkResult importRows(InputStream body, boolean csv, Class<T> type, ChunkWriter<T> writer) {
+        long startTime = System.currentTimeMillis();
+        List<BulkRowResult> results = new ArrayList<>();
+        try (BulkRowReader reader = csv ? BulkRowReader.csv(body, jsonMapper) : BulkRowReader.json(body, jsonMapper)) {
+            List<BulkRowReader.Row> chunk;
+            while (!(chunk = reader.nextChunk(CHUNK_SIZE)).isEmpty()) {
+                BulkRowResult[] chunkResults = new BulkRowResult[chunk.size()];
+                List<PendingRow<T>> pending = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    BulkRowReader.Row row = chunk.get(i);
+                    try {
+                        pending.add(new PendingRow<>(i, row.number(), jsonMapper.treeToValue(row.node(), type)));
+                    } catch (JacksonException e) {
+                        chunkResults[i] = BulkRowResult.failed(row.number(), "Invalid row: " + e.getOriginalMessage());
+                    }
+                }
+                writeChunk(pending, chunkResults, writer);
+                results.addAll(Arrays.asList(chunkResults));
+            }
+        }
+        BulkResult result = BulkResult.of(results);
+        log.info("bulk import - type: {}, total: {}, created: {}, failed: {}, elapsed: {}ms",
+                type.getSimpleName(), result.getTotal(), result.getCreated(), result.getFailed(),
+                System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    private <T> void writeChunk(List<PendingRow<T>> pending, BulkRowResult[] chunkResults, ChunkWriter<T> writer) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.write(pending, chunkResults));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("bulk import chunk failed - rows: {}~{}, message: {}",
+                    pending.isEmpty() ? 0 : pending.get(0).number(),
+                    pending.isEmpty() ? 0 : pending.get(pending.size() - 1).number(), e.getMessage());
+            // 검증 실패 사유는 남기고, 저장된 것으로 기록했던 행은 롤백되었으므로 실패로 바꿈
+            for (PendingRow<T> row : pending) {
+                if (chunkResults[row.index()] == null || chunkResults[row.index()].getError() == null) {
+                    chunkResults[row.index()] = BulkRowResult.failed(row.number(), "Insert failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void saveCompanies(List<PendingRow<CompanyRequest>> rows, BulkRowResult[] results) {
+        List<Company> companies = new ArrayList<>(rows.size());
+        List<PendingRow<CompanyRequest>> accepted = new ArrayList<>(rows.size());
+        for (PendingRow<CompanyRequest> row : rows) {
+            String error = validate(row.value());
+            if (error != null) {
+                results[row.index()] = BulkRowResult.failed(row.number(), error);
+                continue;
+            }
+            companies.add(new Company(row.value().getName(), row.value().getAddress()));
+            accepted.add(row);
+        }
+        companyRepository.saveAllAndFlush(companies);
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingRow<CompanyRequest> row = accepted.get(i);
+            results[row.index()] = BulkRowResult.created(row.number(), companies.get(i).getId());
+        }
+        entityManager.clear();
+    }
+
+    private void saveEmployees(List<PendingRow<EmployeeRequest>> rows, BulkRowResult[] results) {
+        Set<Long> companyIds = new HashSet<>();
+        for (PendingRow<EmployeeRequest> row : rows) {
+            if (row.value().getCompanyId() != null) {
+                companyIds.add(row.value().getCompanyId());
+            }
+        }
+        Set<Long> existingCompanyIds = companyIds.isEmpty() ? Set.of() : companyRepository.findExistingIds(companyIds);
+
+        List<Employee> employees = new ArrayList<>(rows.size());
+        List<PendingRow<EmployeeRequest>> accepted = new ArrayList<>(rows.size());
+        for (PendingRow<EmployeeRequest> row : rows) {
+            EmployeeRequest request = row.value();
+            String error = validate(request);
+            if (error == null && request.getCompanyId() != null && !existingCompanyIds.contains(request.getCompanyId())) {
+                error = "Company not found with id: " + request.getCompanyId();
+            }
+            if (error != null) {
+                results[row.index()] = BulkRowResult.failed(row.number(), error);
+                continue;
+            }
+            Employee employee = new Employee(request.getName(), request.getEmail(), request.getPosition());
+            if (request.getCompanyId() != null) {
+                // 존재 여부는 위에서 확인했으므로 조회 없이 프록시로 연결 (회사의 직원 컬렉션도 로딩하지 않음)
+                employee.setCompany(entityManager.getReference(Company.class, request.getCompanyId()));
+            }
+            employees.add(employee);
+            accepted.add(row);
+        }
+        employeeRepository.saveAllAndFlush(employees);
+        // 직원이 추가된 회사의 캐시된 응답(직원 목록)을 커밋 후 제거
+        CacheInvalidation.afterCommit(() -> existingCompanyIds.forEach(companyResponseCache::invalidate));
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingRow<EmployeeRequest> row = accepted.get(i);
+            results[row.index()] = BulkRowResult.created(row.number(), employees.get(i).getId());
+        }
+        // chunk 트랜잭션이 커밋되면 검색 인덱스 반영 대기열에 추가
+        employeeIndexOutbox.employeesChanged(employees.stream().map(Employee::getId).toList());
+        entityManager.clear();
+    }
+
+    private static String validate(CompanyRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "name is required";
+        }
+        if (request.getName().length() > 100) {
+            return "name must be at most 100 characters";
+        }
+        if (request.getAddress() != null && request.getAddress().length() > 200) {
+            return "address must be at most 200 characters";
+        }
+        return null;
+    }
+
+    private static String validate(EmployeeRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "name is required";
+        }
+        if (request.getName().length() > 50) {
+            return "name must be at most 50 characters";
+        }
+        if (request.getEmail() != null && request.getEmail().length() > 100) {
+            return "email must be at most 100 characters";
+        }
+        if (request.getPosition() != null && request.getPosition().length() > 50) {
+            return "position must be at most 50 characters";
+        }
+        return null;
+    }
+
+    /**
+     * chunk 안의 변환된 행 (index는 chunk 안 위치, number는 본문 전체 기준 행 번호)
+     */
+    private record PendingRow<T>(int index, int number, T value) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        void write(List<PendingRow<T>> rows, BulkRowResult[] results);
+    }
+}
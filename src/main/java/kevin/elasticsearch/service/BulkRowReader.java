@@ -0,0 +1,188 @@
+package kevin.elasticsearch.service;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * bulk 요청 본문을 한 행씩 JSON 객체로 읽음 (본문 전체를 메모리에 올리지 않고 chunk 단위로 꺼냄)
+ * - JSON: 객체 배열 ([{...}, {...}])
+ * - CSV: 첫 줄은 필드명 헤더 (name,email,position,companyId), 빈 값은 null, 큰따옴표로 감싼 값 지원 (값 안의 줄바꿈은 미지원)
+ * 본문 형식 자체가 잘못되면 IllegalArgumentException (이미 처리한 chunk는 그대로 저장됨)
+ */
+abstract class BulkRowReader implements AutoCloseable {
+
+    protected final JsonMapper jsonMapper;
+    private int rowNumber;
+
+    private BulkRowReader(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    static BulkRowReader json(InputStream body, JsonMapper jsonMapper) {
+        return new JsonArrayReader(body, jsonMapper);
+    }
+
+    static BulkRowReader csv(InputStream body, JsonMapper jsonMapper) {
+        return new CsvReader(body, jsonMapper);
+    }
+
+    /**
+     * 최대 size개 행 (남은 행이 없으면 빈 목록)
+     */
+    List<Row> nextChunk(int size) {
+        List<Row> chunk = new ArrayList<>(size);
+        JsonNode node;
+        while (chunk.size() < size && (node = next()) != null) {
+            chunk.add(new Row(++rowNumber, node));
+        }
+        return chunk;
+    }
+
+    protected abstract JsonNode next();
+
+    @Override
+    public abstract void close();
+
+    protected IllegalArgumentException invalidBody(String reason) {
+        return new IllegalArgumentException("Invalid bulk body at row " + (rowNumber + 1) + ": " + reason);
+    }
+
+    record Row(int number, JsonNode node) {
+    }
+
+    private static final class JsonArrayReader extends BulkRowReader {
+
+        private final JsonParser parser;
+        private boolean started;
+
+        private JsonArrayReader(InputStream body, JsonMapper jsonMapper) {
+            super(jsonMapper);
+            this.parser = jsonMapper.createParser(body);
+        }
+
+        @Override
+        protected JsonNode next() {
+            try {
+                if (!started) {
+                    started = true;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw invalidBody("expected a JSON array");
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    return null;
+                }
+                return jsonMapper.readTree(parser);
+            } catch (JacksonException e) {
+                throw invalidBody(e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            parser.close();
+        }
+    }
+
+    private static final class CsvReader extends BulkRowReader {
+
+        private final BufferedReader reader;
+        private String[] header;
+
+        private CsvReader(InputStream body, JsonMapper jsonMapper) {
+            super(jsonMapper);
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected JsonNode next() {
+            try {
+                if (header == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    header = split(stripBom(line)).toArray(String[]::new);
+                }
+                String line;
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+                if (line == null) {
+                    return null;
+                }
+                List<String> values = split(line);
+                if (values.size() > header.length) {
+                    throw invalidBody("expected " + header.length + " columns but got " + values.size());
+                }
+                ObjectNode node = jsonMapper.createObjectNode();
+                for (int i = 0; i < values.size(); i++) {
+                    if (!values.get(i).isEmpty()) {
+                        node.put(header[i].trim(), values.get(i));
+                    }
+                }
+                return node;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (quoted) {
+                throw invalidBody("unterminated quoted value");
+            }
+            values.add(value.toString());
+            return values;
+        }
+
+        private static String stripBom(String line) {
+            return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+        }
+
+        @Override
+        public void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package kevin.elasticsearch.service;
 
+import kevin.elasticsearch.cache.CacheInvalidation;
+import kevin.elasticsearch.cache.ReadThroughCache;
+import kevin.elasticsearch.datasource.ReadRouting;
 import kevin.elasticsearch.domain.Company;
 import kevin.elasticsearch.dto.CompanyRequest;
 import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.CursorPage;
+import kevin.elasticsearch.dto.EmployeeResponse;
 import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +26,10 @@ import java.util.stream.Collectors;
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
+    private final PaginationProperties paginationProperties;
+    private final ReadThroughCache<Long, CompanyResponse> companyResponseCache;
+    private final ReadThroughCache<Long, EmployeeResponse> employeeResponseCache;
+    private final EmployeeIndexOutbox employeeIndexOutbox;
 
     @Transactional
     public CompanyResponse createCompany(CompanyRequest request) {
@@ -28,18 +39,31 @@ public class CompanyService {
         return CompanyResponse.fromWithoutEmployees(savedCompany);
     }
 
+    /**
+     * id별 응답 캐시를 먼저 확인하고, 없으면 회사와 직원을 한 번에 조회해 캐시에 저장
+     * 캐시에 넣을 값은 primary에서 읽음 (replica 복제 지연으로 이전 값이 TTL 동안 남지 않도록)
+     */
     public CompanyResponse getCompany(Long id) {
         log.info("getCompany - id: {}", id);
-        Company company = companyRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + id));
-        return CompanyResponse.from(company);
+        return companyResponseCache.get(id, key -> ReadRouting.onPrimary(() ->
+                CompanyResponse.from(companyRepository.findWithEmployeesById(key)
+                        .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + key)))));
     }
 
-    public List<CompanyResponse> getAllCompanies() {
-        log.info("getAllCompanies");
-        return companyRepository.findAll().stream()
-                .map(CompanyResponse::from)
-                .collect(Collectors.toList());
+    /**
+     * id keyset 페이징: 페이지의 회사 id를 먼저 조회하고, 해당 회사와 직원을 한 번에 가져옴 (페이지당 쿼리 2개)
+     */
+    public CursorPage<CompanyResponse> getCompanies(String cursor, Integer size) {
+        log.info("getCompanies - cursor: {}, size: {}", cursor, size);
+        int pageSize = paginationProperties.resolveSize(size);
+        List<Long> ids = companyRepository.findIdsAfter(CursorPage.decodeCursor(cursor), PageRequest.ofSize(pageSize + 1));
+        CursorPage<Long> idPage = CursorPage.of(ids, pageSize, Long::longValue);
+        List<CompanyResponse> content = idPage.getContent().isEmpty()
+                ? List.of()
+                : companyRepository.findAllWithEmployeesByIdIn(idPage.getContent()).stream()
+                        .map(CompanyResponse::from)
+                        .collect(Collectors.toList());
+        return new CursorPage<>(content, idPage.getNext(), idPage.isHasNext());
     }
 
     @Transactional
@@ -49,6 +73,7 @@ public class CompanyService {
                 .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + id));
         
         company.updateInfo(request.getName(), request.getAddress());
+        invalidateCaches(id);
         return CompanyResponse.fromWithoutEmployees(company);
     }
 
@@ -59,5 +84,19 @@ public class CompanyService {
             throw new IllegalArgumentException("Company not found with id: " + id);
         }
         companyRepository.deleteById(id);
+        invalidateCaches(id);
+    }
+
+    /**
+     * 회사 응답과, 응답에 회사 정보를 담고 있는 소속 직원 응답을 커밋 후 제거
+     * 검색 문서에도 회사 이름이 들어 있으므로 소속 직원 문서를 다시 반영 (삭제된 회사면 문서 삭제)
+     */
+    private void invalidateCaches(Long companyId) {
+        CacheInvalidation.afterCommit(() -> {
+            companyResponseCache.invalidate(companyId);
+            employeeResponseCache.invalidateIf(employee ->
+                    employee.getCompany() != null && companyId.equals(employee.getCompany().getId()));
+        });
+        employeeIndexOutbox.companyChanged(companyId);
     }
 }
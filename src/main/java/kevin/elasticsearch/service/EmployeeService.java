@@ -1,18 +1,24 @@
 package kevin.elasticsearch.service;
 
+import kevin.elasticsearch.cache.CacheInvalidation;
+import kevin.elasticsearch.cache.ReadThroughCache;
+import kevin.elasticsearch.datasource.ReadRouting;
 import kevin.elasticsearch.domain.Company;
 import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.CursorPage;
 import kevin.elasticsearch.dto.EmployeeRequest;
 import kevin.elasticsearch.dto.EmployeeResponse;
 import kevin.elasticsearch.repository.CompanyRepository;
 import kevin.elasticsearch.repository.EmployeeRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +28,10 @@ public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
     private final CompanyRepository companyRepository;
+    private final PaginationProperties paginationProperties;
+    private final ReadThroughCache<Long, CompanyResponse> companyResponseCache;
+    private final ReadThroughCache<Long, EmployeeResponse> employeeResponseCache;
+    private final EmployeeIndexOutbox employeeIndexOutbox;
 
     @Transactional
     public EmployeeResponse createEmployee(EmployeeRequest request) {
@@ -33,31 +43,37 @@ public class EmployeeService {
             Company company = companyRepository.findById(request.getCompanyId())
                     .orElseThrow(() -> new IllegalArgumentException("Company not found with id: " + request.getCompanyId()));
             company.addEmployee(employee);
+            // 회사 응답의 직원 목록이 바뀜
+            invalidateCompany(company.getId());
         }
         
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeIndexOutbox.employeeChanged(savedEmployee.getId());
         return EmployeeResponse.from(savedEmployee);
     }
 
+    /**
+     * id별 응답 캐시를 먼저 확인하고, 없으면 primary에서 조회해 캐시에 저장
+     */
     public EmployeeResponse getEmployee(Long id) {
         log.info("getEmployee - id: {}", id);
-        Employee employee = employeeRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + id));
-        return EmployeeResponse.from(employee);
+        return employeeResponseCache.get(id, key -> ReadRouting.onPrimary(() ->
+                EmployeeResponse.from(employeeRepository.findById(key)
+                        .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + key)))));
     }
 
-    public List<EmployeeResponse> getAllEmployees() {
-        log.info("getAllEmployees");
-        return employeeRepository.findAll().stream()
-                .map(EmployeeResponse::from)
-                .collect(Collectors.toList());
-    }
-
-    public List<EmployeeResponse> getEmployeesByCompany(Long companyId) {
-        log.info("getEmployeesByCompany - companyId: {}", companyId);
-        return employeeRepository.findByCompanyId(companyId).stream()
-                .map(EmployeeResponse::from)
-                .collect(Collectors.toList());
+    /**
+     * id keyset 페이징 (companyId가 있으면 해당 회사 소속만), 회사 정보까지 조인 한 번으로 DTO에 바로 담음
+     */
+    public CursorPage<EmployeeResponse> getEmployees(Long companyId, String cursor, Integer size) {
+        log.info("getEmployees - companyId: {}, cursor: {}, size: {}", companyId, cursor, size);
+        int pageSize = paginationProperties.resolveSize(size);
+        long afterId = CursorPage.decodeCursor(cursor);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<EmployeeResponse> rows = companyId != null
+                ? employeeRepository.findResponsesByCompanyIdAfter(companyId, afterId, limit)
+                : employeeRepository.findResponsesAfter(afterId, limit);
+        return CursorPage.of(rows, pageSize, EmployeeResponse::getId);
     }
 
     @Transactional
@@ -68,6 +84,11 @@ public class EmployeeService {
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + id));
         
         employee.updateInfo(request.getName(), request.getEmail(), request.getPosition());
+        // 이전 회사와 새 회사 응답의 직원 목록이 모두 바뀜
+        invalidateEmployee(id);
+        if (employee.getCompany() != null) {
+            invalidateCompany(employee.getCompany().getId());
+        }
         
         if (request.getCompanyId() != null) {
             Company company = companyRepository.findById(request.getCompanyId())
@@ -77,6 +98,7 @@ public class EmployeeService {
                 employee.getCompany().removeEmployee(employee);
             }
             company.addEmployee(employee);
+            invalidateCompany(company.getId());
         }
         
         return EmployeeResponse.from(employee);
@@ -88,10 +110,24 @@ public class EmployeeService {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found with id: " + id));
         
+        invalidateEmployee(id);
         if (employee.getCompany() != null) {
+            invalidateCompany(employee.getCompany().getId());
             employee.getCompany().removeEmployee(employee);
         }
         
         employeeRepository.delete(employee);
     }
+
+    /**
+     * 커밋 후 캐시 제거 (커밋 전에 지우면 다른 요청이 이전 값을 다시 캐시할 수 있음), 검색 인덱스 반영 대기열에도 추가
+     */
+    private void invalidateEmployee(Long employeeId) {
+        CacheInvalidation.afterCommit(() -> employeeResponseCache.invalidate(employeeId));
+        employeeIndexOutbox.employeeChanged(employeeId);
+    }
+
+    private void invalidateCompany(Long companyId) {
+        CacheInvalidation.afterCommit(() -> companyResponseCache.invalidate(companyId));
+    }
 }
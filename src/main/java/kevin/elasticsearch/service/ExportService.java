@@ -0,0 +1,84 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.EmployeeResponse;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 직원/회사를 NDJSON(한 줄에 JSON 하나)으로 출력 스트림에 바로 씀
+ * DB 커서에서 읽은 행을 하나씩 직렬화하므로 메모리 사용량이 행 수와 관계없이 일정함
+ * - 첫 행을 쓰자마자 flush하여 클라이언트가 바로 응답을 받기 시작하고, 이후에는 CHUNK_ROWS행마다 flush
+ * - 엔티티를 읽는 회사 export는 CHUNK_ROWS행마다 영속성 컨텍스트를 비움
+ * 스트림 소비 동안 트랜잭션(커넥션)이 열려 있어야 하므로 StreamingResponseBody 안에서 호출
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int CHUNK_ROWS = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final CompanyRepository companyRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    public long exportEmployees(OutputStream out) {
+        try (Stream<EmployeeResponse> rows = employeeRepository.streamAllResponses()) {
+            long count = writeNdjson(rows, out, false);
+            log.info("exportEmployees - rows: {}", count);
+            return count;
+        }
+    }
+
+    /**
+     * 회사 기본 정보만 내보냄 (소속 직원은 직원 export의 company 필드로 확인)
+     */
+    public long exportCompanies(OutputStream out) {
+        try (Stream<Company> companies = companyRepository.streamAll()) {
+            long count = writeNdjson(companies.map(CompanyResponse::fromWithoutEmployees), out, true);
+            log.info("exportCompanies - rows: {}", count);
+            return count;
+        }
+    }
+
+    private long writeNdjson(Stream<?> rows, OutputStream out, boolean clearPersistenceContext) {
+        // 행마다 flush하지 않고, 응답 스트림은 호출 측이 닫음
+        ObjectWriter writer = jsonMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        long count = 0;
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                count++;
+                if (count == 1 || count % CHUNK_ROWS == 0) {
+                    generator.flush();
+                    if (clearPersistenceContext) {
+                        entityManager.clear();
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
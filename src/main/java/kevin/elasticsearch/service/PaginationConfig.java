@@ -0,0 +1,12 @@
+package kevin.elasticsearch.service;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 목록 API 페이지 크기 설정 등록
+ */
+@Configuration
+@EnableConfigurationProperties(PaginationProperties.class)
+public class PaginationConfig {
+}
@@ -0,0 +1,26 @@
+package kevin.elasticsearch.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 목록 API 페이지 크기 설정 (api.pagination.*)
+ *
+ * @param defaultSize size 파라미터가 없을 때의 페이지 크기
+ * @param maxSize     요청할 수 있는 최대 페이지 크기
+ */
+@ConfigurationProperties("api.pagination")
+public record PaginationProperties(
+        @DefaultValue("20") int defaultSize,
+        @DefaultValue("100") int maxSize) {
+
+    public int resolveSize(Integer size) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1 || size > maxSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxSize);
+        }
+        return size;
+    }
+}
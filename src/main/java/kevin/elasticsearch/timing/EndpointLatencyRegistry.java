@@ -0,0 +1,131 @@
+package kevin.elasticsearch.timing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP 메서드 + URI 템플릿(예: /api/companies/{id})별 응답 시간 히스토그램과 상태 코드별 응답 수
+ * - 시작 이후 누적 구간과 현재 롤업 구간을 함께 기록하고, rollup() 시 현재 구간을 새 것으로 바꿔 끼움
+ * - 매칭되는 핸들러가 없는 요청(404 등)은 URI 대신 UNMATCHED로 묶어 엔드포인트 수가 늘지 않게 함
+ * 기록 경로는 lock-free (ConcurrentHashMap 조회 + LongAdder/AtomicLongArray)
+ */
+@Component
+public class EndpointLatencyRegistry {
+
+    static final String UNMATCHED = "UNMATCHED";
+    private static final String OTHER = "OTHER";
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final int maxEndpoints;
+    private volatile List<LatencyRollup> lastInterval = List.of();
+
+    public EndpointLatencyRegistry(LatencyRollupProperties properties) {
+        this.maxEndpoints = properties.maxEndpoints();
+    }
+
+    public void record(String method, String route, int status, long nanos) {
+        String template = route != null ? route : UNMATCHED;
+        EndpointStats stats = endpoints.get(method + " " + template);
+        if (stats == null) {
+            // 엔드포인트 수 상한을 넘으면 OTHER 하나로 묶음
+            String key = endpoints.size() < maxEndpoints ? method + " " + template : method + " " + OTHER;
+            stats = endpoints.computeIfAbsent(key, k -> new EndpointStats(method, k.substring(method.length() + 1)));
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        stats.cumulative.record(micros, status);
+        stats.interval.get().record(micros, status);
+    }
+
+    /**
+     * 현재 구간을 닫고 엔드포인트별 요약을 반환 (기록이 없던 엔드포인트는 제외)
+     * 구간을 바꾸는 순간 기록 중이던 값은 다음 구간으로 넘어갈 수 있음
+     */
+    public List<LatencyRollup> rollup() {
+        long now = System.currentTimeMillis();
+        List<LatencyRollup> rollups = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            Window closed = stats.interval.getAndSet(new Window(now));
+            if (closed.histogram.count() > 0) {
+                rollups.add(closed.toRollup(stats.method, stats.route, now));
+            }
+        }
+        rollups.sort(ROLLUP_ORDER);
+        lastInterval = List.copyOf(rollups);
+        return lastInterval;
+    }
+
+    /**
+     * 마지막으로 닫힌 롤업 구간의 요약
+     */
+    public List<LatencyRollup> lastInterval() {
+        return lastInterval;
+    }
+
+    /**
+     * 애플리케이션 시작 이후 누적 요약
+     */
+    public List<LatencyRollup> sinceStart() {
+        long now = System.currentTimeMillis();
+        List<LatencyRollup> rollups = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            rollups.add(stats.cumulative.toRollup(stats.method, stats.route, now));
+        }
+        rollups.sort(ROLLUP_ORDER);
+        return rollups;
+    }
+
+    private static final Comparator<LatencyRollup> ROLLUP_ORDER =
+            Comparator.comparing(LatencyRollup::route).thenComparing(LatencyRollup::method);
+
+    private static final class EndpointStats {
+
+        private final String method;
+        private final String route;
+        private final Window cumulative = new Window(System.currentTimeMillis());
+        private final AtomicReference<Window> interval = new AtomicReference<>(new Window(System.currentTimeMillis()));
+
+        private EndpointStats(String method, String route) {
+            this.method = method;
+            this.route = route;
+        }
+    }
+
+    /**
+     * 한 구간의 히스토그램과 4xx/5xx 응답 수
+     */
+    private static final class Window {
+
+        private final long fromEpochMillis;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Window(long fromEpochMillis) {
+            this.fromEpochMillis = fromEpochMillis;
+        }
+
+        void record(long micros, int status) {
+            histogram.record(micros);
+            if (status >= 500) {
+                errors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        LatencyRollup toRollup(String method, String route, long toEpochMillis) {
+            long[] p = histogram.percentiles(50, 90, 99, 99.9);
+            return new LatencyRollup(method, route, histogram.count(), errors.sum(), clientErrors.sum(),
+                    histogram.mean() / 1000.0, p[0] / 1000.0, p[1] / 1000.0, p[2] / 1000.0, p[3] / 1000.0,
+                    histogram.max() / 1000.0, fromEpochMillis, toEpochMillis);
+        }
+    }
+}
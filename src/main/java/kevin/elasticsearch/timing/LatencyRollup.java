@@ -0,0 +1,23 @@
+package kevin.elasticsearch.timing;
+
+/**
+ * 엔드포인트 하나의 응답 시간 요약 (롤업 구간 또는 애플리케이션 시작 이후)
+ *
+ * @param errorCount       5xx 응답 수
+ * @param clientErrorCount 4xx 응답 수
+ */
+public record LatencyRollup(
+        String method,
+        String route,
+        long count,
+        long errorCount,
+        long clientErrorCount,
+        double meanMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs,
+        long fromEpochMillis,
+        long toEpochMillis) {
+}
@@ -0,0 +1,17 @@
+package kevin.elasticsearch.timing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 엔드포인트별 응답 시간 롤업 설정 (logging.latency-rollup.*)
+ * 전송 간격은 @Scheduled에서 logging.latency-rollup.interval(기본 60s)로 읽음
+ *
+ * @param enabled      롤업 문서 전송 여부 (꺼도 /internal/latency는 동작)
+ * @param maxEndpoints 따로 집계할 엔드포인트 수 상한 (넘으면 OTHER로 묶음)
+ */
+@ConfigurationProperties("logging.latency-rollup")
+public record LatencyRollupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("500") int maxEndpoints) {
+}
@@ -0,0 +1,50 @@
+package kevin.elasticsearch.timing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 롤업 구간마다 엔드포인트별 응답 시간 요약 문서를 한 건씩 로그로 보냄 (event.dataset: http.latency)
+ * 요청마다 문서를 남기지 않고도 Kibana에서 엔드포인트별 p50/p99 추이를 볼 수 있음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatencyRollupShipper {
+
+    private final EndpointLatencyRegistry registry;
+    private final LatencyRollupProperties properties;
+
+    @Scheduled(fixedRateString = "${logging.latency-rollup.interval:60s}",
+            initialDelayString = "${logging.latency-rollup.interval:60s}")
+    public void ship() {
+        // 전송을 꺼도 /internal/latency의 마지막 구간 값은 갱신
+        List<LatencyRollup> rollups = registry.rollup();
+        if (!properties.enabled()) {
+            return;
+        }
+        for (LatencyRollup rollup : rollups) {
+            log.atInfo()
+                    .addKeyValue("event.dataset", "http.latency")
+                    .addKeyValue("http.method", rollup.method())
+                    .addKeyValue("url.route", rollup.route())
+                    .addKeyValue("latency.from", Instant.ofEpochMilli(rollup.fromEpochMillis()).toString())
+                    .addKeyValue("latency.count", rollup.count())
+                    .addKeyValue("latency.error_count", rollup.errorCount())
+                    .addKeyValue("latency.client_error_count", rollup.clientErrorCount())
+                    .addKeyValue("latency.mean_ms", rollup.meanMs())
+                    .addKeyValue("latency.p50_ms", rollup.p50Ms())
+                    .addKeyValue("latency.p90_ms", rollup.p90Ms())
+                    .addKeyValue("latency.p99_ms", rollup.p99Ms())
+                    .addKeyValue("latency.p999_ms", rollup.p999Ms())
+                    .addKeyValue("latency.max_ms", rollup.maxMs())
+                    .log(rollup.method() + " " + rollup.route() + " - " + rollup.count() + " requests, p99 "
+                            + rollup.p99Ms() + " ms");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package kevin.elasticsearch.timing;
+
+/**
+ * 요청 하나의 단계별 시각/소요 시간 (요청 스레드의 ThreadLocal에 묶임)
+ * RequestLoggingFilter가 시작/종료하고, 각 단계는 다음이 기록함
+ * - handler: RequestTimingInterceptor (preHandle ~ afterCompletion)
+ * - serialization: RequestTimingAdvice (응답 본문 쓰기 직전 ~ afterCompletion)
+ * - SQL / transaction: TimingDataSourceBeanPostProcessor가 감싼 DataSource
+ * 요청 스레드에서만 갱신하므로 동기화하지 않음
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long handlerStartNanos;
+    private long serializationStartNanos;
+    private long handlerEndNanos;
+    private long sqlNanos;
+    private int sqlCount;
+    private int openConnections;
+    private long connectionOpenedNanos;
+    private long transactionNanos;
+
+    RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 현재 스레드에서 새 요청 측정을 시작
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * 현재 스레드의 측정 (요청 밖이면 null)
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public long startNanos() {
+        return startNanos;
+    }
+
+    void handlerStarted(long nanos) {
+        handlerStartNanos = nanos;
+    }
+
+    void serializationStarted(long nanos) {
+        // 예외 핸들러가 다시 본문을 쓰는 경우에도 처음 시각을 유지
+        if (serializationStartNanos == 0) {
+            serializationStartNanos = nanos;
+        }
+    }
+
+    void handlerCompleted(long nanos) {
+        handlerEndNanos = nanos;
+    }
+
+    void sqlExecuted(long nanos) {
+        sqlNanos += nanos;
+        sqlCount++;
+    }
+
+    /**
+     * 커넥션을 잡고 있던 시간을 트랜잭션 시간으로 봄 (JPA는 트랜잭션 시작 ~ 종료 동안 커넥션을 잡음)
+     */
+    void connectionOpened(long nanos) {
+        if (openConnections++ == 0) {
+            connectionOpenedNanos = nanos;
+        }
+    }
+
+    void connectionClosed(long nanos) {
+        if (openConnections > 0 && --openConnections == 0) {
+            transactionNanos += nanos - connectionOpenedNanos;
+        }
+    }
+
+    /**
+     * endNanos 시점의 단계별 소요 시간
+     * filter는 전체에서 handler와 serialization을 뺀 나머지 (필터 체인, DispatcherServlet 처리)
+     */
+    public Breakdown breakdown(long endNanos) {
+        long total = endNanos - startNanos;
+        long handlerEnd = handlerEndNanos != 0 ? handlerEndNanos : endNanos;
+        long handler = 0;
+        long serialization = 0;
+        if (handlerStartNanos != 0) {
+            long serializationStart = serializationStartNanos != 0 ? serializationStartNanos : handlerEnd;
+            handler = serializationStart - handlerStartNanos;
+            serialization = handlerEnd - serializationStart;
+        }
+        long transaction = transactionNanos + (openConnections > 0 ? endNanos - connectionOpenedNanos : 0);
+        return new Breakdown(total, total - handler - serialization, handler, serialization, transaction, sqlNanos, sqlCount);
+    }
+
+    /**
+     * 단계별 소요 시간 (ns)
+     */
+    public record Breakdown(long totalNanos, long filterNanos, long handlerNanos, long serializationNanos,
+                            long transactionNanos, long sqlNanos, int sqlCount) {
+    }
+}
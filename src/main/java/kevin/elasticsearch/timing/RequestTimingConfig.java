@@ -0,0 +1,28 @@
+package kevin.elasticsearch.timing;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 요청별 단계 시간 측정 구성: handler 인터셉터 등록, DataSource 프록시, 응답 시간 롤업 설정
+ */
+@Configuration
+@EnableConfigurationProperties({RequestTimingProperties.class, LatencyRollupProperties.class})
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestTimingInterceptor());
+    }
+
+    /**
+     * BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static으로 등록
+     */
+    @Bean
+    public static TimingDataSourceBeanPostProcessor timingDataSourceBeanPostProcessor() {
+        return new TimingDataSourceBeanPostProcessor();
+    }
+}
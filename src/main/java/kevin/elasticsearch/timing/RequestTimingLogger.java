@@ -0,0 +1,68 @@
+package kevin.elasticsearch.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나당 단계별 소요 시간 문서 한 건을 로그로 남김 (event.dataset: request.timing)
+ * - slowThreshold 이상: 항상 WARN
+ * - 그 외: sampleRate 비율로만 INFO
+ * 시간 필드는 SLF4J key-value로 붙이므로 ElasticsearchAppender가 문서의 숫자 필드(timing.*_us)로 보냄
+ * 메시지는 미리 만들어 넘기므로 LogSuppressor의 같은 템플릿 묶음 대상이 되지 않음 (logger별 초당 예산은 적용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestTimingLogger {
+
+    private final RequestTimingProperties properties;
+
+    public void record(HttpServletRequest request, HttpServletResponse response, RequestTiming timing, long endNanos) {
+        if (!properties.enabled()) {
+            return;
+        }
+        RequestTiming.Breakdown breakdown = timing.breakdown(endNanos);
+        boolean slow = breakdown.totalNanos() >= properties.slowThreshold().toNanos();
+        if (!slow && ThreadLocalRandom.current().nextDouble() >= properties.sampleRate()) {
+            return;
+        }
+
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String message = request.getMethod() + " " + request.getRequestURI() + " " + response.getStatus()
+                + " - total " + millis(breakdown.totalNanos()) + " ms (handler " + millis(breakdown.handlerNanos())
+                + " ms, serialization " + millis(breakdown.serializationNanos()) + " ms, sql " + millis(breakdown.sqlNanos())
+                + " ms / " + breakdown.sqlCount() + " statements)";
+
+        log.atLevel(slow ? Level.WARN : Level.INFO)
+                .addKeyValue("event.dataset", "request.timing")
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("url.route", route != null ? route.toString() : null)
+                .addKeyValue("http.status", response.getStatus())
+                .addKeyValue("timing.slow", slow)
+                .addKeyValue("timing.total_us", micros(breakdown.totalNanos()))
+                .addKeyValue("timing.filter_us", micros(breakdown.filterNanos()))
+                .addKeyValue("timing.handler_us", micros(breakdown.handlerNanos()))
+                .addKeyValue("timing.serialization_us", micros(breakdown.serializationNanos()))
+                .addKeyValue("timing.transaction_us", micros(breakdown.transactionNanos()))
+                .addKeyValue("timing.sql_us", micros(breakdown.sqlNanos()))
+                .addKeyValue("timing.sql_count", breakdown.sqlCount())
+                .log(message);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static double millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+}
@@ -0,0 +1,20 @@
+package kevin.elasticsearch.timing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 요청별 단계 시간 문서 설정 (logging.request-timing.*)
+ *
+ * @param enabled       문서 기록 여부
+ * @param slowThreshold 이 시간 이상 걸린 요청은 항상 WARN으로 기록
+ * @param sampleRate    그보다 빠른 요청을 기록할 비율 (0 ~ 1, 0이면 느린 요청만)
+ */
+@ConfigurationProperties("logging.request-timing")
+public record RequestTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("500ms") Duration slowThreshold,
+        @DefaultValue("0.01") double sampleRate) {
+}
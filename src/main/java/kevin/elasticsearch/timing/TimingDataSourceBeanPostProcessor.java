@@ -0,0 +1,128 @@
+package kevin.elasticsearch.timing;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+/**
+ * DataSource 빈을 JDK 프록시로 감싸 요청별 SQL 실행 시간/횟수와 커넥션 점유 시간을 RequestTiming에 기록
+ * - Statement의 execute* 호출 시간만 잼 (ResultSet을 읽는 시간은 포함하지 않음)
+ * - 요청 밖(스키마 초기화, 배치 등)에서는 기록 없이 그대로 위임
+ * unwrap/isWrapperFor는 원본으로 위임되므로 HikariDataSource 지표 수집 등에는 영향 없음
+ */
+public class TimingDataSourceBeanPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(Proxy.isProxyClass(bean.getClass())
+                && Proxy.getInvocationHandler(bean) instanceof DataSourceHandler)) {
+            return proxy(DataSource.class, new DataSourceHandler(dataSource));
+        }
+        return bean;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TimingDataSourceBeanPostProcessor.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * equals/hashCode는 프록시 자신을 기준으로 처리 (원본과 비교하면 컬렉션에서 어긋남)
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class DataSourceHandler extends DelegatingHandler {
+
+        private final DataSource target;
+
+        private DataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = TimingDataSourceBeanPostProcessor.invoke(target, method, args);
+            RequestTiming timing = RequestTiming.current();
+            if (timing != null && result instanceof Connection connection) {
+                timing.connectionOpened(System.nanoTime());
+                return proxy(Connection.class, new ConnectionHandler(connection, timing));
+            }
+            return result;
+        }
+    }
+
+    private static final class ConnectionHandler extends DelegatingHandler {
+
+        private final Connection target;
+        private final RequestTiming timing;
+        private boolean closed;
+
+        private ConnectionHandler(Connection target, RequestTiming timing) {
+            this.target = target;
+            this.timing = timing;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = TimingDataSourceBeanPostProcessor.invoke(target, method, args);
+            String name = method.getName();
+            if (name.equals("close") && !closed) {
+                closed = true;
+                timing.connectionClosed(System.nanoTime());
+            } else if (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall")) {
+                // Statement / PreparedStatement / CallableStatement 중 메서드가 돌려주는 타입으로 감쌈
+                return proxy(method.getReturnType(), new StatementHandler(result, timing));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends DelegatingHandler {
+
+        private final Object target;
+        private final RequestTiming timing;
+
+        private StatementHandler(Object target, RequestTiming timing) {
+            this.target = target;
+            this.timing = timing;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return TimingDataSourceBeanPostProcessor.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return TimingDataSourceBeanPostProcessor.invoke(target, method, args);
+            } finally {
+                timing.sqlExecuted(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package kevin.elasticsearch.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void servesHitsAndEvictsLeastRecentlyUsed() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 16, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int round = 0; round < 3; round++) {
+            assertThat(cache.get(1L, key -> "company-" + key + "-" + loads.incrementAndGet())).isEqualTo("company-1-1");
+        }
+        // stripe당 1개씩만 담기므로 같은 stripe의 다른 키가 들어오면 1L이 밀려남
+        cache.get(17L, key -> "company-" + key);
+        cache.get(1L, key -> "company-" + key + "-" + loads.incrementAndGet());
+
+        CacheStats stats = cache.stats();
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(3);
+        assertThat(stats.evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 100, Duration.ofMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, key -> "v" + loads.incrementAndGet());
+        Thread.sleep(40);
+
+        assertThat(cache.get(1L, key -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void invalidatesByKeyAndByValue() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 100, Duration.ofMinutes(5));
+        cache.get(1L, key -> "company-7");
+        cache.get(2L, key -> "company-7");
+        cache.get(3L, key -> "company-8");
+
+        cache.invalidate(3L);
+        cache.invalidateIf(value -> value.equals("company-7"));
+
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void coalescesConcurrentMissesIntoOneLoad() throws Exception {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 100, Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(1L, key -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "company-1";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("company-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().coalesced()).isEqualTo(7);
+    }
+
+    @Test
+    void doesNotCacheValueLoadedBeforeInvalidation() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 100, Duration.ofMinutes(5));
+
+        // 로딩 도중 쓰기 트랜잭션이 커밋되어 무효화된 경우
+        assertThat(cache.get(1L, key -> {
+            cache.invalidate(key);
+            return "stale";
+        })).isEqualTo("stale");
+
+        assertThat(cache.get(1L, key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void propagatesLoaderFailureWithoutCaching() {
+        ReadThroughCache<Long, String> cache = new ReadThroughCache<>("test", 100, Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> cache.get(1L, key -> {
+            throw new IllegalArgumentException("Company not found with id: " + key);
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cache.get(1L, key -> "created")).isEqualTo("created");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
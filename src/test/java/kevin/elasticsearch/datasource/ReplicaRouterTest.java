@@ -0,0 +1,167 @@
+package kevin.elasticsearch.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 DB 여러 개(primary, replica)로 라우팅 검증
+ * 각 DB의 marker 테이블에 자기 이름을 넣어두고, 어느 DB에서 읽었는지 확인
+ */
+class ReplicaRouterTest {
+
+    private static final String UNREACHABLE = "jdbc:h2:tcp://127.0.0.1:1/unreachable";
+
+    private ReplicaRouter router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ReadRouting.clear();
+        if (router != null) {
+            router.close();
+        }
+    }
+
+    @Test
+    void balancesReadOnlyTransactionsAcrossReplicasAndSendsWritesToPrimary() throws SQLException {
+        setUp(Duration.ZERO, database("replica-a"), database("replica-b"));
+
+        List<String> reads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            reads.add(readOnly.execute(status -> whoAmI()));
+        }
+
+        assertThat(reads).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        assertThat(readWrite.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(router.status()).extracting(ReplicaStatus::reads).containsExactly(2L, 2L);
+        assertThat(router.primaryReads()).isZero();
+    }
+
+    @Test
+    void skipsUnhealthyReplicaAndFallsBackToPrimaryWhenNoneIsLeft() throws SQLException {
+        setUp(Duration.ZERO, UNREACHABLE, database("replica-b"));
+
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-b");
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-b");
+        assertThat(router.status()).extracting(ReplicaStatus::healthy).containsExactly(false, true);
+
+        router.checkHealth();
+        assertThat(router.status()).extracting(ReplicaStatus::healthy).containsExactly(false, true);
+
+        router.close();
+        setUp(Duration.ZERO, UNREACHABLE);
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(router.primaryReads()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsSaturatedReplicaHealthyAndTriesTheNextOne() throws SQLException {
+        setUp(1, Duration.ZERO, database("replica-a"), database("replica-b"));
+
+        // 풀 크기 1인 replica-a의 커넥션을 붙잡아 두어 다음 요청이 대기 시간 초과로 실패하게 함
+        try (Connection held = router.readConnection()) {
+            assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-b");
+            assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-b");
+
+            router.checkHealth();
+            assertThat(router.status()).extracting(ReplicaStatus::healthy).containsExactly(true, true);
+        }
+
+        // 커넥션을 돌려주면 replica-a도 바로 다시 사용
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-b");
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-a");
+        assertThat(router.primaryReads()).isZero();
+    }
+
+    @Test
+    void readsOwnWritesWithinWindow() throws SQLException {
+        setUp(Duration.ofSeconds(5), database("replica-a"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-a");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update marker set name = name"));
+
+        // 같은 요청의 이후 읽기와, 쿠키를 돌려보내는 다음 요청은 primary
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(response.getCookie(ReadRouting.COOKIE_NAME)).isNotNull();
+        assertThat(Long.parseLong(response.getCookie(ReadRouting.COOKIE_NAME).getValue()))
+                .isGreaterThan(System.currentTimeMillis());
+
+        ReadRouting.clear();
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-a");
+    }
+
+    @Test
+    void onPrimaryOverridesReplicaRouting() throws SQLException {
+        setUp(Duration.ZERO, database("replica-a"));
+
+        assertThat(ReadRouting.onPrimary(() -> readOnly.execute(status -> whoAmI()))).isEqualTo("primary");
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica-a");
+    }
+
+    private void setUp(Duration readYourWritesWindow, String... replicaUrls) throws SQLException {
+        setUp(2, readYourWritesWindow, replicaUrls);
+    }
+
+    private void setUp(int maximumPoolSize, Duration readYourWritesWindow, String... replicaUrls) throws SQLException {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl(database("primary"));
+        primary.setUsername("sa");
+
+        List<DataSourceRoutingProperties.Replica> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            replicas.add(new DataSourceRoutingProperties.Replica(url, "sa", ""));
+        }
+        router = new ReplicaRouter(primary, new DataSourceRoutingProperties(true, replicas, maximumPoolSize,
+                Duration.ofMillis(500), Duration.ofSeconds(5), readYourWritesWindow));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router.primaryDataSource());
+        dataSource.setReadOnlyDataSource(router.readOnlyDataSource());
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    /**
+     * 이름이 marker 테이블에 들어 있는 내장 DB를 만들고 URL을 반환 (테스트마다 새 DB)
+     */
+    private static String database(String name) throws SQLException {
+        String url = "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table marker (name varchar(50))");
+            statement.execute("insert into marker values ('" + name + "')");
+        }
+        return url;
+    }
+}
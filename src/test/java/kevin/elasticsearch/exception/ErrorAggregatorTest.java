@@ -0,0 +1,54 @@
+package kevin.elasticsearch.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorAggregatorTest {
+
+    private static final long NOW = 1765270245000L;
+
+    private final ErrorAggregator aggregator = new ErrorAggregator(new ErrorAggregationProperties(false, 500, 20));
+
+    @Test
+    void ranksGroupsBySlidingWindowCount() {
+        for (int i = 0; i < 3; i++) {
+            aggregator.record(notFound(), "/api/companies/{id}", NOW - TimeUnit.MINUTES.toMillis(10));
+        }
+        for (int i = 0; i < 2; i++) {
+            aggregator.record(notFound(), "/api/companies/{id}", NOW - TimeUnit.MINUTES.toMillis(3));
+        }
+        aggregator.record(new IllegalStateException("boom"), "/api/employees", NOW);
+
+        List<ErrorSummary> lastMinute = aggregator.top(ErrorWindow.ONE_MINUTE, 10, NOW);
+        List<ErrorSummary> lastHour = aggregator.top(ErrorWindow.ONE_HOUR, 10, NOW);
+
+        assertThat(lastMinute).singleElement().satisfies(summary -> {
+            assertThat(summary.exceptionType()).isEqualTo(IllegalStateException.class.getName());
+            assertThat(summary.route()).isEqualTo("/api/employees");
+        });
+        assertThat(lastHour).extracting(ErrorSummary::count).containsExactly(5L, 1L);
+        assertThat(lastHour.get(0).count5m()).isEqualTo(2);
+        assertThat(lastHour.get(0).throwSite()).startsWith("ErrorAggregatorTest.notFound:");
+        assertThat(lastHour.get(0).lastMessage()).isEqualTo("Company not found with id: 42");
+    }
+
+    @Test
+    void separatesRoutesAndEvictsIdleGroups() {
+        aggregator.record(notFound(), "/api/companies/{id}", NOW);
+        aggregator.record(notFound(), null, NOW);
+
+        assertThat(aggregator.top(ErrorWindow.FIVE_MINUTES, 10, NOW)).extracting(ErrorSummary::route)
+                .containsExactlyInAnyOrder("/api/companies/{id}", ErrorAggregator.UNMATCHED);
+
+        aggregator.evictIdle(NOW + TimeUnit.HOURS.toMillis(1));
+        assertThat(aggregator.top(ErrorWindow.ONE_HOUR, 10, NOW)).isEmpty();
+    }
+
+    private static IllegalArgumentException notFound() {
+        return new IllegalArgumentException("Company not found with id: 42");
+    }
+}
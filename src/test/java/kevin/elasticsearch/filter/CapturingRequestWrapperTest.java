@@ -0,0 +1,86 @@
+package kevin.elasticsearch.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapturingRequestWrapperTest {
+
+    private final RequestBodyCapture capture = new RequestBodyCapture(new RequestBodyCaptureProperties(
+            true, 16, List.of("/api/**"), List.of("/api/uploads/**"), List.of("application/json", "text/*"), 1.0, 4));
+
+    @Test
+    void capturesBodyAsItIsReadUpToMaxLength() throws Exception {
+        CapturingRequestWrapper wrapper = capture.wrap(request("/api/companies", "application/json", "{\"name\":\"한글 회사 이름\"}"));
+        assertThat(wrapper.capturedBody()).isNull();
+
+        String read = new String(wrapper.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        assertThat(read).isEqualTo("{\"name\":\"한글 회사 이름\"}");
+        CapturingRequestWrapper.CapturedBody body = wrapper.capturedBody();
+        assertThat(body.length()).isEqualTo(16);
+        assertThat(body.truncated()).isTrue();
+        assertThat(body.toString()).startsWith("{\"name\":\"한글").endsWith("...(truncated)");
+    }
+
+    @Test
+    void keepsHandedOutBodyReadableAfterRelease() throws Exception {
+        CapturingRequestWrapper wrapper = capture.wrap(request("/api/companies", "application/json", "{\"id\":1}"));
+        wrapper.getReader().lines().forEach(line -> { });
+        CapturingRequestWrapper.CapturedBody body = wrapper.capturedBody();
+
+        wrapper.release();
+
+        assertThat(body.toString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void keepsHandedOutBodyAfterPooledBufferIsReused() throws Exception {
+        CapturingRequestWrapper first = capture.wrap(request("/api/companies", "application/json", "{\"id\":1}"));
+        first.getInputStream().readAllBytes();
+        CapturingRequestWrapper.CapturedBody handedOut = first.capturedBody();
+        first.release();
+
+        // 반납된 버퍼를 다음 요청이 다시 빌려 다른 본문으로 덮어씀
+        CapturingRequestWrapper second = capture.wrap(request("/api/companies", "application/json", "{\"id\":2}"));
+        second.getInputStream().readAllBytes();
+
+        assertThat(handedOut.toString()).isEqualTo("{\"id\":1}");
+        assertThat(second.capturedBody().toString()).isEqualTo("{\"id\":2}");
+        second.release();
+    }
+
+    @Test
+    void doesNotReadBufferForViewCreatedAfterRelease() throws Exception {
+        CapturingRequestWrapper first = capture.wrap(request("/api/companies", "application/json", "{\"id\":1}"));
+        first.getInputStream().readAllBytes();
+        first.release();
+
+        CapturingRequestWrapper second = capture.wrap(request("/api/companies", "application/json", "{\"id\":2}"));
+        second.getInputStream().readAllBytes();
+
+        // 반납 전에 넘겨준 적이 없으면 고정된 문자열도 없으므로, 남의 본문 대신 N/A
+        assertThat(first.capturedBody().toString()).isEqualTo("N/A");
+        second.release();
+    }
+
+    @Test
+    void skipsExcludedPathsAndContentTypes() {
+        assertThat(capture.wrap(request("/api/uploads/logo", "application/json", "{}"))).isNull();
+        assertThat(capture.wrap(request("/api/companies", "multipart/form-data; boundary=x", "--x"))).isNull();
+        assertThat(capture.wrap(request("/actuator/health", "application/json", "{}"))).isNull();
+        assertThat(capture.wrap(request("/api/companies", "text/plain; charset=UTF-8", "hello"))).isNotNull();
+    }
+
+    private static MockHttpServletRequest request(String uri, String contentType, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(contentType);
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
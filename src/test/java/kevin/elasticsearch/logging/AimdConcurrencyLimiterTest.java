@@ -0,0 +1,66 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimiterTest {
+
+    @Test
+    void rejectsRequestsAboveTheLimit() throws Exception {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(1, 2);
+
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(0)).isTrue();
+        assertThat(limiter.tryAcquire(0)).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+
+        limiter.release(false);
+        assertThat(limiter.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    void halvesLimitOnOverloadDownToMinimum() throws Exception {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 16);
+
+        limiter.onOverload();
+        assertThat(limiter.limit()).isEqualTo(8);
+        // 같은 과부하로 동시에 실패한 요청들은 한 번만 반영
+        limiter.onOverload();
+        assertThat(limiter.limit()).isEqualTo(8);
+
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(250);
+            limiter.onOverload();
+        }
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void growsAdditivelyUpToMaximum() throws Exception {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(1, 4);
+        limiter.onOverload();
+        Thread.sleep(250);
+        limiter.onOverload();
+        assertThat(limiter.limit()).isEqualTo(1);
+
+        // 성공할 때마다 1/limit씩 늘어 한도 하나를 올리는 데 대략 limit번의 성공이 필요함
+        succeed(limiter, 1);
+        assertThat(limiter.limit()).isEqualTo(2);
+        succeed(limiter, 1);
+        assertThat(limiter.limit()).isEqualTo(2);
+        succeed(limiter, 1);
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        succeed(limiter, 100);
+        assertThat(limiter.limit()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static void succeed(AimdConcurrencyLimiter limiter, int requests) throws InterruptedException {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limiter.tryAcquire(0)).isTrue();
+            limiter.release(false);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppenderMetricsTest {
+
+    @TempDir
+    Path journalDir;
+
+    private StubElasticsearchServer server;
+    private ElasticsearchAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubElasticsearchServer();
+        LoggerContext context = new LoggerContext();
+        appender = new ElasticsearchAppender();
+        appender.setContext(context);
+        appender.setName("ELASTIC-METRICS");
+        appender.setElasticsearchUrl(server.url());
+        appender.setInstallIndexTemplate(false);
+        appender.setSuppressionEnabled(false);
+        appender.setBatchSize(10);
+        appender.setRetryMaxAttempts(1);
+        logger = context.getLogger("kevin.elasticsearch.service.OrderService");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender.isStarted()) {
+            appender.stop();
+        }
+        server.close();
+    }
+
+    @Test
+    void snapshotCopiesCountersFlushStatsAndGauges() {
+        AppenderMetrics metrics = new AppenderMetrics();
+        metrics.eventsAccepted.add(10);
+        metrics.eventsDropped.add(1);
+        metrics.eventsSuppressed.add(2);
+        metrics.eventsSpilled.add(3);
+        metrics.eventsDelivered.add(4);
+        metrics.eventsFailed.add(5);
+        metrics.retries.add(6);
+        metrics.recordFlush(new BulkBatch.BulkBody(new byte[0], 2048, 20), System.nanoTime());
+        metrics.recordFlush(new BulkBatch.BulkBody(new byte[0], 1024, 4), System.nanoTime());
+
+        AppenderMetricsSnapshot snapshot = metrics.snapshot(
+                new AppenderMetrics.Gauges(7, 8192, 3, 2, 1, 4, 3, "HALF_OPEN", 4096));
+
+        assertThat(snapshot.eventsAccepted()).isEqualTo(10);
+        assertThat(snapshot.eventsDropped()).isEqualTo(1);
+        assertThat(snapshot.eventsSuppressed()).isEqualTo(2);
+        assertThat(snapshot.eventsSpilled()).isEqualTo(3);
+        assertThat(snapshot.eventsDelivered()).isEqualTo(4);
+        assertThat(snapshot.eventsFailed()).isEqualTo(5);
+        assertThat(snapshot.retries()).isEqualTo(6);
+        assertThat(snapshot.batchesSent()).isEqualTo(2);
+        assertThat(snapshot.bytesSent()).isEqualTo(3072);
+        assertThat(snapshot.batchSizeMax()).isEqualTo(20);
+        assertThat(snapshot.queueDepth()).isEqualTo(7);
+        assertThat(snapshot.queueCapacity()).isEqualTo(8192);
+        assertThat(snapshot.aliveNodes()).isEqualTo(2);
+        assertThat(snapshot.concurrencyLimit()).isEqualTo(3);
+        assertThat(snapshot.circuitState()).isEqualTo("HALF_OPEN");
+        assertThat(snapshot.journalBytes()).isEqualTo(4096);
+    }
+
+    @Test
+    void countsDeliveredAndFailedEvents() {
+        // 5개 중 1개는 다시 보내도 소용없는 400으로 거절
+        server.failEveryNthItem(5, 400);
+        appender.start();
+
+        log(20);
+        appender.stop();
+
+        AppenderMetricsSnapshot snapshot = appender.metricsSnapshot();
+        assertThat(snapshot.eventsAccepted()).isEqualTo(20);
+        assertThat(snapshot.eventsDelivered()).isEqualTo(16);
+        assertThat(snapshot.eventsFailed()).isEqualTo(4);
+        assertThat(snapshot.eventsDropped()).isZero();
+        assertThat(snapshot.eventsSpilled()).isZero();
+        assertThat(snapshot.batchesSent()).isEqualTo(2);
+    }
+
+    @Test
+    void countsDroppedEventsWhenRetriesRunOutWithoutJournal() {
+        server.rejectNextRequests(100, 503);
+        appender.start();
+
+        log(10);
+        appender.stop();
+
+        AppenderMetricsSnapshot snapshot = appender.metricsSnapshot();
+        assertThat(snapshot.eventsAccepted()).isEqualTo(10);
+        assertThat(snapshot.eventsDropped()).isEqualTo(10);
+        assertThat(snapshot.eventsDelivered()).isZero();
+        assertThat(snapshot.eventsSpilled()).isZero();
+    }
+
+    @Test
+    void countsSpilledEventsWhenRetriesRunOutWithJournal() {
+        server.rejectNextRequests(100, 503);
+        appender.setJournalDir(journalDir.toString());
+        appender.start();
+
+        log(10);
+        appender.stop();
+
+        AppenderMetricsSnapshot snapshot = appender.metricsSnapshot();
+        assertThat(snapshot.eventsAccepted()).isEqualTo(10);
+        assertThat(snapshot.eventsSpilled()).isEqualTo(10);
+        assertThat(snapshot.eventsDropped()).isZero();
+        assertThat(snapshot.eventsDelivered()).isZero();
+    }
+
+    private void log(int count) {
+        for (int i = 0; i < count; i++) {
+            logger.info("order {} placed", i);
+        }
+    }
+}
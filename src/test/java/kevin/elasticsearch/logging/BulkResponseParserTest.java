@@ -0,0 +1,65 @@
+package kevin.elasticsearch.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkResponseParserTest {
+
+    private final BulkResponseParser parser = new BulkResponseParser(new ObjectMapper());
+
+    @Test
+    void skipsItemsWhenNoErrors() throws Exception {
+        // errors=false면 항목 내용과 관계없이 실패 없음으로 봄
+        BulkResponseParser.BulkResult result = parser.parse(bytes("""
+                {"took":3,"errors":false,"items":[
+                  {"index":{"_index":"application-logs-2025.12.09","status":201,"result":"created"}},
+                  {"create":{"_index":"application-logs","status":201,"result":"created"}},
+                  {"index":{"status":429,"error":{"type":"ignored"}}}
+                ]}"""));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hasFailures()).isFalse();
+    }
+
+    @Test
+    void collectsFailedItemsWithTheirPositions() throws Exception {
+        BulkResponseParser.BulkResult result = parser.parse(bytes("""
+                {"took":3,"errors":true,"items":[
+                  {"index":{"status":201,"result":"created"}},
+                  {"create":{"status":429,"error":{"type":"es_rejected_execution_exception","reason":"rejected execution"}}},
+                  {"index":{"status":400,"error":{"type":"mapper_parsing_exception","reason":"failed to parse field [level]"}}},
+                  {},
+                  {"index":{"status":503,"error":{"type":"unavailable_shards_exception"}}}
+                ]}"""));
+
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.failures()).containsExactly(
+                new BulkResponseParser.ItemFailure(1, 429, "es_rejected_execution_exception", "rejected execution"),
+                new BulkResponseParser.ItemFailure(2, 400, "mapper_parsing_exception", "failed to parse field [level]"),
+                new BulkResponseParser.ItemFailure(4, 503, "unavailable_shards_exception", ""));
+    }
+
+    @Test
+    void rejectsMalformedResponses() throws Exception {
+        // 프록시가 돌려준 HTML이나 중간에 끊긴 본문은 해석 실패로 알림
+        assertThatThrownBy(() -> parser.parse(bytes("<html><body>502 Bad Gateway</body></html>")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> parser.parse(bytes("{\"errors\":true,\"items\":[{\"index\":{\"status\":201")))
+                .isInstanceOf(IOException.class);
+
+        // items가 없는 응답은 항목 0개로 봄
+        BulkResponseParser.BulkResult empty = parser.parse(bytes("{\"acknowledged\":true}"));
+        assertThat(empty.total()).isZero();
+        assertThat(empty.hasFailures()).isFalse();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
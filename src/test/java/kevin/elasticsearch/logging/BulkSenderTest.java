@@ -0,0 +1,132 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkSenderTest {
+
+    private final BufferPool bufferPool = new BufferPool(8, 1024, 1024 * 1024);
+    private final AppenderMetrics metrics = new AppenderMetrics();
+    private StubElasticsearchServer server;
+    private ElasticsearchTransport transport;
+    private CircuitBreaker circuitBreaker;
+    private BulkSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubElasticsearchServer();
+        transport = new ElasticsearchTransport(server.url(), new ElasticsearchTransport.Settings(1000, 5000, -1, 4), bufferPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sender != null) {
+            sender.close(1000);
+        }
+        transport.close();
+        server.close();
+    }
+
+    @Test
+    void slicesSelectedItemsFromBulkBody() {
+        BulkBatch source = batch(0, 4);
+        BulkBatch.BulkBody body = source.detach();
+
+        BulkBatch retry = new BulkBatch(bufferPool);
+        retry.addItems(body, List.of(0, 2, 3));
+        BulkBatch.BulkBody sliced = retry.detach();
+
+        assertThat(sliced.count()).isEqualTo(3);
+        assertThat(new String(sliced.buffer(), 0, sliced.length(), StandardCharsets.UTF_8))
+                .isEqualTo(item(0) + item(2) + item(3));
+    }
+
+    @Test
+    void retriesOnlyItemsRejectedWithRetryableStatus() throws Exception {
+        // 8개 중 4번째, 8번째 항목(순번 3, 7)이 429로 거절됨
+        server.failEveryNthItem(4, 429);
+        sender = sender(new CircuitBreaker(5, 1000, 1000));
+
+        sender.send(batch(0, 8).detach(), true);
+
+        await(() -> metrics.eventsDelivered.sum() == 8);
+        List<StubElasticsearchServer.RecordedRequest> requests = server.requests();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).body()).isEqualTo(item(3) + item(7));
+        assertThat(server.documentsIndexed()).isEqualTo(8);
+        assertThat(metrics.retries.sum()).isEqualTo(1);
+        assertThat(metrics.eventsFailed.sum()).isZero();
+    }
+
+    @Test
+    void reportsItemsRejectedWithPermanentStatusWithoutRetry() throws Exception {
+        server.failEveryNthItem(2, 400);
+        sender = sender(new CircuitBreaker(5, 1000, 1000));
+
+        sender.send(batch(0, 4).detach(), true);
+
+        await(() -> metrics.eventsFailed.sum() == 2);
+        Thread.sleep(200);
+        assertThat(server.requests()).hasSize(1);
+        assertThat(metrics.eventsDelivered.sum()).isEqualTo(2);
+        assertThat(sender.pendingRetries()).isZero();
+    }
+
+    @Test
+    void sendsOneProbeAtATimeWhileHalfOpen() throws Exception {
+        server.setLatencyMs(50);
+        server.rejectNextRequests(1, 503);
+        circuitBreaker = new CircuitBreaker(1, 200, 1000);
+        sender = sender(circuitBreaker);
+
+        sender.send(batch(0, 2).detach(), true);
+        await(() -> circuitBreaker.state() == CircuitBreaker.State.OPEN);
+        // 브레이커가 열려 있는 동안 들어온 배치는 재시도 대기열에서 기다림
+        sender.send(batch(2, 2).detach(), true);
+        sender.send(batch(4, 2).detach(), true);
+
+        await(() -> metrics.eventsDelivered.sum() == 6);
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        // HALF_OPEN에서 대기 중인 배치가 한꺼번에 몰리지 않고 시험 요청이 하나씩 나감
+        assertThat(server.maxConcurrentRequests()).isEqualTo(1);
+        assertThat(server.requests()).hasSize(4);
+    }
+
+    private BulkSender sender(CircuitBreaker circuitBreaker) {
+        ContextAwareBase status = new ContextAwareBase();
+        status.setContext(new LoggerContext());
+        return new BulkSender(transport, new BulkResponseParser(new ObjectMapper()), bufferPool, null,
+                new RetryPolicy(5, 10, 50), circuitBreaker, status, metrics, 8);
+    }
+
+    private BulkBatch batch(int from, int count) {
+        BulkBatch batch = new BulkBatch(bufferPool);
+        for (int i = from; i < from + count; i++) {
+            batch.add(item(i).getBytes(StandardCharsets.UTF_8));
+        }
+        return batch;
+    }
+
+    private static String item(int sequence) {
+        return "{\"index\":{\"_index\":\"application-logs-2025.12.09\"}}\n{\"message\":\"order " + sequence + "\"}\n";
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("timed out waiting for bulk responses").isNegative();
+            Thread.sleep(10);
+        }
+    }
+}
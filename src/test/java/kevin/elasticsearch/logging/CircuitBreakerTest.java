@@ -0,0 +1,72 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesAfterSuccessfulProbes() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(3, 100, 1000);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        // 성공이 끼어들면 연속 실패 수가 초기화됨
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+
+        Thread.sleep(150);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        // 시험 요청이 진행 중이면 다른 호출은 기다림
+        assertThat(breaker.allowRequest()).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+        breaker.recordSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    void reopensForLongerWhenProbeFails() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 100, 1000);
+        breaker.recordFailure();
+        Thread.sleep(150);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        // 두 배(200ms)로 늘어난 OPEN 시간이 지나기 전에는 시험 요청도 보내지 않음
+        Thread.sleep(150);
+        assertThat(breaker.allowRequest()).isFalse();
+        Thread.sleep(150);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void cancelledProbeFreesItsSlot() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50, 1000);
+        breaker.recordFailure();
+        Thread.sleep(100);
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+        // 허가를 받았지만 보내지 못하면 다른 호출이 시험 요청을 보낼 수 있어야 함
+        breaker.cancelRequest();
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+}
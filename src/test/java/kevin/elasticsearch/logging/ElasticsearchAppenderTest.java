@@ -0,0 +1,126 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElasticsearchAppenderTest {
+
+    private StubElasticsearchServer server;
+    private ElasticsearchAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubElasticsearchServer();
+        LoggerContext context = new LoggerContext();
+        appender = new ElasticsearchAppender();
+        appender.setContext(context);
+        appender.setElasticsearchUrl(server.url());
+        appender.setInstallIndexTemplate(false);
+        appender.setSuppressionEnabled(false);
+        logger = context.getLogger("kevin.elasticsearch.service.OrderService");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender.isStarted()) {
+            appender.stop();
+        }
+        server.close();
+    }
+
+    @Test
+    void flushesWhenBatchReachesMaxBytes() throws Exception {
+        appender.setName("ELASTIC-BATCH-BYTES");
+        appender.setBatchSize(10_000);
+        appender.setBatchMaxBytes(2048);
+        appender.setLingerMs(TimeUnit.MINUTES.toMillis(1));
+        appender.start();
+
+        for (int i = 0; i < 50; i++) {
+            logger.info("order {} placed", i);
+        }
+
+        // linger가 끝나기 전에 바이트 한도만으로 여러 요청이 나감
+        await(() -> bulkRequests().size() >= 2);
+        for (StubElasticsearchServer.RecordedRequest request : bulkRequests()) {
+            assertThat(request.body().getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(2048);
+        }
+
+        // 남은 배치는 종료 시 전송
+        appender.stop();
+        assertThat(server.documentsIndexed()).isEqualTo(50);
+    }
+
+    @Test
+    void flushesPartialBatchAfterLinger() throws Exception {
+        appender.setName("ELASTIC-BATCH-LINGER");
+        appender.setBatchSize(10_000);
+        appender.setLingerMs(300);
+        appender.start();
+
+        long loggedNanos = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            logger.info("order {} placed", i);
+        }
+
+        await(() -> !bulkRequests().isEmpty());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loggedNanos);
+
+        List<StubElasticsearchServer.RecordedRequest> requests = bulkRequests();
+        assertThat(requests).hasSize(1);
+        // action 라인 + 문서 라인 3쌍
+        assertThat(requests.get(0).body().split("\n")).hasSize(6);
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(300);
+    }
+
+    @Test
+    void installsIndexTemplateInBackgroundWithoutDelayingBulkRequests() throws Exception {
+        appender.setName("ELASTIC-TEMPLATE");
+        appender.setInstallIndexTemplate(true);
+        appender.setLingerMs(50);
+        appender.setRequestTimeoutMs(1000);
+        // 첫 요청(템플릿 설치)에 응답하지 않아 요청 타임아웃까지 걸리게 함
+        server.stallNextRequests(1);
+        appender.start();
+
+        long loggedNanos = System.nanoTime();
+        logger.info("order placed");
+
+        // 템플릿 응답을 기다리지 않고 bulk 요청이 먼저 나감
+        await(() -> !bulkRequests().isEmpty());
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loggedNanos)).isLessThan(1000);
+        assertThat(server.templates()).isEmpty();
+
+        // 타임아웃 후 백오프를 거쳐 다시 시도해 설치됨
+        await(() -> server.templates().containsKey("application-logs"));
+    }
+
+    private List<StubElasticsearchServer.RecordedRequest> bulkRequests() {
+        return server.requests().stream()
+                .filter(request -> request.path().endsWith("/_bulk"))
+                .toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("timed out waiting for bulk requests").isNegative();
+            Thread.sleep(10);
+        }
+    }
+}
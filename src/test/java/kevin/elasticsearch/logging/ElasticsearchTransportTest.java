@@ -0,0 +1,127 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ElasticsearchTransportTest {
+
+    private StubElasticsearchServer server;
+    private ElasticsearchTransport transport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubElasticsearchServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (transport != null) {
+            transport.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void compressesBodiesAboveThreshold() throws Exception {
+        transport = transport(1024, 4, 5000);
+        byte[] small = bulkBody(2);
+        byte[] large = bulkBody(200);
+
+        send(small).get(5, TimeUnit.SECONDS);
+        ElasticsearchTransport.TransportResponse response = send(large).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<StubElasticsearchServer.RecordedRequest> requests = server.requests();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).gzip()).isFalse();
+        assertThat(requests.get(1).gzip()).isTrue();
+        assertThat(requests.get(1).body()).isEqualTo(new String(large, StandardCharsets.UTF_8));
+        assertThat(requests.get(1).wireBytes()).isLessThan(large.length / 5);
+    }
+
+    @Test
+    void limitsConcurrentRequests() throws Exception {
+        transport = transport(-1, 2, 5000);
+        server.setLatencyMs(200);
+
+        List<CompletableFuture<ElasticsearchTransport.TransportResponse>> futures = new ArrayList<>();
+        futures.add(send(bulkBody(1)));
+        futures.add(send(bulkBody(1)));
+        // 두 요청이 진행 중이므로 세 번째는 자리를 얻지 못함
+        assertThat(send(bulkBody(1))).isNull();
+
+        for (CompletableFuture<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(server.maxConcurrentRequests()).isLessThanOrEqualTo(2);
+        assertThat(transport.inFlight()).isZero();
+    }
+
+    @Test
+    void failsRequestsThatExceedTheTimeout() throws Exception {
+        transport = transport(-1, 1, 100);
+        server.setLatencyMs(1000);
+
+        CompletableFuture<ElasticsearchTransport.TransportResponse> future = send(bulkBody(1));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+        assertThat(transport.inFlight()).isZero();
+    }
+
+    @Test
+    void skipsNodeThatRefusesConnections() throws Exception {
+        String deadUrl;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadUrl = "http://127.0.0.1:" + socket.getLocalPort();
+        }
+        NodePool pool = new NodePool(List.of(deadUrl, server.url()), NodePool.Selection.ROUND_ROBIN, 60_000);
+        transport = new ElasticsearchTransport(pool, new ElasticsearchTransport.Settings(1000, 5000, -1, 4),
+                new BufferPool(4, 1024, 1024 * 1024));
+
+        int failed = 0;
+        for (int i = 0; i < 6; i++) {
+            try {
+                send(bulkBody(1)).get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+
+        // 첫 실패 뒤에는 죽은 노드를 건너뛰고 살아 있는 노드로만 보냄
+        assertThat(failed).isEqualTo(1);
+        assertThat(server.requests()).hasSize(5);
+        assertThat(pool.aliveCount()).isEqualTo(1);
+    }
+
+    private ElasticsearchTransport transport(int compressionThreshold, int maxInFlight, long requestTimeoutMs) {
+        return new ElasticsearchTransport(server.url(),
+                new ElasticsearchTransport.Settings(1000, requestTimeoutMs, compressionThreshold, maxInFlight),
+                new BufferPool(4, 1024, 1024 * 1024));
+    }
+
+    private CompletableFuture<ElasticsearchTransport.TransportResponse> send(byte[] body) throws InterruptedException {
+        return transport.trySend("POST", "/_bulk", body, body.length, "application/x-ndjson", 0);
+    }
+
+    private static byte[] bulkBody(int items) {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            body.append("{\"index\":{\"_index\":\"application-logs-2025.12.09\"}}\n")
+                    .append("{\"level\":\"INFO\",\"logger\":\"kevin.elasticsearch.service.CompanyService\",\"message\":\"getCompany - id: ")
+                    .append(i).append("\"}\n");
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
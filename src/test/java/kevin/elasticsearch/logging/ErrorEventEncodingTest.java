@@ -0,0 +1,92 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kevin.elasticsearch.exception.ErrorAggregateShipper;
+import kevin.elasticsearch.exception.ErrorAggregationProperties;
+import kevin.elasticsearch.exception.ErrorAggregator;
+import kevin.elasticsearch.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 애플리케이션 코드가 남긴 에러 관련 로그가 인코딩 후 기대한 필드를 갖는지 확인
+ */
+class ErrorEventEncodingTest {
+
+    private static final byte[] ACTION_LINE = "{\"index\":{}}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ListAppender<ILoggingEvent> captured = new ListAppender<>();
+    private final List<Logger> loggers = List.of(
+            (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class),
+            (Logger) LoggerFactory.getLogger(ErrorAggregateShipper.class));
+
+    @BeforeEach
+    void setUp() {
+        captured.start();
+        loggers.forEach(logger -> logger.addAppender(captured));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loggers.forEach(logger -> logger.detachAppender(captured));
+        captured.stop();
+    }
+
+    @Test
+    void handledExceptionCarriesFingerprintAndStackTrace() throws Exception {
+        GlobalExceptionHandler handler =
+                new GlobalExceptionHandler(new ErrorAggregator(new ErrorAggregationProperties(false, 500, 20)));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/companies/42");
+
+        handler.handleRuntimeException(new IllegalStateException("Company not found with id: 42"), request);
+
+        assertThat(captured.list).hasSize(1);
+        JsonNode document = encode(captured.list.get(0));
+        assertThat(document.path("level").asText()).isEqualTo("ERROR");
+        assertThat(document.path("exception").asText()).isEqualTo("java.lang.IllegalStateException");
+        assertThat(document.path("error.message").asText()).isEqualTo("Company not found with id: 42");
+        assertThat(document.path("error.fingerprint").asText()).hasSize(16);
+        assertThat(document.path("stacktrace").asText())
+                .startsWith("java.lang.IllegalStateException: Company not found with id: 42\n\tat ")
+                .contains("ErrorEventEncodingTest.handledExceptionCarriesFingerprintAndStackTrace");
+    }
+
+    @Test
+    void aggregateEventKeepsLastMessageField() throws Exception {
+        ErrorAggregationProperties properties = new ErrorAggregationProperties(true, 500, 20);
+        ErrorAggregator aggregator = new ErrorAggregator(properties);
+        aggregator.record(new IllegalStateException("Company not found with id: 42"), "/api/companies/{id}");
+
+        new ErrorAggregateShipper(aggregator, properties).ship();
+
+        assertThat(captured.list).hasSize(1);
+        JsonNode document = encode(captured.list.get(0));
+        assertThat(document.path("event.dataset").asText()).isEqualTo("error.aggregate");
+        assertThat(document.path("error.type").asText()).isEqualTo("java.lang.IllegalStateException");
+        assertThat(document.path("error.count_1m").asLong()).isEqualTo(1);
+        // error.message는 예외 이벤트용 예약 필드라 인코더가 버리므로 다른 이름으로 보내야 함
+        assertThat(document.path("error.last_message").asText()).isEqualTo("Company not found with id: 42");
+        assertThat(document.has("error.message")).isFalse();
+    }
+
+    private JsonNode encode(ILoggingEvent event) throws Exception {
+        LogEventSnapshot snapshot = new LogEventSnapshot();
+        snapshot.copyFrom(event);
+        LogDocumentEncoder encoder = new LogDocumentEncoder(256);
+        int length = encoder.encode(snapshot, ACTION_LINE);
+        return objectMapper.readTree(new String(encoder.buffer(), 0, length, StandardCharsets.UTF_8).split("\n")[1]);
+    }
+}
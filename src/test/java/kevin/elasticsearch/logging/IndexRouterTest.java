@@ -0,0 +1,44 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexRouterTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Test
+    void dailyIndexFollowsEventTimestampNotWallClock() {
+        IndexRouter router = new IndexRouter(IndexRouter.Mode.DAILY, "application-logs", null, SEOUL);
+        long beforeMidnight = ZonedDateTime.of(2025, 12, 9, 23, 59, 59, 0, SEOUL).toInstant().toEpochMilli();
+        long afterMidnight = beforeMidnight + 1000;
+
+        assertThat(line(router, afterMidnight, Level.INFO))
+                .isEqualTo("{\"index\":{\"_index\":\"application-logs-2025.12.10\"}}\n");
+        // 자정이 지난 뒤 늦게 도착한 전날 이벤트는 전날 인덱스로
+        assertThat(line(router, beforeMidnight, Level.INFO))
+                .isEqualTo("{\"index\":{\"_index\":\"application-logs-2025.12.09\"}}\n");
+        // 같은 날짜는 캐시된 바이트를 그대로 사용
+        assertThat(router.actionLine(beforeMidnight - 1000, Level.INFO))
+                .isSameAs(router.actionLine(beforeMidnight, Level.INFO));
+    }
+
+    @Test
+    void errorEventsAreRoutedToSeparateDataStream() {
+        IndexRouter router = new IndexRouter(IndexRouter.Mode.DATA_STREAM, "application-logs", "application-errors", SEOUL);
+        long now = System.currentTimeMillis();
+
+        assertThat(line(router, now, Level.WARN)).isEqualTo("{\"create\":{\"_index\":\"application-logs\"}}\n");
+        assertThat(line(router, now, Level.ERROR)).isEqualTo("{\"create\":{\"_index\":\"application-errors\"}}\n");
+    }
+
+    private static String line(IndexRouter router, long timestamp, Level level) {
+        return new String(router.actionLine(timestamp, level), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,210 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogDocumentEncoderTest {
+
+    private static final byte[] ACTION_LINE =
+            "{\"index\":{\"_index\":\"application-logs-2025.12.09\"}}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encodesBulkItemAsValidJson() throws Exception {
+        LogEventSnapshot event = snapshot(1765270245123L, "한글 \"quoted\" \\ tab\t newline\n emoji 😀 ctrl\u0001");
+        LogDocumentEncoder encoder = new LogDocumentEncoder(16);
+
+        int length = encoder.encode(event, ACTION_LINE);
+        String[] lines = new String(encoder.buffer(), 0, length, StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).path("index").path("_index").asText())
+                .isEqualTo("application-logs-2025.12.09");
+
+        JsonNode document = objectMapper.readTree(lines[1]);
+        assertThat(document.path("@timestamp").asText()).isEqualTo("2025-12-09T08:50:45.123Z");
+        assertThat(document.path("level").asText()).isEqualTo("INFO");
+        assertThat(document.path("logger").asText()).isEqualTo("kevin.elasticsearch.service.CompanyService");
+        assertThat(document.path("thread").asText()).isEqualTo("http-nio-8080-exec-1");
+        assertThat(document.path("message").asText()).isEqualTo(event.message);
+        assertThat(document.has("exception")).isFalse();
+    }
+
+    @Test
+    void cachedTimestampMatchesIsoFormatAcrossSecondBoundaries() {
+        DateTimeFormatter expected = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+        CachedTimestampFormatter formatter = new CachedTimestampFormatter();
+        byte[] out = new byte[CachedTimestampFormatter.LENGTH];
+
+        for (long millis = 1765270244990L; millis < 1765270246010L; millis += 7) {
+            formatter.format(millis, out, 0);
+            assertThat(new String(out, StandardCharsets.US_ASCII))
+                    .isEqualTo(expected.format(Instant.ofEpochMilli(millis)));
+        }
+    }
+
+    @Test
+    void writesKeyValuePairsAsTopLevelFields() throws Exception {
+        LogEventSnapshot event = snapshot(1765270245123L, "GET /api/companies 200");
+        event.keyValuePairs = List.of(
+                new KeyValuePair("event.dataset", "request.timing"),
+                new KeyValuePair("timing.total_us", 12_345L),
+                new KeyValuePair("timing.sql_count", 3),
+                new KeyValuePair("timing.slow", false),
+                new KeyValuePair("message", "duplicate"));
+        LogDocumentEncoder encoder = new LogDocumentEncoder(16);
+
+        int length = encoder.encode(event, ACTION_LINE);
+        JsonNode document = objectMapper.readTree(new String(encoder.buffer(), 0, length, StandardCharsets.UTF_8).split("\n")[1]);
+
+        assertThat(document.path("event.dataset").asText()).isEqualTo("request.timing");
+        assertThat(document.path("timing.total_us").isNumber()).isTrue();
+        assertThat(document.path("timing.total_us").asLong()).isEqualTo(12_345L);
+        assertThat(document.path("timing.sql_count").asInt()).isEqualTo(3);
+        assertThat(document.path("timing.slow").isBoolean()).isTrue();
+        assertThat(document.path("message").asText()).isEqualTo("GET /api/companies 200");
+    }
+
+    @Test
+    void skipsKeyValuePairsThatCollideWithEncoderFields() throws Exception {
+        LogEventSnapshot event = snapshot(1765270245123L, "getCompany failed");
+        event.repeatCount = 3;
+        event.throwableProxy = new ThrowableProxy(failure("id 1"));
+        List<KeyValuePair> pairs = new ArrayList<>();
+        for (String key : List.of("@timestamp", "level", "logger", "thread", "message", "repeat_count",
+                "exception", "error.message", "error.fingerprint", "stacktrace")) {
+            pairs.add(new KeyValuePair(key, "duplicate"));
+        }
+        pairs.add(new KeyValuePair("company.id", 42));
+        event.keyValuePairs = pairs;
+        LogDocumentEncoder encoder = new LogDocumentEncoder(256, new StackTraceCache(16, 60_000));
+
+        int length = encoder.encode(event, ACTION_LINE);
+        String line = new String(encoder.buffer(), 0, length, StandardCharsets.UTF_8).split("\n")[1];
+
+        // 필드 이름이 두 번 나오면 Elasticsearch가 문서를 거부하므로 key-value 쪽을 버려야 함
+        assertThat(line).doesNotContain("duplicate");
+        JsonNode document = objectMapper.readTree(line);
+        assertThat(document.path("repeat_count").asInt()).isEqualTo(3);
+        assertThat(document.path("exception").asText()).isEqualTo("java.lang.IllegalStateException");
+        assertThat(document.path("error.message").asText()).isEqualTo("id 1");
+        assertThat(document.path("stacktrace").asText()).startsWith("java.lang.IllegalStateException");
+        assertThat(document.path("company.id").asInt()).isEqualTo(42);
+    }
+
+    @Test
+    void sendsFullStackTraceOncePerFingerprintWithinWindow() throws Exception {
+        LogDocumentEncoder encoder = new LogDocumentEncoder(256, new StackTraceCache(16, 60_000));
+        LogEventSnapshot first = snapshot(1765270245123L, "first");
+        first.throwableProxy = new ThrowableProxy(failure("id 1"));
+        LogEventSnapshot repeated = snapshot(1765270246123L, "repeated");
+        repeated.throwableProxy = new ThrowableProxy(failure("id 2"));
+        LogEventSnapshot afterWindow = snapshot(1765270245123L + 60_000, "after window");
+        afterWindow.throwableProxy = new ThrowableProxy(failure("id 3"));
+
+        JsonNode firstDocument = encodeDocument(encoder, first);
+        JsonNode repeatedDocument = encodeDocument(encoder, repeated);
+        JsonNode afterWindowDocument = encodeDocument(encoder, afterWindow);
+
+        assertThat(firstDocument.path("exception").asText()).isEqualTo("java.lang.IllegalStateException");
+        assertThat(firstDocument.path("stacktrace").asText())
+                .startsWith("java.lang.IllegalStateException: id 1\n\tat ")
+                .contains("Caused by: java.io.IOException: connection reset");
+        // 메시지가 달라도 같은 위치에서 발생한 오류는 같은 fingerprint
+        assertThat(repeatedDocument.path("error.fingerprint").asText())
+                .hasSize(16)
+                .isEqualTo(firstDocument.path("error.fingerprint").asText());
+        assertThat(repeatedDocument.path("error.message").asText()).isEqualTo("id 2");
+        assertThat(repeatedDocument.has("stacktrace")).isFalse();
+        assertThat(afterWindowDocument.has("stacktrace")).isTrue();
+    }
+
+    @Test
+    void rendersStackTraceWithMessagesOfTheEventBeingSent() throws Exception {
+        LogDocumentEncoder encoder = new LogDocumentEncoder(256, new StackTraceCache(16, 60_000));
+        // 같은 위치(failure)에서 만든 예외라 프레임은 같고 메시지만 다름
+        LogEventSnapshot first = snapshot(1765270245123L, "first");
+        first.throwableProxy = new ThrowableProxy(failure("id 1"));
+        LogEventSnapshot afterWindow = snapshot(1765270245123L + 60_000, "after window");
+        afterWindow.throwableProxy = new ThrowableProxy(failure("id 3"));
+
+        JsonNode firstDocument = encodeDocument(encoder, first);
+        JsonNode afterWindowDocument = encodeDocument(encoder, afterWindow);
+
+        assertThat(afterWindowDocument.path("error.fingerprint").asText())
+                .isEqualTo(firstDocument.path("error.fingerprint").asText());
+        // 창이 지나 다시 보내는 스택트레이스는 첫 이벤트가 아니라 이번 이벤트의 메시지를 담아야 함
+        assertThat(afterWindowDocument.path("stacktrace").asText())
+                .startsWith("java.lang.IllegalStateException: id 3\n\tat ")
+                .doesNotContain("id 1");
+    }
+
+    /**
+     * 정상 상태(버퍼가 충분히 커진 뒤)에서 이벤트당 힙 할당량을 측정
+     * 타임스탬프 캐시가 초마다 한 번 갱신되는 것 외에는 할당이 없어야 함
+     */
+    @Test
+    void steadyStateEncodingAllocatesAlmostNothing() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        LogEventSnapshot event = snapshot(1765270245123L, "getCompany - id: 42");
+        LogDocumentEncoder encoder = new LogDocumentEncoder(256);
+        int iterations = 200_000;
+
+        // 워밍업: JIT 컴파일과 버퍼 확장을 끝냄
+        for (int i = 0; i < iterations; i++) {
+            event.timestamp++;
+            encoder.encode(event, ACTION_LINE);
+        }
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long totalBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            event.timestamp++;
+            totalBytes += encoder.encode(event, ACTION_LINE);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        double bytesPerEvent = (double) allocated / iterations;
+        assertThat(bytesPerEvent)
+                .as("%.2f bytes allocated/event, %.1f bytes encoded/event", bytesPerEvent, (double) totalBytes / iterations)
+                .isLessThan(8.0);
+    }
+
+    private JsonNode encodeDocument(LogDocumentEncoder encoder, LogEventSnapshot event) throws Exception {
+        int length = encoder.encode(event, ACTION_LINE);
+        String[] lines = new String(encoder.buffer(), 0, length, StandardCharsets.UTF_8).split("\n");
+        return objectMapper.readTree(lines[1]);
+    }
+
+    private static Exception failure(String message) {
+        return new IllegalStateException(message, new java.io.IOException("connection reset"));
+    }
+
+    private static LogEventSnapshot snapshot(long timestamp, String message) {
+        LogEventSnapshot event = new LogEventSnapshot();
+        event.timestamp = timestamp;
+        event.level = Level.INFO;
+        event.loggerName = "kevin.elasticsearch.service.CompanyService";
+        event.threadName = "http-nio-8080-exec-1";
+        event.message = message;
+        return event;
+    }
+}
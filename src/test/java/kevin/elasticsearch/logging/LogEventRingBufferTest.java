@@ -0,0 +1,161 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogEventRingBufferTest {
+
+    @Test
+    void deliversEveryEventInProducerOrderAcrossWrapArounds() throws Exception {
+        int producers = 4;
+        int eventsPerProducer = 50_000;
+        // 용량을 작게 잡아 sequence가 여러 바퀴 돌도록 함
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(64);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String loggerName = "producer-" + p;
+            Thread producer = new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    LoggingEvent event = event(loggerName, Level.INFO, Integer.toString(i));
+                    while (!ringBuffer.tryPublish(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }, loggerName);
+            threads.add(producer);
+            producer.start();
+        }
+
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        AtomicInteger outOfOrder = new AtomicInteger();
+        int received = 0;
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * eventsPerProducer && System.nanoTime() - deadline < 0) {
+            if (ringBuffer.poll(snapshot -> {
+                int producer = snapshot.loggerName.charAt(snapshot.loggerName.length() - 1) - '0';
+                int sequence = Integer.parseInt(snapshot.message);
+                // 같은 생산자의 이벤트는 넣은 순서 그대로, 빠짐없이 나와야 함
+                if (sequence != lastSeen[producer] + 1) {
+                    outOfOrder.incrementAndGet();
+                }
+                lastSeen[producer] = sequence;
+            })) {
+                received++;
+            } else {
+                ringBuffer.awaitEvents(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        for (Thread producer : threads) {
+            producer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(received).isEqualTo(producers * eventsPerProducer);
+        assertThat(outOfOrder.get()).isZero();
+        assertThat(lastSeen).containsOnly(eventsPerProducer - 1);
+        assertThat(ringBuffer.isEmpty()).isTrue();
+        assertThat(ringBuffer.size()).isZero();
+    }
+
+    @Test
+    void dropsNewestEventWhenFull() {
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.tryPublish(event("OrderService", Level.INFO, "order " + i))).isTrue();
+        }
+
+        // 가득 차면 새 이벤트를 거절하고 이미 들어간 오래된 이벤트는 그대로 둠
+        assertThat(ringBuffer.tryPublish(event("OrderService", Level.ERROR, "order 4"))).isFalse();
+        assertThat(ringBuffer.remainingCapacity()).isZero();
+
+        List<String> messages = new ArrayList<>();
+        while (ringBuffer.poll(snapshot -> messages.add(snapshot.message))) {
+            // 모두 꺼냄
+        }
+        assertThat(messages).containsExactly("order 0", "order 1", "order 2", "order 3");
+        assertThat(ringBuffer.tryPublish(event("OrderService", Level.INFO, "order 5"))).isTrue();
+    }
+
+    @Test
+    void blocksUntilTimeoutWhenFull() {
+        LogEventRingBuffer ringBuffer = fullBuffer(4);
+
+        long startNanos = System.nanoTime();
+        boolean published = ringBuffer.publish(event("OrderService", Level.WARN, "late"), TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(published).isFalse();
+        assertThat(System.nanoTime() - startNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(ringBuffer.size()).isEqualTo(4);
+    }
+
+    @Test
+    void blockedPublisherProceedsOnceConsumerFreesASlot() throws Exception {
+        LogEventRingBuffer ringBuffer = fullBuffer(4);
+        Thread consumer = new Thread(() -> {
+            sleepQuietly(50);
+            ringBuffer.poll(snapshot -> { });
+        });
+        consumer.start();
+
+        long startNanos = System.nanoTime();
+        boolean published = ringBuffer.publish(event("OrderService", Level.WARN, "late"), TimeUnit.SECONDS.toNanos(5));
+        long elapsedNanos = System.nanoTime() - startNanos;
+        consumer.join();
+
+        assertThat(published).isTrue();
+        assertThat(elapsedNanos).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        List<String> messages = new ArrayList<>();
+        while (ringBuffer.poll(snapshot -> messages.add(snapshot.message))) {
+            // 모두 꺼냄
+        }
+        assertThat(messages).containsExactly("order 1", "order 2", "order 3", "late");
+    }
+
+    private static LogEventRingBuffer fullBuffer(int capacity) {
+        LogEventRingBuffer ringBuffer = new LogEventRingBuffer(capacity);
+        for (int i = 0; i < capacity; i++) {
+            ringBuffer.tryPublish(event("OrderService", Level.INFO, "order " + i));
+        }
+        return ringBuffer;
+    }
+
+    private static LoggingEvent event(String logger, Level level, String message) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(logger);
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setThreadName(Thread.currentThread().getName());
+        event.setTimeStamp(System.currentTimeMillis());
+        return event;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogSuppressorTest {
+
+    private static final long NOW = 1765270245000L;
+
+    @Test
+    void collapsesRepeatsOfSameTemplateIntoOneSummary() {
+        LogSuppressor suppressor = new LogSuppressor(1000, 3, Map.of());
+
+        int admitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (suppressor.admit(event("CompanyService", Level.ERROR, "getCompany failed - id: {}", NOW + i))) {
+                admitted++;
+            }
+        }
+        // 다른 템플릿은 영향을 받지 않음
+        assertThat(suppressor.admit(event("CompanyService", Level.ERROR, "other {}", NOW + 100))).isTrue();
+
+        List<LogSuppressor.Summary> summaries = new ArrayList<>();
+        suppressor.drainSummaries(NOW + 500, summaries::add);
+        assertThat(summaries).isEmpty();
+        suppressor.drainSummaries(NOW + 1000, summaries::add);
+
+        assertThat(admitted).isEqualTo(3);
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).repeatCount()).isEqualTo(97);
+        assertThat(summaries.get(0).lastEvent().getTimeStamp()).isEqualTo(NOW + 99);
+    }
+
+    @Test
+    void appliesPerLoggerRateBudgetToRepeats() {
+        LogSuppressor suppressor = new LogSuppressor(1000, 1000, LogSuppressor.parseRates("INFO=10, WARN=0"));
+
+        int firstAdmitted = 0;
+        for (int i = 0; i < 50; i++) {
+            // 처음 보는 템플릿은 예산을 다 써도 통과
+            if (suppressor.admit(event("OrderService", Level.INFO, "order " + i, NOW))) {
+                firstAdmitted++;
+            }
+        }
+        assertThat(firstAdmitted).isEqualTo(50);
+
+        // 첫 이벤트들이 토큰을 모두 써서 반복 이벤트는 예산에 걸림
+        int repeatsAdmitted = 0;
+        for (int i = 0; i < 50; i++) {
+            if (suppressor.admit(event("OrderService", Level.INFO, "order " + i, NOW))) {
+                repeatsAdmitted++;
+            }
+        }
+        assertThat(repeatsAdmitted).isZero();
+        // 다른 logger는 자기 예산을 사용
+        assertThat(suppressor.admit(event("CompanyService", Level.INFO, "order 0", NOW))).isTrue();
+        assertThat(suppressor.admit(event("CompanyService", Level.INFO, "order 0", NOW))).isTrue();
+
+        // 0.5초 뒤에는 예산이 5개만큼 다시 채워짐
+        int refilled = 0;
+        for (int i = 0; i < 50; i++) {
+            if (suppressor.admit(event("OrderService", Level.INFO, "order " + i, NOW + 500))) {
+                refilled++;
+            }
+        }
+        assertThat(refilled).isEqualTo(5);
+
+        int total = 0;
+        List<LogSuppressor.Summary> summaries = new ArrayList<>();
+        suppressor.drainSummaries(NOW + 1000, summaries::add);
+        for (LogSuppressor.Summary summary : summaries) {
+            total += summary.repeatCount();
+        }
+        assertThat(total).isEqualTo(50 + 45);
+    }
+
+    @Test
+    void admitsFirstOccurrenceEvenWithoutBudget() {
+        LogSuppressor suppressor = new LogSuppressor(1000, 3, LogSuppressor.parseRates("ERROR=1"));
+
+        assertThat(suppressor.admit(event("CompanyService", Level.ERROR, "getCompany failed - id: {}", NOW))).isTrue();
+        assertThat(suppressor.admit(event("CompanyService", Level.ERROR, "getCompany failed - id: {}", NOW))).isFalse();
+        // 예산이 바닥나도 새 템플릿의 첫 이벤트는 보여야 함
+        assertThat(suppressor.admit(event("CompanyService", Level.ERROR, "connection refused", NOW))).isTrue();
+        // 다음 구간에서도 템플릿의 첫 이벤트는 통과
+        assertThat(suppressor.admit(event("CompanyService", Level.ERROR, "getCompany failed - id: {}", NOW + 1000))).isTrue();
+    }
+
+    private static LoggingEvent event(String logger, Level level, String message, long timestamp) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("kevin.elasticsearch.service." + logger);
+        event.setLevel(level);
+        event.setMessage(message);
+        event.setThreadName("http-nio-8080-exec-1");
+        event.setTimeStamp(timestamp);
+        return event;
+    }
+}
@@ -0,0 +1,161 @@
+package kevin.elasticsearch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ElasticsearchAppender 종단 간 처리량 측정 (StubElasticsearchServer 사용, 네트워크/외부 서버 불필요)
+ * 일반 test 태스크에서는 제외되며 ./gradlew loggingHarness -Pharness.eventsPerSecond=100000 처럼 실행
+ * 설정 (시스템 프로퍼티, 괄호 안은 기본값)
+ * - harness.eventsPerSecond(50000, 0 이하면 제한 없음), harness.threads(4)
+ * - harness.warmupSeconds(5), harness.durationSeconds(30)
+ * - harness.latencyMs(0): 요청마다 서버 응답 지연
+ * - harness.failEveryNthItem(0): bulk 항목 N개 중 1개를 429로 실패
+ * - harness.rejectRequests(0), harness.stallRequests(0): 측정 시작 시 429로 거부 / 응답하지 않을 요청 수
+ * - harness.minDeliveryRatio(0): 전달 비율이 이보다 낮으면 실패
+ * 결과: 지속 처리량(events/s), 전달 비율, 로그 호출 ~ 서버 수신 지연(p50/p99/max), 측정 구간 힙 증가량
+ */
+@Tag("harness")
+class LoggingThroughputHarness {
+
+    private static final String MARKER = "placed at ";
+    private static final String MESSAGE = "order {} " + MARKER + "{}";
+
+    @Test
+    void measuresSustainedThroughput() throws Exception {
+        long eventsPerSecond = Long.getLong("harness.eventsPerSecond", 50_000);
+        int threads = Integer.getInteger("harness.threads", 4);
+        long warmupSeconds = Long.getLong("harness.warmupSeconds", 5);
+        long durationSeconds = Long.getLong("harness.durationSeconds", 30);
+        double minDeliveryRatio = Double.parseDouble(System.getProperty("harness.minDeliveryRatio", "0"));
+
+        try (StubElasticsearchServer server = new StubElasticsearchServer()) {
+            server.setRecordRequests(false);
+            server.setLatencyMs(Long.getLong("harness.latencyMs", 0));
+            server.failEveryNthItem(Integer.getInteger("harness.failEveryNthItem", 0), 429);
+
+            ValueHistogram lagMicros = new ValueHistogram();
+            AtomicLong measuredDelivered = new AtomicLong();
+            AtomicLongArray window = new AtomicLongArray(2);
+            server.setDocumentListener(document -> {
+                long received = System.nanoTime();
+                int start = document.indexOf(MARKER);
+                if (start < 0) {
+                    return;
+                }
+                long logged = parseLong(document, start + MARKER.length());
+                lagMicros.record(TimeUnit.NANOSECONDS.toMicros(received - logged));
+                if (received >= window.get(0) && received < window.get(1)) {
+                    measuredDelivered.incrementAndGet();
+                }
+            });
+
+            LoggerContext context = new LoggerContext();
+            ElasticsearchAppender appender = new ElasticsearchAppender();
+            appender.setContext(context);
+            appender.setName("ELASTIC-HARNESS");
+            appender.setElasticsearchUrl(server.url());
+            appender.setIndexName("harness-logs");
+            appender.setSuppressionEnabled(Boolean.getBoolean("harness.suppression"));
+            appender.start();
+            Logger logger = context.getLogger("kevin.elasticsearch.service.OrderService");
+            logger.setLevel(Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+
+            AtomicLong produced = new AtomicLong();
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread producer = new Thread(() -> produce(logger, eventsPerSecond / threads, end, produced),
+                        "harness-producer-" + t);
+                producers.add(producer);
+                producer.start();
+            }
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            LockSupport.parkNanos(warmupEnd - System.nanoTime());
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            long producedBefore = produced.get();
+            window.set(1, end);
+            window.set(0, System.nanoTime());
+            server.rejectNextRequests(Integer.getInteger("harness.rejectRequests", 0), 429);
+            server.stallNextRequests(Integer.getInteger("harness.stallRequests", 0));
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            long measuredProduced = produced.get() - producedBefore;
+            System.gc();
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+            appender.stop();
+
+            long delivered = lagMicros.count();
+            double deliveryRatio = produced.get() == 0 ? 0 : (double) delivered / produced.get();
+            AppenderMetricsSnapshot metrics = appender.metricsSnapshot();
+            System.out.printf("""
+                            ---- ElasticsearchAppender harness ----
+                            target rate        : %d events/s, %d threads, %d s (+%d s warmup)
+                            logged             : %.0f events/s (%d total)
+                            delivered          : %.0f events/s (%d total)
+                            delivery ratio     : %.4f (dropped %d, spilled %d, failed %d, retries %d)
+                            end-to-end lag     : p50 %.1f ms, p99 %.1f ms, max %.1f ms
+                            heap growth        : %.1f MB
+                            bulk requests      : %d, batch p50 %d, flush p99 %.1f ms
+                            """,
+                    eventsPerSecond, threads, durationSeconds, warmupSeconds,
+                    (double) measuredProduced / durationSeconds, produced.get(),
+                    (double) measuredDelivered.get() / durationSeconds, delivered,
+                    deliveryRatio, metrics.eventsDropped(), metrics.eventsSpilled(), metrics.eventsFailed(), metrics.retries(),
+                    lagMicros.percentile(50) / 1000.0, lagMicros.percentile(99) / 1000.0, lagMicros.max() / 1000.0,
+                    (heapAfter - heapBefore) / (1024.0 * 1024.0),
+                    metrics.batchesSent(), metrics.batchSizeP50(), metrics.flushLatencyP99Ms());
+
+            assertThat(deliveryRatio).isGreaterThanOrEqualTo(minDeliveryRatio);
+        }
+    }
+
+    private static void produce(Logger logger, long eventsPerSecond, long endNanos, AtomicLong produced) {
+        long intervalNanos = eventsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / eventsPerSecond : 0;
+        long next = System.nanoTime();
+        long sequence = 0;
+        while (true) {
+            long now = System.nanoTime();
+            if (now >= endNanos) {
+                return;
+            }
+            if (intervalNanos > 0) {
+                if (now < next) {
+                    LockSupport.parkNanos(next - now);
+                }
+                next += intervalNanos;
+            }
+            logger.info(MESSAGE, sequence++, System.nanoTime());
+            produced.incrementAndGet();
+        }
+    }
+
+    private static long parseLong(String text, int from) {
+        long value = 0;
+        for (int i = from; i < text.length() && Character.isDigit(text.charAt(i)); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NodePoolTest {
+
+    @Test
+    void parsesCommaSeparatedUrls() {
+        assertThat(NodePool.parseUrls(" http://es1:9200/, http://es2:9200 ,"))
+                .containsExactly("http://es1:9200", "http://es2:9200");
+    }
+
+    @Test
+    void roundRobinSkipsDeadNodesUntilBackoffExpires() throws Exception {
+        NodePool pool = new NodePool(List.of("http://es1:9200", "http://es2:9200", "http://es3:9200"),
+                NodePool.Selection.ROUND_ROBIN, 50);
+        NodePool.Node dead = pool.nodes().get(1);
+        pool.markDead(dead);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(pool.select()).isNotSameAs(dead);
+        }
+        assertThat(pool.aliveCount()).isEqualTo(2);
+
+        Thread.sleep(80);
+        assertThat(pool.aliveCount()).isEqualTo(3);
+        pool.markAlive(dead);
+        assertThat(List.of(pool.select(), pool.select(), pool.select())).contains(dead);
+    }
+
+    @Test
+    void leastInFlightPrefersIdleNode() {
+        NodePool pool = new NodePool(List.of("http://es1:9200", "http://es2:9200"),
+                NodePool.Selection.LEAST_IN_FLIGHT, 1000);
+        pool.nodes().get(0).inFlight.set(3);
+
+        assertThat(pool.select()).isSameAs(pool.nodes().get(1));
+    }
+
+    @Test
+    void fallsBackToNodeThatRecoversFirstWhenAllAreDead() {
+        NodePool pool = new NodePool(List.of("http://es1:9200", "http://es2:9200"),
+                NodePool.Selection.ROUND_ROBIN, 1000);
+        NodePool.Node first = pool.nodes().get(0);
+        NodePool.Node second = pool.nodes().get(1);
+        pool.markDead(second);
+        pool.markDead(first);
+        pool.markDead(first);
+
+        assertThat(pool.select()).isSameAs(second);
+    }
+
+    @Test
+    void discoveredNodesKeepExistingState() {
+        NodePool pool = new NodePool(List.of("http://es1:9200"), NodePool.Selection.ROUND_ROBIN, 1000);
+        NodePool.Node seed = pool.nodes().get(0);
+
+        pool.updateNodes(List.of("http://es1:9200", "http://es2:9200"));
+
+        assertThat(pool.nodes()).hasSize(2);
+        assertThat(pool.nodes().get(0)).isSameAs(seed);
+    }
+}
@@ -0,0 +1,56 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    @Test
+    void keepsJitteredDelayBetweenHalfAndFullBackoff() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 5000);
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            long ceiling = Math.min(TimeUnit.MILLISECONDS.toNanos(100) << attempt, TimeUnit.MILLISECONDS.toNanos(5000));
+            long min = Long.MAX_VALUE;
+            long max = 0;
+            for (int i = 0; i < 1000; i++) {
+                long delay = policy.delayNanos(attempt);
+                min = Math.min(min, delay);
+                max = Math.max(max, delay);
+            }
+            assertThat(min).as("attempt %d", attempt).isGreaterThanOrEqualTo(ceiling / 2);
+            assertThat(max).as("attempt %d", attempt).isLessThanOrEqualTo(ceiling);
+            // 여러 인스턴스가 같은 시점에 몰리지 않도록 값이 흩어져야 함
+            assertThat(max - min).as("attempt %d", attempt).isGreaterThan(ceiling / 4);
+        }
+    }
+
+    @Test
+    void capsDelayForLargeAttempts() {
+        RetryPolicy policy = new RetryPolicy(5, 200, 30_000);
+
+        for (int attempt : new int[]{20, 40, 63, 1000}) {
+            assertThat(policy.delayNanos(attempt))
+                    .isBetween(TimeUnit.MILLISECONDS.toNanos(15_000), TimeUnit.MILLISECONDS.toNanos(30_000));
+        }
+    }
+
+    @Test
+    void limitsAttemptsAndClassifiesStatuses() {
+        RetryPolicy policy = new RetryPolicy(3, 200, 30_000);
+
+        assertThat(policy.canRetry(0)).isTrue();
+        assertThat(policy.canRetry(1)).isTrue();
+        assertThat(policy.canRetry(2)).isFalse();
+
+        assertThat(RetryPolicy.isRetryableStatus(429)).isTrue();
+        assertThat(RetryPolicy.isRetryableStatus(503)).isTrue();
+        assertThat(RetryPolicy.isRetryableStatus(400)).isFalse();
+        assertThat(RetryPolicy.isRetryableStatus(500)).isFalse();
+        assertThat(RetryPolicy.isOverloadStatus(429)).isTrue();
+        assertThat(RetryPolicy.isOverloadStatus(502)).isFalse();
+    }
+}
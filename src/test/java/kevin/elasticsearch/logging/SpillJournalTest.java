@@ -0,0 +1,171 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillJournalTest {
+
+    // 헤더 16 bytes + 레코드(8 + 26 bytes) 7개가 들어가는 세그먼트
+    private static final int SEGMENT_BYTES = 256;
+    private static final int RECORD_BYTES = 8 + item(0).length;
+
+    @TempDir
+    Path directory;
+
+    private final BufferPool bufferPool = new BufferPool(4, 1024, 1024 * 1024);
+    private SpillJournal journal;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void readsBackRecordsInOrderAcrossSegments() throws Exception {
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        for (int i = 0; i < 20; i++) {
+            assertThat(journal.append(item(i), 0, item(i).length)).isTrue();
+        }
+        assertThat(segmentFiles()).hasSize(3);
+
+        BulkBatch batch = new BulkBatch(bufferPool);
+        SpillJournal.Position end = journal.readInto(batch, 100, 1024 * 1024);
+        assertThat(sequences(batch)).containsExactlyElementsOf(range(0, 20));
+
+        // 다 읽은 세그먼트 파일은 커밋 시 삭제
+        journal.commit(end);
+        assertThat(journal.isEmpty()).isTrue();
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void splitsBulkBodyIntoItems() throws Exception {
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        byte[] body = (new String(item(0), StandardCharsets.UTF_8) + new String(item(1), StandardCharsets.UTF_8))
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(journal.appendBulkBody(body, body.length)).isZero();
+
+        BulkBatch batch = new BulkBatch(bufferPool);
+        journal.readInto(batch, 100, 1024 * 1024);
+        assertThat(batch.count()).isEqualTo(2);
+        assertThat(sequences(batch)).containsExactly("0000", "0001");
+    }
+
+    @Test
+    void truncatesCorruptTailOnReopen() throws Exception {
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            journal.append(item(i), 0, item(i).length);
+        }
+        journal.close();
+
+        // 세 번째 레코드의 payload를 훼손하고, 그 뒤에 헤더만 쓰다 끊긴 레코드를 흉내 냄
+        int third = 16 + 2 * RECORD_BYTES;
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            file.seek(third + 8 + 5);
+            file.write('x');
+            file.seek(third + RECORD_BYTES);
+            file.writeInt(RECORD_BYTES - 8);
+        }
+
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        BulkBatch batch = new BulkBatch(bufferPool);
+        journal.readInto(batch, 100, 1024 * 1024);
+        assertThat(sequences(batch)).containsExactly("0000", "0001");
+
+        // 다음 기록은 마지막 정상 레코드 바로 뒤에 이어짐
+        assertThat(journal.append(item(3), 0, item(3).length)).isTrue();
+        BulkBatch afterAppend = new BulkBatch(bufferPool);
+        journal.readInto(afterAppend, 100, 1024 * 1024);
+        assertThat(sequences(afterAppend)).containsExactly("0000", "0001", "0003");
+        assertThat(journal.takeCorruptRecordCount()).isZero();
+    }
+
+    @Test
+    void resumesFromCheckpointAfterReopen() throws Exception {
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        for (int i = 0; i < 10; i++) {
+            journal.append(item(i), 0, item(i).length);
+        }
+        BulkBatch sent = new BulkBatch(bufferPool);
+        journal.commit(journal.readInto(sent, 8, 1024 * 1024));
+        journal.close();
+
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        BulkBatch batch = new BulkBatch(bufferPool);
+        journal.readInto(batch, 100, 1024 * 1024);
+        assertThat(sequences(batch)).containsExactly("0008", "0009");
+    }
+
+    @Test
+    void refusesNewRecordsOnceMaxBytesIsReached() throws Exception {
+        // 세그먼트 2개까지만 허용 (레코드 14개)
+        journal = SpillJournal.open(directory, SEGMENT_BYTES, 2 * SEGMENT_BYTES);
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (journal.append(item(i), 0, item(i).length)) {
+                accepted++;
+            }
+        }
+        assertThat(accepted).isEqualTo(14);
+        assertThat(journal.sizeInBytes()).isEqualTo(2 * SEGMENT_BYTES);
+
+        // 이미 기록한 오래된 레코드는 지우지 않고 새 레코드를 거절함
+        byte[] body = item(20);
+        assertThat(journal.appendBulkBody(body, body.length)).isEqualTo(1);
+        BulkBatch batch = new BulkBatch(bufferPool);
+        SpillJournal.Position end = journal.readInto(batch, 8, 1024 * 1024);
+        assertThat(sequences(batch)).containsExactlyElementsOf(range(0, 8));
+
+        // 첫 세그먼트를 다 보내고 커밋하면 다시 기록할 수 있음
+        journal.commit(end);
+        assertThat(journal.append(item(21), 0, item(21).length)).isTrue();
+        // 세그먼트보다 큰 항목은 받지 않음
+        assertThat(journal.append(new byte[SEGMENT_BYTES], 0, SEGMENT_BYTES)).isFalse();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private List<String> sequences(BulkBatch batch) {
+        BulkBatch.BulkBody body = batch.detach();
+        batch.release();
+        String[] lines = new String(body.buffer(), 0, body.length(), StandardCharsets.UTF_8).split("\n");
+        bufferPool.release(body.buffer());
+        List<String> sequences = new ArrayList<>();
+        for (int i = 1; i < lines.length; i += 2) {
+            sequences.add(lines[i].substring("{\"seq\":".length(), lines[i].length() - 1));
+        }
+        return sequences;
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> sequences = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            sequences.add(String.format("%04d", i));
+        }
+        return sequences;
+    }
+
+    private static byte[] item(int sequence) {
+        return String.format("{\"index\":{}}\n{\"seq\":%04d}\n", sequence).getBytes(StandardCharsets.UTF_8);
+    }
+}
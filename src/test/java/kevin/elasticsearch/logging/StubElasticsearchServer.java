@@ -0,0 +1,230 @@
+package kevin.elasticsearch.logging;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 테스트용 Elasticsearch 대역 HTTP 서버 (JDK 내장 HttpServer, 외부 의존성 없음)
+ * - POST _bulk, {index}/_bulk: 항목별 응답 (action이 create면 create로 응답)
+ * - POST {index}/_doc: 문서 한 건 색인
+ * - PUT _index_template/{name}: 템플릿 저장
+ * - GET _nodes/http: 자기 자신 하나만 있는 노드 목록
+ * 장애 주입: 응답 지연, 요청 전체 거부(429 등), 응답하지 않기(클라이언트 타임아웃), N번째 bulk 항목마다 실패
+ */
+class StubElasticsearchServer implements AutoCloseable {
+
+    private static final long STALL_LIMIT_MS = 60_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private final AtomicInteger rejectCount = new AtomicInteger();
+    private final AtomicInteger stallCount = new AtomicInteger();
+    private final AtomicLong bulkItems = new AtomicLong();
+    private final AtomicLong documentsIndexed = new AtomicLong();
+    private final AtomicLong itemsFailed = new AtomicLong();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile long latencyMs;
+    private volatile int rejectStatus = 429;
+    private volatile int itemFailureEvery;
+    private volatile int itemFailureStatus = 429;
+    private volatile boolean recordRequests = true;
+    private volatile Consumer<String> documentListener;
+
+    StubElasticsearchServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * 다음 count개 요청을 status로 거부 (429면 es_rejected_execution_exception 본문)
+     */
+    void rejectNextRequests(int count, int status) {
+        this.rejectStatus = status;
+        this.rejectCount.set(count);
+    }
+
+    /**
+     * 다음 count개 요청에 응답하지 않음 (클라이언트 쪽 타임아웃 재현, 서버를 닫으면 풀림)
+     */
+    void stallNextRequests(int count) {
+        this.stallCount.set(count);
+    }
+
+    /**
+     * bulk 항목 every개 중 1개를 status로 실패 처리 (0이면 모두 성공)
+     */
+    void failEveryNthItem(int every, int status) {
+        this.itemFailureEvery = every;
+        this.itemFailureStatus = status;
+    }
+
+    /**
+     * 처리량 측정처럼 요청이 많을 때는 본문 기록을 끔
+     */
+    void setRecordRequests(boolean recordRequests) {
+        this.recordRequests = recordRequests;
+    }
+
+    /**
+     * 색인에 성공한 문서(source 라인)마다 호출
+     */
+    void setDocumentListener(Consumer<String> documentListener) {
+        this.documentListener = documentListener;
+    }
+
+    List<RecordedRequest> requests() {
+        return requests;
+    }
+
+    Map<String, String> templates() {
+        return templates;
+    }
+
+    int maxConcurrentRequests() {
+        return maxConcurrent.get();
+    }
+
+    long documentsIndexed() {
+        return documentsIndexed.get();
+    }
+
+    long itemsFailed() {
+        return itemsFailed.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int current = concurrent.incrementAndGet();
+        maxConcurrent.accumulateAndGet(current, Math::max);
+        try {
+            boolean gzip = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            byte[] raw = exchange.getRequestBody().readAllBytes();
+            String body = new String(gzip ? gunzip(raw) : raw, StandardCharsets.UTF_8);
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if (recordRequests) {
+                requests.add(new RecordedRequest(method, path, gzip, raw.length, body));
+            }
+
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+            if (stallCount.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                closed.await(STALL_LIMIT_MS, TimeUnit.MILLISECONDS);
+                return;
+            }
+            if (rejectCount.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                respond(exchange, rejectStatus, rejectStatus == 429
+                        ? "{\"error\":{\"type\":\"es_rejected_execution_exception\",\"reason\":\"rejected execution\"},\"status\":429}"
+                        : "{\"error\":{\"type\":\"stub_failure\"},\"status\":" + rejectStatus + "}");
+                return;
+            }
+
+            if (path.endsWith("/_bulk")) {
+                respond(exchange, 200, bulkResponse(body));
+            } else if (path.endsWith("/_doc") && "POST".equals(method)) {
+                indexed(body.trim());
+                respond(exchange, 201, "{\"_index\":\"" + path.substring(1, path.length() - "/_doc".length())
+                        + "\",\"result\":\"created\"}");
+            } else if (path.startsWith("/_index_template/") && "PUT".equals(method)) {
+                templates.put(path.substring("/_index_template/".length()), body);
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            } else if (path.equals("/_nodes/http") && "GET".equals(method)) {
+                respond(exchange, 200, "{\"nodes\":{\"stub\":{\"http\":{\"publish_address\":\""
+                        + url().substring("http://".length()) + "\"}}}}");
+            } else {
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrent.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String bulkResponse(String body) {
+        String[] lines = body.split("\n");
+        StringBuilder items = new StringBuilder();
+        boolean errors = false;
+        for (int i = 0; i + 1 < lines.length; i += 2) {
+            String action = lines[i].startsWith("{\"create\"") ? "create" : "index";
+            long item = bulkItems.incrementAndGet();
+            items.append(i == 0 ? "" : ",").append("{\"").append(action).append("\":");
+            if (itemFailureEvery > 0 && item % itemFailureEvery == 0) {
+                errors = true;
+                itemsFailed.incrementAndGet();
+                items.append("{\"status\":").append(itemFailureStatus)
+                        .append(",\"error\":{\"type\":\"es_rejected_execution_exception\",\"reason\":\"rejected execution\"}}}");
+            } else {
+                indexed(lines[i + 1]);
+                items.append("{\"status\":201,\"result\":\"created\"}}");
+            }
+        }
+        return "{\"took\":1,\"errors\":" + errors + ",\"items\":[" + items + "]}";
+    }
+
+    private void indexed(String document) {
+        documentsIndexed.incrementAndGet();
+        Consumer<String> listener = documentListener;
+        if (listener != null) {
+            listener.accept(document);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] gunzip(byte[] raw) throws IOException {
+        try (InputStream in = new GZIPInputStream(new java.io.ByteArrayInputStream(raw))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    record RecordedRequest(String method, String path, boolean gzip, int wireBytes, String body) {
+    }
+}
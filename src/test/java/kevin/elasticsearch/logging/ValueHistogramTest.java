@@ -0,0 +1,102 @@
+package kevin.elasticsearch.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValueHistogramTest {
+
+    @Test
+    void returnsZeroWhenEmpty() {
+        ValueHistogram histogram = new ValueHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.mean()).isZero();
+        assertThat(histogram.max()).isZero();
+        assertThat(histogram.percentile(99)).isZero();
+    }
+
+    @Test
+    void keepsSmallValuesExact() {
+        ValueHistogram histogram = new ValueHistogram();
+        for (int value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.percentile(0)).isZero();
+        assertThat(histogram.percentile(50)).isEqualTo(3);
+        assertThat(histogram.percentile(100)).isEqualTo(7);
+        assertThat(histogram.mean()).isEqualTo(3.5);
+    }
+
+    @Test
+    void reportsUpperBoundOfSubBucket() {
+        // 64 ~ 127 구간은 8씩 나뉘므로 96 ~ 103이 한 하위 구간
+        assertThat(median(96)).isEqualTo(103);
+        assertThat(median(103)).isEqualTo(103);
+        assertThat(median(104)).isEqualTo(111);
+        // 1024 ~ 2047 구간은 128씩
+        assertThat(median(1100)).isEqualTo(1151);
+    }
+
+    @Test
+    void estimatesPercentilesWithinOneEighth() {
+        ValueHistogram histogram = new ValueHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        for (int percentile : new int[]{50, 90, 95, 99}) {
+            long exact = percentile * 10L;
+            assertThat(histogram.percentile(percentile))
+                    .as("p%d", percentile)
+                    .isBetween(exact, (long) (exact * 1.125));
+        }
+        // 상한이 실제 최댓값을 넘지 않음
+        assertThat(histogram.percentile(100)).isEqualTo(1000);
+        assertThat(histogram.max()).isEqualTo(1000);
+        assertThat(histogram.mean()).isEqualTo(500.5);
+    }
+
+    @Test
+    void clampsNegativeValuesAndHandlesLongMax() {
+        ValueHistogram histogram = new ValueHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.percentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void countsConcurrentRecords() throws Exception {
+        ValueHistogram histogram = new ValueHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.count()).isEqualTo(40_000);
+        assertThat(histogram.max()).isEqualTo(99);
+    }
+
+    private static long median(long value) {
+        ValueHistogram histogram = new ValueHistogram();
+        histogram.record(value);
+        // 최댓값으로 잘리지 않도록 큰 값을 하나 더 기록
+        histogram.record(1L << 40);
+        return histogram.percentile(50);
+    }
+}
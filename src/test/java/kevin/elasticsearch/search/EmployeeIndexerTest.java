@@ -0,0 +1,167 @@
+package kevin.elasticsearch.search;
+
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 변경분 반영 / 재색인을 StubSearchServer에 대해 검증
+ * 반영 스레드는 커밋된 데이터만 읽으므로 테스트 트랜잭션 없이 실행하고, 주기 실행 대신 drain()을 직접 호출
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "search.employees.flush-interval=1h"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmployeeIndexer.class, EmployeeIndexOutbox.class, SearchConfig.class, EmployeeIndexerTest.JsonMapperConfig.class})
+class EmployeeIndexerTest {
+
+    private static final StubSearchServer server = StubSearchServer.start("employees");
+
+    @Autowired
+    private EmployeeIndexer indexer;
+
+    @Autowired
+    private EmployeeIndexOutbox outbox;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @DynamicPropertySource
+    static void searchProperties(DynamicPropertyRegistry registry) {
+        registry.add("search.employees.url", server::url);
+    }
+
+    @BeforeEach
+    void setUp() {
+        server.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepository.deleteAllInBatch();
+        companyRepository.deleteAllInBatch();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void indexesChangedEmployeesAndDeletesRemovedOnes() {
+        Company company = new Company("Kevin Corp", "Seoul");
+        Employee kim = new Employee("kim", "kim@test.com", "Engineer");
+        Employee lee = new Employee("lee", "lee@test.com", "Designer");
+        company.addEmployee(kim);
+        company.addEmployee(lee);
+        companyRepository.save(company);
+
+        outbox.employeesChanged(List.of(kim.getId(), lee.getId(), 999_999L));
+        indexer.drain();
+
+        assertThat(server.aliasIndex()).startsWith("employees-");
+        assertThat(server.documents()).containsOnlyKeys(kim.getId(), lee.getId());
+        assertThat(server.documents().get(kim.getId()))
+                .contains("\"name\":\"kim\"")
+                .contains("\"companyName\":\"Kevin Corp\"");
+        assertThat(server.requests()).filteredOn(request -> request.path().equals("/_bulk")).singleElement()
+                .satisfies(request -> assertThat(request.body())
+                        .contains("{\"delete\":{\"_index\":\"employees\",\"_id\":\"999999\"}}"));
+        assertThat(indexer.status().pendingEmployees()).isZero();
+        assertThat(indexer.status().lastError()).isNull();
+    }
+
+    @Test
+    void resendsCompanyMembersAndDeletesByQueryWhenCompanyIsGone() {
+        Company company = new Company("Kevin Corp", "Seoul");
+        company.addEmployee(new Employee("kim", "kim@test.com", "Engineer"));
+        company.addEmployee(new Employee("lee", "lee@test.com", "Designer"));
+        Long companyId = companyRepository.save(company).getId();
+
+        outbox.companyChanged(companyId);
+        indexer.drain();
+        assertThat(server.documents()).hasSize(2);
+
+        employeeRepository.deleteAllInBatch();
+        companyRepository.deleteById(companyId);
+        outbox.companyChanged(companyId);
+        indexer.drain();
+
+        assertThat(server.requests()).filteredOn(request -> request.path().equals("/employees/_delete_by_query"))
+                .singleElement()
+                .satisfies(request -> assertThat(request.body()).contains("\"companyId\":[" + companyId + "]"));
+        assertThat(indexer.status().pendingCompanies()).isZero();
+    }
+
+    @Test
+    void keepsBacklogWhileElasticsearchIsUnavailable() {
+        Employee kim = employeeRepository.save(new Employee("kim", "kim@test.com", "Engineer"));
+        server.rejectNextBulkRequests(1);
+
+        outbox.employeeChanged(kim.getId());
+        indexer.drain();
+
+        assertThat(server.documents()).isEmpty();
+        assertThat(indexer.status().pendingEmployees()).isEqualTo(1);
+        assertThat(indexer.status().lastError()).contains("HTTP 503");
+
+        indexer.drain();
+
+        assertThat(server.documents()).containsOnlyKeys(kim.getId());
+        assertThat(indexer.status().pendingEmployees()).isZero();
+        assertThat(indexer.status().lastError()).isNull();
+    }
+
+    @Test
+    void reindexFillsNewIndexAndMovesAlias() {
+        for (int i = 0; i < 1200; i++) {
+            employeeRepository.save(new Employee("employee-" + i, "employee" + i + "@test.com", "Engineer"));
+        }
+        indexer.drain();
+        String previous = server.aliasIndex();
+
+        indexer.reindex();
+
+        assertThat(server.aliasIndex()).startsWith("employees-").isNotEqualTo(previous);
+        assertThat(server.documents()).hasSize(1200);
+        // 500건씩 3번
+        assertThat(server.requests()).filteredOn(request -> request.path().equals("/_bulk")).hasSize(3)
+                .allSatisfy(request -> assertThat(request.body()).contains("\"_index\":\"" + server.aliasIndex() + "\""));
+        assertThat(server.requests()).filteredOn(request -> request.path().equals("/_aliases")).singleElement()
+                .satisfies(request -> assertThat(request.body()).contains("\"remove\":{\"index\":\"" + previous + "\""));
+        assertThat(indexer.status().lastReindexCount()).isEqualTo(1200);
+        assertThat(indexer.status().reindexRunning()).isFalse();
+    }
+
+    @TestConfiguration
+    static class JsonMapperConfig {
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package kevin.elasticsearch.search;
+
+import kevin.elasticsearch.service.PaginationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeSearchServiceTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private StubSearchServer server;
+    private EmployeeSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        server = StubSearchServer.start("employees");
+        SearchProperties properties = new SearchProperties(true, server.url(), "employees", 500,
+                Duration.ofSeconds(1), Duration.ofSeconds(5));
+        searchService = new EmployeeSearchService(new SearchClient(server.url(), properties.requestTimeout(), jsonMapper),
+                properties, new PaginationProperties(20, 100), jsonMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void combinesFullTextPrefixAndCompanyFilter() {
+        server.setSearchResponse("""
+                {"hits": {"total": {"value": 1}, "hits": [
+                  {"_score": 2.5, "_source": {"id": 7, "name": "kim", "email": "kim@test.com", "position": "Engineer",
+                                             "companyId": 3, "companyName": "Kevin Corp"}}
+                ]}}
+                """);
+
+        EmployeeSearchResult result = searchService.search("engineer", "ki", 3L, 20, 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits()).containsExactly(
+                new EmployeeSearchHit(7L, "kim", "kim@test.com", "Engineer", 3L, "Kevin Corp", 2.5));
+
+        StubSearchServer.RecordedRequest request = server.requests().get(0);
+        assertThat(request.path()).isEqualTo("/employees/_search");
+        JsonNode body = jsonMapper.readTree(request.body());
+        assertThat(body.path("from").asInt()).isEqualTo(20);
+        assertThat(body.path("size").asInt()).isEqualTo(10);
+        JsonNode bool = body.path("query").path("bool");
+        assertThat(bool.path("must").get(0).path("multi_match").path("query").asString()).isEqualTo("engineer");
+        JsonNode prefix = bool.path("must").get(1).path("bool").path("should");
+        assertThat(prefix.get(0).path("multi_match").path("type").asString()).isEqualTo("bool_prefix");
+        assertThat(prefix.get(1).path("prefix").path("email").path("value").asString()).isEqualTo("ki");
+        // 회사 조건은 점수에 영향이 없도록 filter로
+        assertThat(bool.path("filter").get(0).path("term").path("companyId").asLong()).isEqualTo(3);
+        assertThat(body.path("sort").get(0).asString()).isEqualTo("_score");
+    }
+
+    @Test
+    void listsByIdWhenNoTextIsGiven() {
+        searchService.search(null, " ", 3L, null, null);
+
+        JsonNode body = jsonMapper.readTree(server.requests().get(0).body());
+        assertThat(body.path("size").asInt()).isEqualTo(20);
+        assertThat(body.path("query").path("bool").path("must")).isEmpty();
+        assertThat(body.path("sort")).hasSize(1);
+        assertThat(body.path("sort").get(0).path("id").asString()).isEqualTo("asc");
+    }
+
+    @Test
+    void rejectsPagesBeyondResultWindow() {
+        assertThatThrownBy(() -> searchService.search("kim", null, null, 9_990, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("from + size must be between 0 and 10000");
+        assertThat(server.requests()).isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package kevin.elasticsearch.search;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 검색 인덱스 동기화 테스트용 Elasticsearch 대역 (JDK 내장 HttpServer)
+ * - HEAD/PUT {index}: 인덱스 존재 확인/생성 (본문에 aliases가 있으면 alias도 연결)
+ * - GET _alias/{alias}, POST _aliases: alias가 가리키는 인덱스 하나만 관리
+ * - POST _bulk: index/delete 항목을 문서 맵에 반영 (인덱스 구분 없이 _id 기준)
+ * - POST {index}/_search: setSearchResponse로 지정한 응답
+ * 장애 주입: 다음 N개 _bulk 요청을 503으로 거부
+ */
+class StubSearchServer implements AutoCloseable {
+
+    private static final Pattern ID = Pattern.compile("\"_id\":\"(\\d+)\"");
+    private static final Pattern ALIAS_ADD = Pattern.compile("\"add\":\\{\"index\":\"([^\"]+)\"");
+
+    private final HttpServer server;
+    private final String alias;
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> indices = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> documents = new ConcurrentHashMap<>();
+    private final AtomicInteger rejectBulk = new AtomicInteger();
+    private volatile String aliasIndex;
+    private volatile String searchResponse = "{\"hits\":{\"total\":{\"value\":0},\"hits\":[]}}";
+
+    private StubSearchServer(String alias) throws IOException {
+        this.alias = alias;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    static StubSearchServer start(String alias) {
+        try {
+            return new StubSearchServer(alias);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void rejectNextBulkRequests(int count) {
+        rejectBulk.set(count);
+    }
+
+    void setSearchResponse(String searchResponse) {
+        this.searchResponse = searchResponse;
+    }
+
+    List<RecordedRequest> requests() {
+        return requests;
+    }
+
+    Map<Long, String> documents() {
+        return documents;
+    }
+
+    String aliasIndex() {
+        return aliasIndex;
+    }
+
+    void reset() {
+        requests.clear();
+        documents.clear();
+        rejectBulk.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(new RecordedRequest(method, path, body));
+            String name = path.substring(1);
+
+            if ("HEAD".equals(method)) {
+                boolean exists = name.equals("_alias/" + alias) || name.equals(alias)
+                        ? aliasIndex != null
+                        : indices.contains(name);
+                exchange.sendResponseHeaders(exists ? 200 : 404, -1);
+            } else if ("PUT".equals(method) && !name.contains("/")) {
+                if (!indices.add(name)) {
+                    respond(exchange, 400, "{\"error\":{\"type\":\"resource_already_exists_exception\"},\"status\":400}");
+                    return;
+                }
+                if (body.contains("\"aliases\"")) {
+                    aliasIndex = name;
+                }
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            } else if (path.equals("/_alias/" + alias)) {
+                respond(exchange, 200, "{\"" + aliasIndex + "\":{\"aliases\":{\"" + alias + "\":{}}}}");
+            } else if (path.equals("/_aliases")) {
+                Matcher add = ALIAS_ADD.matcher(body);
+                if (add.find()) {
+                    aliasIndex = add.group(1);
+                }
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            } else if (path.equals("/_bulk")) {
+                if (rejectBulk.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                    respond(exchange, 503, "{\"error\":{\"type\":\"unavailable_shards_exception\"},\"status\":503}");
+                    return;
+                }
+                respond(exchange, 200, bulkResponse(body));
+            } else if (path.endsWith("/_delete_by_query")) {
+                respond(exchange, 200, "{\"deleted\":0}");
+            } else if (path.endsWith("/_search")) {
+                respond(exchange, 200, searchResponse);
+            } else if ("DELETE".equals(method)) {
+                for (String index : name.split(",")) {
+                    indices.remove(index);
+                }
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            } else {
+                respond(exchange, 200, "{\"acknowledged\":true}");
+            }
+        }
+    }
+
+    private String bulkResponse(String body) {
+        String[] lines = body.split("\n");
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            Matcher id = ID.matcher(lines[i]);
+            if (!id.find()) {
+                continue;
+            }
+            long documentId = Long.parseLong(id.group(1));
+            items.append(items.isEmpty() ? "" : ",");
+            if (lines[i].startsWith("{\"delete\"")) {
+                int status = documents.remove(documentId) != null ? 200 : 404;
+                items.append("{\"delete\":{\"_id\":\"").append(documentId).append("\",\"status\":").append(status).append("}}");
+            } else {
+                documents.put(documentId, lines[++i]);
+                items.append("{\"index\":{\"_id\":\"").append(documentId).append("\",\"status\":201}}");
+            }
+        }
+        return "{\"took\":1,\"errors\":false,\"items\":[" + items + "]}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String response) throws IOException {
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    record RecordedRequest(String method, String path, String body) {
+    }
+}
@@ -0,0 +1,178 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.cache.ResponseCacheConfig;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.dto.BulkResult;
+import kevin.elasticsearch.dto.BulkRowResult;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * chunk마다 커밋되는 동작을 검증하므로 테스트 트랜잭션 없이 실행하고 데이터는 직접 정리
+ * (테스트 트랜잭션이 있으면 chunk 트랜잭션이 거기에 합류해 chunk 단위 커밋/롤백이 드러나지 않음)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BulkImportService.class, ResponseCacheConfig.class, EmployeeIndexOutbox.class,
+        BulkImportServiceTest.BulkImportTestConfig.class})
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Long companyId;
+
+    @BeforeEach
+    void setUp() {
+        companyId = companyRepository.save(new Company("Kevin Corp", "Seoul")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(dataSource).execute("alter table employee drop constraint if exists employee_name_not_rejected");
+        employeeRepository.deleteAllInBatch();
+        companyRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importsJsonArrayAndReportsEachRow() {
+        String body = """
+                [
+                  {"name": "kim", "email": "kim@test.com", "position": "Engineer", "companyId": %d},
+                  {"email": "noname@test.com"},
+                  {"name": "lee", "companyId": 999999},
+                  {"name": "park", "companyId": "not-a-number"},
+                  {"name": "choi"}
+                ]
+                """.formatted(companyId);
+
+        BulkResult result = bulkImportService.importEmployees(stream(body), false);
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(BulkRowResult::getRow).containsExactly(1, 2, 3, 4, 5);
+        assertThat(result.getResults().get(0).getId()).isNotNull();
+        assertThat(result.getResults().get(1).getError()).isEqualTo("name is required");
+        assertThat(result.getResults().get(2).getError()).isEqualTo("Company not found with id: 999999");
+        assertThat(result.getResults().get(3).getError()).startsWith("Invalid row");
+        assertThat(result.getResults().get(4).getId()).isNotNull();
+
+        Employee kim = entityManager.find(Employee.class, result.getResults().get(0).getId());
+        assertThat(kim.getCompany().getId()).isEqualTo(companyId);
+    }
+
+    @Test
+    void importsCsvAcrossChunks() {
+        StringBuilder csv = new StringBuilder("name,email,position,companyId\n");
+        csv.append("\"Hong, Gildong\",hong@test.com,\"Lead \"\"A\"\"\",").append(companyId).append('\n');
+        for (int i = 0; i < 2500; i++) {
+            csv.append("employee-").append(i).append(",,Engineer,\n");
+        }
+
+        BulkResult result = bulkImportService.importEmployees(stream(csv.toString()), true);
+
+        assertThat(result.getTotal()).isEqualTo(2501);
+        assertThat(result.getFailed()).isZero();
+        Employee hong = entityManager.find(Employee.class, result.getResults().get(0).getId());
+        assertThat(hong.getName()).isEqualTo("Hong, Gildong");
+        assertThat(hong.getPosition()).isEqualTo("Lead \"A\"");
+        assertThat(hong.getEmail()).isEqualTo("hong@test.com");
+    }
+
+    @Test
+    void keepsCommittedChunksWhenALaterChunkFailsToInsert() {
+        // 검증은 통과하지만 DB 제약 조건에 걸리는 행을 두 번째 chunk에 넣음
+        new JdbcTemplate(dataSource).execute(
+                "alter table employee add constraint employee_name_not_rejected check (name <> 'rejected')");
+        StringBuilder csv = new StringBuilder("name,email,position,companyId\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("employee-").append(i).append(",,Engineer,\n");
+        }
+        csv.append("employee-1000,,Engineer,\n");
+        csv.append(",noname@test.com,Engineer,\n");
+        csv.append("rejected,,Engineer,\n");
+
+        BulkResult result = bulkImportService.importEmployees(stream(csv.toString()), true);
+
+        assertThat(result.getTotal()).isEqualTo(1003);
+        assertThat(result.getCreated()).isEqualTo(1000);
+        assertThat(result.getResults().subList(0, 1000)).allSatisfy(row -> assertThat(row.getId()).isNotNull());
+        // 첫 chunk는 이미 커밋되어 남고, 두 번째 chunk는 통째로 롤백됨 (검증 실패 사유는 그대로 유지)
+        assertThat(employeeRepository.count()).isEqualTo(1000);
+        assertThat(result.getResults().get(1000).getError()).startsWith("Insert failed");
+        assertThat(result.getResults().get(1001).getError()).isEqualTo("name is required");
+        assertThat(result.getResults().get(1002).getError()).startsWith("Insert failed");
+    }
+
+    @Test
+    void importsCompanies() {
+        BulkResult result = bulkImportService.importCompanies(stream("""
+                [{"name": "A Corp", "address": "Busan"}, {"name": ""}]
+                """), false);
+
+        assertThat(result.getCreated()).isEqualTo(1);
+        assertThat(result.getResults().get(1).getError()).isEqualTo("name is required");
+    }
+
+    @Test
+    void rejectsBodyThatIsNotAnArray() {
+        assertThatThrownBy(() -> bulkImportService.importEmployees(stream("{\"name\": \"kim\"}"), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected a JSON array");
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TestConfiguration
+    static class BulkImportTestConfig {
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+    }
+}
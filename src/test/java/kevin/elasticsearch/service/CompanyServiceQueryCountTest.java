@@ -0,0 +1,92 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.cache.ResponseCacheConfig;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.dto.CompanyResponse;
+import kevin.elasticsearch.dto.CursorPage;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회사 조회가 회사 수, 페이지 깊이와 관계없이 고정된 횟수의 SQL로 끝나는지 검증 (Hibernate 통계의 prepared statement 수)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CompanyService.class, PaginationConfig.class, ResponseCacheConfig.class, EmployeeIndexOutbox.class})
+class CompanyServiceQueryCountTest {
+
+    private static final int COMPANIES = 5;
+    private static final int EMPLOYEES_PER_COMPANY = 3;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long firstCompanyId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < COMPANIES; i++) {
+            Company company = new Company("company-" + i, "Seoul");
+            for (int j = 0; j < EMPLOYEES_PER_COMPANY; j++) {
+                company.addEmployee(new Employee("employee-" + i + "-" + j, "employee" + i + j + "@test.com", "Engineer"));
+            }
+            Company saved = companyRepository.save(company);
+            if (firstCompanyId == null) {
+                firstCompanyId = saved.getId();
+            }
+        }
+        // 영속성 컨텍스트를 비워야 조회가 실제 SQL로 나감
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getCompaniesRunsTwoStatementsPerPage() {
+        CursorPage<CompanyResponse> first = companyService.getCompanies(null, 3);
+
+        assertThat(first.getContent()).hasSize(3)
+                .allSatisfy(company -> assertThat(company.getEmployees()).hasSize(EMPLOYEES_PER_COMPANY));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        CursorPage<CompanyResponse> last = companyService.getCompanies(first.getNext(), 3);
+
+        assertThat(last.getContent()).hasSize(COMPANIES - 3)
+                .allSatisfy(company -> assertThat(company.getEmployees()).hasSize(EMPLOYEES_PER_COMPANY));
+        assertThat(last.getContent().get(0).getId()).isGreaterThan(first.getContent().get(2).getId());
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNext()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getCompanyRunsSingleStatement() {
+        CompanyResponse company = companyService.getCompany(firstCompanyId);
+
+        assertThat(company.getEmployees()).hasSize(EMPLOYEES_PER_COMPANY);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
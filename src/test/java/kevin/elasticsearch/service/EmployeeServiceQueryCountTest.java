@@ -0,0 +1,107 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.cache.ResponseCacheConfig;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.dto.CursorPage;
+import kevin.elasticsearch.dto.EmployeeResponse;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import kevin.elasticsearch.search.EmployeeIndexOutbox;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 직원 목록 페이지 조회가 조인 한 번으로 끝나고 엔티티를 영속성 컨텍스트에 올리지 않는지 검증
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({EmployeeService.class, PaginationConfig.class, ResponseCacheConfig.class, EmployeeIndexOutbox.class})
+class EmployeeServiceQueryCountTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long companyId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Company company = new Company("company-" + i, "Seoul");
+            for (int j = 0; j < 4; j++) {
+                company.addEmployee(new Employee("employee-" + i + "-" + j, "employee" + i + j + "@test.com", "Engineer"));
+            }
+            companyId = companyRepository.save(company).getId();
+        }
+        employeeRepository.save(new Employee("freelancer", "freelancer@test.com", "Designer"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getEmployeesProjectsEachPageInSingleStatement() {
+        List<EmployeeResponse> employees = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            CursorPage<EmployeeResponse> page = employeeService.getEmployees(null, cursor, 5);
+            employees.addAll(page.getContent());
+            cursor = page.getNext();
+            pages++;
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(employees).hasSize(13).isSortedAccordingTo(Comparator.comparing(EmployeeResponse::getId));
+        assertThat(employees).filteredOn(employee -> employee.getCompany() == null)
+                .extracting(EmployeeResponse::getName).containsExactly("freelancer");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void getEmployeesFiltersByCompany() {
+        CursorPage<EmployeeResponse> page = employeeService.getEmployees(companyId, null, 10);
+
+        assertThat(page.getContent()).hasSize(4)
+                .allSatisfy(employee -> assertThat(employee.getCompany().getId()).isEqualTo(companyId));
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThatThrownBy(() -> employeeService.getEmployees(null, "not-a-cursor", 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
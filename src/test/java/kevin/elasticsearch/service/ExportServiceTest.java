@@ -0,0 +1,98 @@
+package kevin.elasticsearch.service;
+
+import jakarta.persistence.EntityManager;
+import kevin.elasticsearch.domain.Company;
+import kevin.elasticsearch.domain.Employee;
+import kevin.elasticsearch.repository.CompanyRepository;
+import kevin.elasticsearch.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ExportService.class, ExportServiceTest.JsonMapperConfig.class})
+class ExportServiceTest {
+
+    private static final int COMPANIES = 3;
+    private static final int EMPLOYEES_PER_COMPANY = 700;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < COMPANIES; i++) {
+            Company company = new Company("company-" + i, "Seoul");
+            for (int j = 0; j < EMPLOYEES_PER_COMPANY; j++) {
+                company.addEmployee(new Employee("employee-" + i + "-" + j, "employee" + i + j + "@test.com", "Engineer"));
+            }
+            companyRepository.save(company);
+        }
+        employeeRepository.save(new Employee("freelancer", "freelancer@test.com", "Designer"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void exportsOneJsonDocumentPerLineInIdOrder() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportEmployees(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(count).isEqualTo(COMPANIES * EMPLOYEES_PER_COMPANY + 1);
+        assertThat(lines).hasSize((int) count);
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+        JsonNode first = jsonMapper.readTree(lines.get(0));
+        JsonNode last = jsonMapper.readTree(lines.get(lines.size() - 1));
+        assertThat(first.get("company").get("name").asString()).isEqualTo("company-0");
+        assertThat(last.get("name").asString()).isEqualTo("freelancer");
+        assertThat(last.get("company").isNull()).isTrue();
+        assertThat(first.get("id").asLong()).isLessThan(last.get("id").asLong());
+    }
+
+    @Test
+    void exportsCompaniesWithoutEmployees() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportCompanies(out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(count).isEqualTo(COMPANIES);
+        assertThat(lines).extracting(line -> jsonMapper.readTree(line).get("name").asString())
+                .containsExactly("company-0", "company-1", "company-2");
+    }
+
+    @TestConfiguration
+    static class JsonMapperConfig {
+
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+    }
+}
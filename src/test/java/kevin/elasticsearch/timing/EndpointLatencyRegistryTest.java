@@ -0,0 +1,46 @@
+package kevin.elasticsearch.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointLatencyRegistryTest {
+
+    @Test
+    void rollupClosesIntervalButKeepsCumulativeTotals() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry(new LatencyRollupProperties(true, 10));
+        registry.record("GET", "/api/companies/{id}", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        registry.record("GET", "/api/companies/{id}", 400, TimeUnit.MILLISECONDS.toNanos(2));
+        registry.record("GET", "/api/companies/{id}", 500, TimeUnit.MILLISECONDS.toNanos(30));
+
+        List<LatencyRollup> first = registry.rollup();
+        registry.record("GET", "/api/companies/{id}", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        List<LatencyRollup> second = registry.rollup();
+
+        assertThat(first).singleElement().satisfies(rollup -> {
+            assertThat(rollup.route()).isEqualTo("/api/companies/{id}");
+            assertThat(rollup.count()).isEqualTo(3);
+            assertThat(rollup.errorCount()).isEqualTo(1);
+            assertThat(rollup.clientErrorCount()).isEqualTo(1);
+            assertThat(rollup.maxMs()).isEqualTo(30.0);
+        });
+        assertThat(second).singleElement().satisfies(rollup -> assertThat(rollup.count()).isEqualTo(1));
+        assertThat(registry.lastInterval()).isEqualTo(second);
+        assertThat(registry.sinceStart()).singleElement().satisfies(rollup -> assertThat(rollup.count()).isEqualTo(4));
+    }
+
+    @Test
+    void groupsUnmatchedAndOverflowingEndpoints() {
+        EndpointLatencyRegistry registry = new EndpointLatencyRegistry(new LatencyRollupProperties(true, 2));
+        registry.record("GET", null, 404, 1_000);
+        registry.record("GET", "/api/companies", 200, 1_000);
+        registry.record("GET", "/api/employees", 200, 1_000);
+        registry.record("POST", "/api/employees", 201, 1_000);
+
+        assertThat(registry.sinceStart()).extracting(LatencyRollup::route)
+                .containsExactlyInAnyOrder(EndpointLatencyRegistry.UNMATCHED, "/api/companies", "OTHER", "OTHER");
+    }
+}
@@ -0,0 +1,36 @@
+package kevin.elasticsearch.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 1.5 + 8);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        long[] percentiles = histogram.percentiles(50, 99, 100);
+
+        assertThat((double) percentiles[0]).isCloseTo(values[values.length / 2 - 1], within(values[values.length / 2 - 1] * 0.04));
+        assertThat((double) percentiles[1]).isCloseTo(values[values.length * 99 / 100 - 1], within(values[values.length * 99 / 100 - 1] * 0.04));
+        assertThat(percentiles[2]).isEqualTo(values[values.length - 1]);
+        assertThat(histogram.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        assertThat(new LatencyHistogram().percentiles(50, 99)).containsExactly(0, 0);
+    }
+}
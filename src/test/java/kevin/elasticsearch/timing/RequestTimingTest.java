@@ -0,0 +1,46 @@
+package kevin.elasticsearch.timing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingTest {
+
+    @Test
+    void splitsTotalIntoFilterHandlerAndSerialization() {
+        RequestTiming timing = new RequestTiming(1_000);
+        timing.handlerStarted(2_000);
+        timing.connectionOpened(2_500);
+        timing.sqlExecuted(300);
+        timing.sqlExecuted(200);
+        timing.connectionClosed(4_000);
+        timing.serializationStarted(5_000);
+        timing.serializationStarted(5_500);
+        timing.handlerCompleted(7_000);
+
+        RequestTiming.Breakdown breakdown = timing.breakdown(8_000);
+
+        assertThat(breakdown.totalNanos()).isEqualTo(7_000);
+        assertThat(breakdown.handlerNanos()).isEqualTo(3_000);
+        assertThat(breakdown.serializationNanos()).isEqualTo(2_000);
+        assertThat(breakdown.filterNanos()).isEqualTo(2_000);
+        assertThat(breakdown.transactionNanos()).isEqualTo(1_500);
+        assertThat(breakdown.sqlNanos()).isEqualTo(500);
+        assertThat(breakdown.sqlCount()).isEqualTo(2);
+    }
+
+    @Test
+    void countsNestedConnectionsOnceAndOpenConnectionsUntilEnd() {
+        RequestTiming timing = new RequestTiming(0);
+        timing.connectionOpened(1_000);
+        timing.connectionOpened(1_500);
+        timing.connectionClosed(2_000);
+
+        // 핸들러 없이 필터에서 끝난 요청: 전부 filter 시간
+        RequestTiming.Breakdown breakdown = timing.breakdown(3_000);
+
+        assertThat(breakdown.filterNanos()).isEqualTo(3_000);
+        assertThat(breakdown.handlerNanos()).isZero();
+        assertThat(breakdown.transactionNanos()).isEqualTo(2_000);
+    }
+}